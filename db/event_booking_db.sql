@@ -33,8 +33,10 @@ CREATE TABLE `bookings` (
   `customer_id` bigint(20) NOT NULL,
   `event_id` bigint(20) NOT NULL,
   `seat_id` bigint(20) NOT NULL,
+  `active_seat_id` bigint(20) GENERATED ALWAYS AS (IF(`status` <> 'CANCELLED', `seat_id`, NULL)) STORED,
   `status` enum('RESERVED','CONFIRMED','CANCELLED') NOT NULL DEFAULT 'RESERVED',
   `booking_date` datetime NOT NULL,
+  `hold_expires_at` datetime DEFAULT NULL,
   `price` decimal(10,2) NOT NULL,
   `created_at` timestamp NOT NULL DEFAULT current_timestamp(),
   `updated_at` timestamp NOT NULL DEFAULT current_timestamp() ON UPDATE current_timestamp()
@@ -100,6 +102,34 @@ INSERT INTO `customers` (`id`, `first_name`, `last_name`, `email`, `phone`, `cre
 
 -- --------------------------------------------------------
 
+--
+-- Tabellenstruktur für Tabelle `customer_stats`
+--
+
+CREATE TABLE `customer_stats` (
+  `customer_id` bigint(20) NOT NULL,
+  `active_bookings` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+--
+-- Daten für Tabelle `customer_stats`
+--
+
+INSERT INTO `customer_stats` (`customer_id`, `active_bookings`) VALUES
+(1, 2),
+(2, 2),
+(3, 2),
+(4, 2),
+(5, 4),
+(6, 1),
+(7, 1),
+(8, 1),
+(9, 1),
+(10, 2),
+(11, 1);
+
+-- --------------------------------------------------------
+
 --
 -- Tabellenstruktur für Tabelle `events`
 --
@@ -112,6 +142,7 @@ CREATE TABLE `events` (
   `category` varchar(50) NOT NULL,
   `base_price` decimal(10,2) NOT NULL,
   `hall_id` bigint(20) NOT NULL,
+  `hold_ttl_minutes` int(11) DEFAULT NULL,
   `created_at` timestamp NOT NULL DEFAULT current_timestamp(),
   `updated_at` timestamp NOT NULL DEFAULT current_timestamp() ON UPDATE current_timestamp()
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -133,6 +164,32 @@ INSERT INTO `events` (`id`, `name`, `description`, `date_time`, `category`, `bas
 
 -- --------------------------------------------------------
 
+--
+-- Tabellenstruktur für Tabelle `event_stats`
+--
+
+CREATE TABLE `event_stats` (
+  `event_id` bigint(20) NOT NULL,
+  `active_bookings` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+--
+-- Daten für Tabelle `event_stats`
+--
+
+INSERT INTO `event_stats` (`event_id`, `active_bookings`) VALUES
+(1, 4),
+(2, 2),
+(3, 2),
+(4, 2),
+(5, 1),
+(6, 1),
+(7, 3),
+(8, 2),
+(9, 2);
+
+-- --------------------------------------------------------
+
 --
 -- Tabellenstruktur für Tabelle `halls`
 --
@@ -553,12 +610,13 @@ FROM
 --
 ALTER TABLE `bookings`
   ADD PRIMARY KEY (`id`),
-  ADD UNIQUE KEY `unique_booking` (`event_id`,`seat_id`),
+  ADD UNIQUE KEY `unique_active_seat` (`event_id`,`active_seat_id`),
   ADD KEY `seat_id` (`seat_id`),
   ADD KEY `idx_customer` (`customer_id`),
   ADD KEY `idx_event` (`event_id`),
   ADD KEY `idx_status` (`status`),
-  ADD KEY `idx_booking_date` (`booking_date`);
+  ADD KEY `idx_booking_date` (`booking_date`),
+  ADD KEY `idx_hold_expiry` (`status`,`hold_expires_at`);
 
 --
 -- Indizes für die Tabelle `customers`
@@ -569,6 +627,12 @@ ALTER TABLE `customers`
   ADD KEY `idx_email` (`email`),
   ADD KEY `idx_name` (`last_name`,`first_name`);
 
+--
+-- Indizes für die Tabelle `customer_stats`
+--
+ALTER TABLE `customer_stats`
+  ADD PRIMARY KEY (`customer_id`);
+
 --
 -- Indizes für die Tabelle `events`
 --
@@ -578,6 +642,12 @@ ALTER TABLE `events`
   ADD KEY `idx_category` (`category`),
   ADD KEY `idx_hall` (`hall_id`);
 
+--
+-- Indizes für die Tabelle `event_stats`
+--
+ALTER TABLE `event_stats`
+  ADD PRIMARY KEY (`event_id`);
+
 --
 -- Indizes für die Tabelle `halls`
 --
@@ -639,12 +709,24 @@ ALTER TABLE `bookings`
   ADD CONSTRAINT `bookings_ibfk_2` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE,
   ADD CONSTRAINT `bookings_ibfk_3` FOREIGN KEY (`seat_id`) REFERENCES `seats` (`id`);
 
+--
+-- Constraints der Tabelle `customer_stats`
+--
+ALTER TABLE `customer_stats`
+  ADD CONSTRAINT `customer_stats_ibfk_1` FOREIGN KEY (`customer_id`) REFERENCES `customers` (`id`) ON DELETE CASCADE;
+
 --
 -- Constraints der Tabelle `events`
 --
 ALTER TABLE `events`
   ADD CONSTRAINT `events_ibfk_1` FOREIGN KEY (`hall_id`) REFERENCES `halls` (`id`);
 
+--
+-- Constraints der Tabelle `event_stats`
+--
+ALTER TABLE `event_stats`
+  ADD CONSTRAINT `event_stats_ibfk_1` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE;
+
 --
 -- Constraints der Tabelle `seats`
 --
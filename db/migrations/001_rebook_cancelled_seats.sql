@@ -0,0 +1,17 @@
+-- Migration 001: Stornierte Sitzplätze wieder buchbar machen
+--
+-- Der bisherige Schlüssel unique_booking (event_id, seat_id) verhindert,
+-- dass ein Sitz nach einer Stornierung erneut gebucht wird.
+-- active_seat_id ist nur für nicht stornierte Buchungen gesetzt; NULL-Werte
+-- zählen im UNIQUE KEY nicht, daher darf es beliebig viele stornierte
+-- Buchungen, aber nur eine aktive Buchung pro Sitz und Event geben.
+
+USE `event_booking_db`;
+
+ALTER TABLE `bookings`
+  ADD COLUMN `active_seat_id` bigint(20)
+    GENERATED ALWAYS AS (IF(`status` <> 'CANCELLED', `seat_id`, NULL)) STORED AFTER `seat_id`;
+
+ALTER TABLE `bookings`
+  DROP INDEX `unique_booking`,
+  ADD UNIQUE KEY `unique_active_seat` (`event_id`, `active_seat_id`);
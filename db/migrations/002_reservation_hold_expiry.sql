@@ -0,0 +1,14 @@
+-- Migration 002: Ablauf von Reservierungen
+--
+-- hold_ttl_minutes: Haltedauer einer Reservierung pro Event (NULL = Standardwert der Anwendung)
+-- hold_expires_at:  Ablaufzeitpunkt einer RESERVED-Buchung (NULL = läuft nicht ab,
+--                   z.B. Reservierungen aus der Zeit vor dieser Migration)
+
+USE `event_booking_db`;
+
+ALTER TABLE `events`
+  ADD COLUMN `hold_ttl_minutes` int(11) DEFAULT NULL AFTER `hall_id`;
+
+ALTER TABLE `bookings`
+  ADD COLUMN `hold_expires_at` datetime DEFAULT NULL AFTER `booking_date`,
+  ADD KEY `idx_hold_expiry` (`status`, `hold_expires_at`);
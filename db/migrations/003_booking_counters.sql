@@ -0,0 +1,29 @@
+-- Migration 003: Gepflegte Buchungszähler pro Event und Kunde
+--
+-- active_bookings zählt alle nicht stornierten Buchungen. Die Anwendung
+-- aktualisiert die Zähler in derselben Transaktion wie die Buchung selbst;
+-- die Listenansichten lesen sie statt korrelierter COUNT-Unterabfragen.
+-- Fehlende Zeilen bedeuten 0.
+
+USE `event_booking_db`;
+
+CREATE TABLE `event_stats` (
+  `event_id` bigint(20) NOT NULL,
+  `active_bookings` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`event_id`),
+  CONSTRAINT `event_stats_ibfk_1` FOREIGN KEY (`event_id`) REFERENCES `events` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `customer_stats` (
+  `customer_id` bigint(20) NOT NULL,
+  `active_bookings` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`customer_id`),
+  CONSTRAINT `customer_stats_ibfk_1` FOREIGN KEY (`customer_id`) REFERENCES `customers` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Startwerte aus den bestehenden Buchungen
+INSERT INTO `event_stats` (`event_id`, `active_bookings`)
+  SELECT `event_id`, COUNT(*) FROM `bookings` WHERE `status` <> 'CANCELLED' GROUP BY `event_id`;
+
+INSERT INTO `customer_stats` (`customer_id`, `active_bookings`)
+  SELECT `customer_id`, COUNT(*) FROM `bookings` WHERE `status` <> 'CANCELLED' GROUP BY `customer_id`;
@@ -1,14 +1,25 @@
+import api.BookingApiServer;
 import controller.MainController;
 
 import javax.swing.*;
+import java.util.Arrays;
 
 /**
  * Hauptklasse der Anwendung
  * Startet die GUI und initialisiert den Haupt-Controller
+ * Mit --server [port] startet stattdessen nur die HTTP-API, ohne Swing zu laden.
  */
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--server")) {
+            BookingApiServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        startGui();
+    }
+
+    private static void startGui() {
         // Setze Look and Feel auf System-Standard
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
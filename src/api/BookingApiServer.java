@@ -0,0 +1,484 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import exceptions.DatabaseException;
+import exceptions.InvalidBookingStatusTransitionException;
+import exceptions.SeatAlreadyBookedException;
+import model.Booking;
+import model.Customer;
+import model.Event;
+import model.Seat;
+import service.BookingService;
+import service.BookingStore;
+import service.CustomerService;
+import service.EventService;
+import service.HallService;
+import service.ReservationHoldScheduler;
+import util.DatabaseConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Eingebetteter HTTP/JSON-Server für Web-Frontend und Lasttests (ohne Swing)
+ * Macht Events, Sitzplatzverfügbarkeit, Buchungen und Kundensuche über dieselben
+ * Services wie die GUI erreichbar:
+ * <pre>
+ * GET  /api/events[?category=...]        Events
+ * GET  /api/events/{id}                  ein Event
+ * GET  /api/events/{id}/seats            Sitzplätze des Saals mit Verfügbarkeit
+ * POST /api/bookings                     {"customerId":1,"eventId":2,"seatIds":[3,4]}
+ * POST /api/bookings/{id}/confirm        Buchung bestätigen
+ * POST /api/bookings/{id}/cancel         Buchung stornieren
+ * GET  /api/customers?email=...          Kunde per E-Mail
+ * GET  /api/customers/{id}               ein Kunde
+ * GET  /api/customers/{id}/bookings      Buchungen eines Kunden
+ * </pre>
+ * Jede Anfrage läuft in einem eigenen virtuellen Thread (ab Java 21),
+ * auf älteren Laufzeitumgebungen in einem festen Pool von Plattform-Threads.
+ */
+public final class BookingApiServer {
+
+    /** Port, wenn weder Argument noch api.port gesetzt ist */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int PLATFORM_WORKERS = 64;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BookingService bookingService;
+    private final EventService eventService;
+    private final CustomerService customerService;
+    private final HallService hallService;
+
+    /**
+     * Bindet den Server an die Adresse; gestartet wird er mit start()
+     * @param port 0 wählt einen freien Port
+     */
+    public BookingApiServer(int port, BookingService bookingService, EventService eventService,
+            CustomerService customerService, HallService hallService) throws IOException {
+        this.bookingService = bookingService;
+        this.eventService = eventService;
+        this.customerService = customerService;
+        this.hallService = hallService;
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Startet den Server mit der Konfiguration aus db.properties
+     * Optionales erstes Argument: Port (sonst api.port, Standard 8080).
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Integer.parseInt(DatabaseConfig.getInstance().getProperty("api.port", String.valueOf(DEFAULT_PORT)));
+
+        BookingStore store = BookingStore.fromConfig();
+        BookingApiServer api = new BookingApiServer(port,
+                BookingService.createForApplication(store),
+                new EventService(store),
+                new CustomerService(),
+                new HallService());
+        try {
+            ReservationHoldScheduler.getInstance().start();
+        } catch (DatabaseException e) {
+            System.err.println("Reservierungs-Scheduler konnte nicht gestartet werden: " + e.getMessage());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(api::stop, "api-shutdown"));
+        api.start();
+        System.out.println("Booking-API läuft auf Port " + api.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Nimmt keine neuen Verbindungen mehr an und wartet kurz auf laufende Anfragen
+     */
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ReservationHoldScheduler.getInstance().stop();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Ein virtueller Thread pro Anfrage, sofern die Laufzeit sie anbietet
+     * Das Projekt wird für Java 17 übersetzt, deshalb wird die Fabrikmethode per Reflection gesucht.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(PLATFORM_WORKERS, r -> {
+                Thread t = new Thread(r, "api-worker-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ================= Routing =================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        Object body;
+        try {
+            Response response = route(exchange);
+            status = response.status();
+            body = response.body();
+        } catch (ApiException e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (SeatAlreadyBookedException e) {
+            status = 409;
+            Map<String, Object> conflict = error(e.getMessage());
+            conflict.put("seatIds", e.getSeatIds());
+            body = conflict;
+        } catch (InvalidBookingStatusTransitionException | IllegalStateException e) {
+            status = 409;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (DatabaseException e) {
+            System.err.println("API: Datenbankfehler bei " + exchange.getRequestURI() + ": " + e.getMessage());
+            status = 503;
+            body = error("Datenbank nicht erreichbar");
+        } catch (RuntimeException e) {
+            System.err.println("API: Fehler bei " + exchange.getRequestURI() + ": " + e);
+            status = 500;
+            body = error("Interner Fehler");
+        }
+        send(exchange, status, body);
+    }
+
+    private Response route(HttpExchange exchange) throws DatabaseException, SeatAlreadyBookedException,
+            InvalidBookingStatusTransitionException, IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        switch (path[0]) {
+            case "events" -> {
+                requireMethod(method, "GET");
+                if (path.length == 1) {
+                    String category = query.get("category");
+                    List<Event> events = category == null
+                            ? eventService.findAllEvents()
+                            : eventService.findEventsByCategory(category);
+                    return Response.ok(events.stream().map(BookingApiServer::toJson).toList());
+                }
+                Event event = findEvent(parseId(path[1]));
+                if (path.length == 2) {
+                    return Response.ok(toJson(event));
+                }
+                if (path.length == 3 && path[2].equals("seats")) {
+                    return Response.ok(seatsJson(event));
+                }
+            }
+            case "bookings" -> {
+                requireMethod(method, "POST");
+                if (path.length == 1) {
+                    return Response.created(createBookings(readBody(exchange)));
+                }
+                if (path.length == 3) {
+                    Long bookingId = parseId(path[1]);
+                    switch (path[2]) {
+                        case "confirm" -> {
+                            found(() -> {
+                                bookingService.confirmBooking(bookingId);
+                                return null;
+                            });
+                            return Response.ok(Map.of("id", bookingId, "status", "CONFIRMED"));
+                        }
+                        case "cancel" -> {
+                            found(() -> {
+                                bookingService.cancelBooking(bookingId);
+                                return null;
+                            });
+                            return Response.ok(Map.of("id", bookingId, "status", "CANCELLED"));
+                        }
+                        default -> {
+                            // unbekannte Aktion, siehe unten
+                        }
+                    }
+                }
+            }
+            case "customers" -> {
+                requireMethod(method, "GET");
+                if (path.length == 1) {
+                    String email = query.get("email");
+                    if (email == null) {
+                        throw new IllegalArgumentException("Parameter email fehlt");
+                    }
+                    Customer customer = customerService.findCustomerByEmail(email)
+                            .orElseThrow(() -> new ApiException(404, "Kunde nicht gefunden"));
+                    return Response.ok(toJson(customer));
+                }
+                Long customerId = parseId(path[1]);
+                Customer customer = found(() -> customerService.findCustomerById(customerId));
+                if (path.length == 2) {
+                    return Response.ok(toJson(customer));
+                }
+                if (path.length == 3 && path[2].equals("bookings")) {
+                    return Response.ok(bookingService.findBookingsByCustomer(customerId).stream()
+                            .map(BookingApiServer::toJson).toList());
+                }
+            }
+            default -> {
+                // unbekannter Pfad, siehe unten
+            }
+        }
+        throw new ApiException(404, "Unbekannter Pfad " + exchange.getRequestURI().getPath());
+    }
+
+    /**
+     * Bucht alle angefragten Sitze oder keinen (Gruppenbuchung)
+     */
+    private List<Map<String, Object>> createBookings(Map<String, Object> request)
+            throws DatabaseException, SeatAlreadyBookedException {
+        Long customerId = requireLong(request, "customerId");
+        Long eventId = requireLong(request, "eventId");
+        if (!(request.get("seatIds") instanceof List<?> rawSeatIds) || rawSeatIds.isEmpty()) {
+            throw new IllegalArgumentException("seatIds muss eine nicht leere Liste sein");
+        }
+
+        Customer customer = found(() -> customerService.findCustomerById(customerId));
+        Event event = findEvent(eventId);
+        Map<Long, Seat> hallSeats = new HashMap<>();
+        for (Seat seat : hallService.getSeatsForHall(event.getHall().getId())) {
+            hallSeats.put(seat.getId(), seat);
+        }
+
+        List<Seat> seats = new ArrayList<>(rawSeatIds.size());
+        for (Object rawSeatId : rawSeatIds) {
+            Long seatId = toLong(rawSeatId, "seatIds");
+            Seat seat = hallSeats.get(seatId);
+            if (seat == null) {
+                throw new IllegalArgumentException("Sitzplatz " + seatId + " gehört nicht zum Saal des Events");
+            }
+            seats.add(seat);
+        }
+
+        return bookingService.createBookings(customer, event, seats).stream()
+                .map(BookingApiServer::toJson)
+                .toList();
+    }
+
+    private Map<String, Object> seatsJson(Event event) throws DatabaseException {
+        List<Seat> hallSeats = hallService.getSeatsForHall(event.getHall().getId());
+        Set<Long> free = new HashSet<>();
+        for (Seat seat : bookingService.filterAvailableSeats(event, hallSeats)) {
+            free.add(seat.getId());
+        }
+
+        List<Map<String, Object>> seats = new ArrayList<>(hallSeats.size());
+        for (Seat seat : hallSeats) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", seat.getId());
+            json.put("row", seat.getRow());
+            json.put("number", seat.getNumber());
+            json.put("label", seat.getFullLabel());
+            json.put("free", free.contains(seat.getId()));
+            seats.add(json);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("eventId", event.getId());
+        json.put("freeCount", free.size());
+        json.put("seats", seats);
+        return json;
+    }
+
+    private Event findEvent(Long eventId) throws DatabaseException {
+        return found(() -> eventService.findEventById(eventId));
+    }
+
+    /**
+     * Die Services melden fehlende Datensätze mit IllegalArgumentException, hier wird daraus 404
+     */
+    private static <T> T found(Lookup<T> lookup) throws DatabaseException {
+        try {
+            return lookup.get();
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(404, e.getMessage());
+        } catch (InvalidBookingStatusTransitionException e) {
+            throw new ApiException(409, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T get() throws DatabaseException, InvalidBookingStatusTransitionException;
+    }
+
+    // ================= JSON-Darstellung =================
+
+    private static Map<String, Object> toJson(Event event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", event.getId());
+        json.put("name", event.getName());
+        json.put("description", event.getDescription());
+        json.put("dateTime", event.getDateTime());
+        json.put("category", event.getCategory());
+        json.put("basePrice", event.getBasePrice());
+        json.put("hallId", event.getHall() != null ? event.getHall().getId() : null);
+        json.put("hallName", event.getHall() != null ? event.getHall().getName() : null);
+        json.put("bookedCount", event.getBookedCount());
+        json.put("availableSeats", event.getAvailableSeats());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Customer customer) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", customer.getId());
+        json.put("firstName", customer.getFirstName());
+        json.put("lastName", customer.getLastName());
+        json.put("email", customer.getEmail());
+        json.put("phone", customer.getPhone());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Booking booking) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", booking.getId());
+        json.put("customerId", booking.getCustomerId());
+        json.put("eventId", booking.getEventId());
+        json.put("seatId", booking.getSeatId());
+        json.put("status", booking.getStatus());
+        json.put("price", booking.getPrice());
+        json.put("bookingDate", booking.getBookingDate());
+        json.put("holdExpiresAt", booking.getHoldExpiresAt());
+        return json;
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", message);
+        return json;
+    }
+
+    // ================= HTTP-Hilfen =================
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new ApiException(405, "Methode " + method + " nicht erlaubt, erwartet " + expected);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Anfrage größer als " + MAX_BODY_BYTES + " Byte");
+        }
+        return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static Long parseId(String segment) {
+        try {
+            return Long.valueOf(segment);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige ID: " + segment);
+        }
+    }
+
+    private static Long requireLong(Map<String, Object> request, String field) {
+        Object value = request.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Feld " + field + " fehlt");
+        }
+        return toLong(value, field);
+    }
+
+    private static Long toLong(Object value, String field) {
+        if (value instanceof BigDecimal number) {
+            try {
+                return number.longValueExact();
+            } catch (ArithmeticException e) {
+                // keine Ganzzahl, siehe unten
+            }
+        }
+        throw new IllegalArgumentException("Feld " + field + " muss eine ganze Zahl sein");
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Response(int status, Object body) {
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response created(Object body) {
+            return new Response(201, body);
+        }
+    }
+
+    /**
+     * Fehler mit festem HTTP-Status
+     */
+    private static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package api;
+
+import java.math.BigDecimal;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Minimales JSON für die HTTP-API
+ * Schreiben: Maps, Listen, Strings, Zahlen, Boolean, null und Datum/Zeit (ISO-Text).
+ * Lesen: vollständige JSON-Syntax; Objekte werden zu LinkedHashMap, Arrays zu
+ * ArrayList, Zahlen zu BigDecimal. Die Verschachtelungstiefe ist auf MAX_DEPTH begrenzt.
+ */
+public final class Json {
+
+    /** Maximale Verschachtelung von Objekten und Arrays beim Lesen */
+    public static final int MAX_DEPTH = 64;
+
+    private Json() {
+    }
+
+    // ================= Schreiben =================
+
+    /**
+     * Serialisiert einen Wert
+     * @throws IllegalArgumentException für nicht unterstützte Typen
+     */
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder(256);
+        append(out, value);
+        return out.toString();
+    }
+
+    private static void append(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String text) {
+            appendString(out, text);
+        } else if (value instanceof BigDecimal decimal) {
+            out.append(decimal.toPlainString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                out.append("null");
+            } else {
+                out.append(BigDecimal.valueOf(number).stripTrailingZeros().toPlainString());
+            }
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Enum<?> constant) {
+            appendString(out, constant.name());
+        } else if (value instanceof TemporalAccessor) {
+            appendString(out, value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendString(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                append(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                append(out, item);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Nicht als JSON darstellbar: " + value.getClass().getName());
+        }
+    }
+
+    private static void appendString(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    // ================= Lesen =================
+
+    /**
+     * Liest genau einen JSON-Wert
+     * @throws IllegalArgumentException bei ungültigem JSON
+     */
+    public static Object parse(String text) {
+        Parser parser = new Parser(text);
+        Object value = parser.value();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("Unerwartete Zeichen nach dem Wert");
+        }
+        return value;
+    }
+
+    /**
+     * Liest ein JSON-Objekt
+     * @throws IllegalArgumentException wenn der Text kein Objekt ist
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("JSON-Objekt erwartet");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+        private int depth;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Wert erwartet");
+            }
+            char c = text.charAt(position);
+            return switch (c) {
+                case '{' -> nested(this::object);
+                case '[' -> nested(this::array);
+                case '"' -> string();
+                case 't' -> literal("true", Boolean.TRUE);
+                case 'f' -> literal("false", Boolean.FALSE);
+                case 'n' -> literal("null", null);
+                default -> number();
+            };
+        }
+
+        /**
+         * Liest ein Objekt oder Array; begrenzt die Rekursionstiefe, damit tief
+         * verschachtelte Eingaben keinen StackOverflowError auslösen
+         */
+        private Object nested(Supplier<Object> reader) {
+            if (++depth > MAX_DEPTH) {
+                throw error("Verschachtelung tiefer als " + MAX_DEPTH);
+            }
+            Object value = reader.get();
+            depth--;
+            return value;
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Schlüssel erwartet");
+                }
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                result.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect('}');
+                    return result;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> result = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return result;
+            }
+            while (true) {
+                result.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect(']');
+                    return result;
+                }
+            }
+        }
+
+        private String string() {
+            StringBuilder out = new StringBuilder();
+            position++;
+            while (true) {
+                if (position >= text.length()) {
+                    throw error("Unvollständiger String");
+                }
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    throw error("Unvollständige Escape-Sequenz");
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case '"', '\\', '/' -> out.append(escape);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("Unvollständige Unicode-Escape-Sequenz");
+                        }
+                        try {
+                            out.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Ungültige Unicode-Escape-Sequenz");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("Ungültige Escape-Sequenz \\" + escape);
+                }
+            }
+        }
+
+        private BigDecimal number() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Unerwartetes Zeichen '" + text.charAt(position) + "'");
+            }
+            try {
+                return new BigDecimal(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("Ungültige Zahl");
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!text.startsWith(word, position)) {
+                throw error("Unbekannter Wert");
+            }
+            position += word.length();
+            return value;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("'" + c + "' erwartet");
+            }
+            position++;
+        }
+
+        private char peek() {
+            return position < text.length() ? text.charAt(position) : '\0';
+        }
+
+        void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Ungültiges JSON an Position " + position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package controller;
+
+import exceptions.DatabaseException;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Lädt Daten im Hintergrund und zeigt sie im Event-Dispatch-Thread an
+ */
+final class BackgroundLoad {
+
+    /**
+     * Datenbankabfrage, die im Hintergrund läuft
+     * @param <T> Ergebnistyp
+     */
+    @FunctionalInterface
+    interface Query<T> {
+        T load() throws DatabaseException;
+    }
+
+    private BackgroundLoad() {
+    }
+
+    /**
+     * Führt die Abfrage auf dem Executor aus und übergibt das Ergebnis im EDT
+     * @param display Anzeige des Ergebnisses (EDT)
+     * @param onError Anzeige eines Datenbankfehlers (EDT)
+     * @return Future, das nach der Anzeige abgeschlossen ist
+     */
+    static <T> CompletableFuture<Void> run(Executor executor, Query<T> query,
+                                           Consumer<T> display, Consumer<DatabaseException> onError) {
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return query.load();
+                    } catch (DatabaseException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .handleAsync((result, failure) -> {
+                    if (failure == null) {
+                        display.accept(result);
+                    } else if (failure.getCause() instanceof DatabaseException e) {
+                        onError.accept(e);
+                    } else {
+                        throw new CompletionException(failure.getCause() != null ? failure.getCause() : failure);
+                    }
+                    return null;
+                }, SwingUtilities::invokeLater);
+    }
+}
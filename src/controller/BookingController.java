@@ -1,8 +1,11 @@
 package controller;
 
+import dao.Page;
 import exceptions.DatabaseException;
 import exceptions.InvalidBookingStatusTransitionException;
+import exceptions.SeatAlreadyBookedException;
 import model.*;
+import service.BookingEventBus;
 import service.BookingService;
 import service.EventService;
 import view.BookingView;
@@ -10,6 +13,8 @@ import view.BookingDialog;
 
 import javax.swing.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller für die Buchungsverwaltung
@@ -23,6 +28,11 @@ public class BookingController {
     private final service.HallService hallService;
     private final BookingView view;
 
+    /** Buchungen pro nachgeladener Seite */
+    private static final int PAGE_SIZE = 100;
+    private Long pagedEventId;
+    private Booking lastLoadedBooking;
+
     public BookingController(BookingView view, BookingService bookingService, EventService eventService,
             service.CustomerService customerService, service.HallService hallService) {
         this.view = view;
@@ -41,6 +51,7 @@ public class BookingController {
     private void initializeEventListeners() {
         // Event-Selection Listener
         view.addEventSelectionListener(e -> loadEventDetails());
+        view.addLoadMoreBookingsListener(this::loadMoreBookings);
 
         // Buchung erstellen Button
         view.addCreateBookingListener(e -> createBooking());
@@ -53,6 +64,15 @@ public class BookingController {
 
         // Refresh Button
         view.addRefreshListener(e -> refreshData());
+
+        // Statuswechsel aus allen Services in der Tabelle nachführen; verpasste
+        // Ereignisse sind hier unkritisch, die Tabelle wird ohnehin neu geladen
+        BookingEventBus.getInstance().subscribe("booking-view", BookingEventBus.Backpressure.DROP_OLDEST,
+                BookingEventBus.DEFAULT_BATCH_SIZE, batch -> SwingUtilities.invokeLater(() -> {
+                    for (BookingEventBus.StatusChange change : batch) {
+                        view.updateStatusInTable(change.booking().getId(), change.newStatus());
+                    }
+                }));
     }
 
     /**
@@ -60,15 +80,27 @@ public class BookingController {
      */
     public void loadEvents() {
         try {
-            List<Event> events = eventService.findUpcomingEvents();
-            view.displayEvents(events);
-            // Wähle automatisch das erste Event aus, damit die Sitze geladen werden
-            view.selectFirstEvent();
+            showEvents(eventService.findUpcomingEvents());
         } catch (DatabaseException e) {
             showError("Fehler beim Laden der Events: " + e.getMessage());
         }
     }
 
+    /**
+     * Lädt die Events im Hintergrund und zeigt sie an, sobald sie vorliegen
+     * @param executor Executor für die Abfrage
+     */
+    public CompletableFuture<Void> loadEventsAsync(Executor executor) {
+        return BackgroundLoad.run(executor, eventService::findUpcomingEvents, this::showEvents,
+                e -> showError("Fehler beim Laden der Events: " + e.getMessage()));
+    }
+
+    private void showEvents(List<Event> events) {
+        view.displayEvents(events);
+        // Wähle automatisch das erste Event aus, damit die Sitze geladen werden
+        view.selectFirstEvent();
+    }
+
     /**
      * Lädt Details eines ausgewählten Events
      */
@@ -79,13 +111,38 @@ public class BookingController {
         Event selectedEvent = view.getSelectedEvent();
         if (selectedEvent != null) {
             try {
-                List<Booking> bookings = bookingService.findBookingsByEvent(selectedEvent.getId());
-                view.displayBookings(bookings);
-                view.updateAvailableSeatsLabel(selectedEvent.getAvailableSeats());
+                Page<Booking> page = bookingService.findBookingsByEventPage(selectedEvent.getId(), null, PAGE_SIZE);
+                view.displayBookings(page.items());
+                pagedEventId = selectedEvent.getId();
+                lastLoadedBooking = page.last();
+                view.setMoreBookingsAvailable(page.hasMore());
+                view.updateAvailableSeatsLabel(bookingService.getAvailableSeatCount(selectedEvent));
 
             } catch (DatabaseException e) {
                 showError("Fehler beim Laden der Buchungen: " + e.getMessage());
+                view.setMoreBookingsAvailable(false);
+            }
+        }
+    }
+
+    /**
+     * Lädt die nächste Seite Buchungen des ausgewählten Events beim Scrollen nach
+     */
+    private void loadMoreBookings() {
+        if (pagedEventId == null) {
+            view.setMoreBookingsAvailable(false);
+            return;
+        }
+        try {
+            Page<Booking> page = bookingService.findBookingsByEventPage(pagedEventId, lastLoadedBooking, PAGE_SIZE);
+            view.appendBookings(page.items());
+            if (!page.items().isEmpty()) {
+                lastLoadedBooking = page.last();
             }
+            view.setMoreBookingsAvailable(page.hasMore());
+        } catch (DatabaseException e) {
+            showError("Fehler beim Nachladen der Buchungen: " + e.getMessage());
+            view.setMoreBookingsAvailable(false);
         }
     }
 
@@ -102,34 +159,49 @@ public class BookingController {
 
             // Lade Daten für den Dialog
             List<Customer> customers = customerService.findAllCustomers();
-            List<Seat> seats = hallService.getSeatsForHall(event.getHall().getId());
+            List<Seat> hallSeats = hallService.getSeatsForHall(event.getHall().getId());
+            List<Seat> freeSeats = bookingService.filterAvailableSeats(event, hallSeats);
 
             // Öffne Dialog
-            BookingDialog dialog = view.openBookingDialog(event, customers, seats);
+            BookingDialog dialog = view.openBookingDialog(event, customers, freeSeats,
+                    partySize -> findBestSeats(event, hallSeats, partySize));
 
             if (dialog.isConfirmed()) {
                 Customer customer = dialog.getSelectedCustomer();
-                Seat seat = dialog.getSelectedSeat();
+                List<Seat> seats = dialog.getSelectedSeats();
 
-                if (customer != null && seat != null) {
+                if (customer != null && seats.size() == 1) {
                     // Erstelle Buchung
-                    Booking booking = bookingService.createBooking(customer, event, seat);
-
-                    // Füge Observer hinzu für Status-Änderungen
-                    booking.addObserver((b, oldStatus, newStatus) -> {
-                        view.updateStatusInTable(b.getId(), newStatus);
-                        showInfo("Buchungsstatus geändert: " + oldStatus + " → " + newStatus);
-                    });
-
+                    bookingService.createBooking(customer, event, seats.get(0));
                     showSuccess("Buchung erfolgreich erstellt!");
                     refreshData();
+                } else if (customer != null && seats.size() > 1) {
+                    // Gruppenbuchung
+                    bookingService.createBookings(customer, event, seats);
+                    showSuccess(seats.size() + " Plätze erfolgreich gebucht!");
+                    refreshData();
                 }
             }
 
         } catch (DatabaseException | InvalidBookingStatusTransitionException e) {
             showError("Fehler beim Erstellen der Buchung: " + e.getMessage());
-        } catch (IllegalStateException e) {
-            showWarning(e.getMessage());
+        } catch (SeatAlreadyBookedException e) {
+            showWarning(e.getSeatIds().size() == 1
+                    ? "Dieser Sitzplatz wurde bereits gebucht. Bitte wählen Sie einen anderen Platz."
+                    : e.getSeatIds().size() + " der gewählten Plätze wurden bereits gebucht. Bitte wählen Sie andere Plätze.");
+            refreshData();
+        }
+    }
+
+    /**
+     * Sucht die besten freien Plätze für eine Gruppe
+     */
+    private List<Seat> findBestSeats(Event event, List<Seat> hallSeats, int partySize) {
+        try {
+            return bookingService.findBestAvailableSeats(event, hallSeats, partySize).orElse(List.of());
+        } catch (DatabaseException e) {
+            showError("Fehler bei der Platzsuche: " + e.getMessage());
+            return List.of();
         }
     }
 
@@ -147,7 +219,7 @@ public class BookingController {
             bookingService.confirmBooking(selectedBooking.getId());
             showSuccess("Buchung bestätigt!");
             refreshData();
-        } catch (DatabaseException | InvalidBookingStatusTransitionException e) {
+        } catch (DatabaseException | InvalidBookingStatusTransitionException | IllegalStateException e) {
             showError("Fehler beim Bestätigen der Buchung: " + e.getMessage());
         }
     }
@@ -173,7 +245,7 @@ public class BookingController {
                 bookingService.cancelBooking(selectedBooking.getId());
                 showSuccess("Buchung storniert!");
                 refreshData();
-            } catch (DatabaseException | InvalidBookingStatusTransitionException e) {
+            } catch (DatabaseException | InvalidBookingStatusTransitionException | IllegalStateException e) {
                 showError("Fehler beim Stornieren der Buchung: " + e.getMessage());
             }
         }
@@ -209,11 +281,4 @@ public class BookingController {
     private void showSuccess(String message) {
         JOptionPane.showMessageDialog(null, message, "Erfolg", JOptionPane.INFORMATION_MESSAGE);
     }
-
-    /**
-     * Zeigt eine Info-Meldung
-     */
-    private void showInfo(String message) {
-        JOptionPane.showMessageDialog(null, message, "Information", JOptionPane.INFORMATION_MESSAGE);
-    }
 }
\ No newline at end of file
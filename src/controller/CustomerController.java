@@ -1,5 +1,6 @@
 package controller;
 
+import dao.Page;
 import exceptions.DatabaseException;
 import exceptions.ValidationException;
 import model.Booking;
@@ -13,6 +14,8 @@ import javax.swing.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller für die Kunden-Verwaltung
@@ -24,6 +27,10 @@ public class CustomerController {
     private final CustomerService customerService;
     private final BookingService bookingService;
 
+    /** Kunden pro nachgeladener Seite */
+    private static final int PAGE_SIZE = 100;
+    private Customer lastLoadedCustomer;
+
     /**
      * Konstruktor
      * 
@@ -49,6 +56,7 @@ public class CustomerController {
         view.addEditButtonListener(e -> editCustomer());
         view.addDeleteButtonListener(e -> deleteCustomer());
         view.addRefreshButtonListener(e -> loadCustomers());
+        view.addLoadMoreListener(this::loadMoreCustomers);
         view.addSearchListener(e -> searchCustomers());
         view.addViewBookingsButtonListener(e -> viewCustomerBookings());
         view.addTableSelectionListener(e -> {
@@ -67,14 +75,62 @@ public class CustomerController {
      * Lädt alle Kunden und zeigt sie in der View an
      */
     public void loadCustomers() {
+        view.setStatus("Lade Kunden...");
         try {
-            view.setStatus("Lade Kunden...");
-            List<Customer> customers = customerService.findAllCustomers();
-            view.displayCustomers(customers);
-            view.setStatus("Kunden erfolgreich geladen");
+            showFirstPage(loadFirstPage());
+        } catch (DatabaseException e) {
+            showLoadError(e);
+        }
+    }
+
+    /**
+     * Lädt die erste Seite Kunden im Hintergrund und zeigt sie an, sobald sie vorliegt
+     * @param executor Executor für die Abfragen
+     */
+    public CompletableFuture<Void> loadCustomersAsync(Executor executor) {
+        view.setStatus("Lade Kunden...");
+        return BackgroundLoad.run(executor, this::loadFirstPage, this::showFirstPage, this::showLoadError);
+    }
+
+    /**
+     * Erste Seite mit Gesamtzahl der Kunden
+     */
+    private record FirstPage(Page<Customer> page, long total) {
+    }
+
+    private FirstPage loadFirstPage() throws DatabaseException {
+        return new FirstPage(customerService.findCustomersPage(null, PAGE_SIZE),
+                customerService.getTotalCustomerCount());
+    }
+
+    private void showFirstPage(FirstPage first) {
+        view.displayCustomers(first.page().items());
+        view.setTotalCount(first.total());
+        lastLoadedCustomer = first.page().last();
+        view.setMoreAvailable(first.page().hasMore());
+        view.setStatus("Kunden erfolgreich geladen");
+    }
+
+    private void showLoadError(DatabaseException e) {
+        showError("Fehler beim Laden der Kunden: " + e.getMessage());
+        view.setStatus("Fehler beim Laden");
+        view.setMoreAvailable(false);
+    }
+
+    /**
+     * Lädt die nächste Seite Kunden beim Scrollen nach
+     */
+    private void loadMoreCustomers() {
+        try {
+            Page<Customer> page = customerService.findCustomersPage(lastLoadedCustomer, PAGE_SIZE);
+            view.appendCustomers(page.items());
+            if (!page.items().isEmpty()) {
+                lastLoadedCustomer = page.last();
+            }
+            view.setMoreAvailable(page.hasMore());
         } catch (DatabaseException e) {
-            showError("Fehler beim Laden der Kunden: " + e.getMessage());
-            view.setStatus("Fehler beim Laden");
+            showError("Fehler beim Nachladen der Kunden: " + e.getMessage());
+            view.setMoreAvailable(false);
         }
     }
 
@@ -209,6 +265,7 @@ public class CustomerController {
             view.setStatus("Suche Kunden...");
             List<Customer> customers = customerService.searchCustomersByName(searchTerm);
             view.displayCustomers(customers);
+            view.setMoreAvailable(false);
 
             if (customers.isEmpty()) {
                 view.setStatus("Keine Kunden gefunden für: " + searchTerm);
@@ -296,6 +353,7 @@ public class CustomerController {
             view.setStatus("Lade Kunden mit Buchungen...");
             List<Customer> customers = customerService.findCustomersWithActiveBookings();
             view.displayCustomers(customers);
+            view.setMoreAvailable(false);
             view.setStatus(customers.size() + " Kunde(n) mit Buchungen");
         } catch (DatabaseException e) {
             showError("Fehler beim Laden: " + e.getMessage());
@@ -310,6 +368,7 @@ public class CustomerController {
             view.setStatus("Lade Kunden ohne Buchungen...");
             List<Customer> customers = customerService.findCustomersWithActiveBookings();
             view.displayCustomers(customers);
+            view.setMoreAvailable(false);
             view.setStatus(customers.size() + " Kunde(n) ohne Buchungen");
         } catch (DatabaseException e) {
             showError("Fehler beim Laden: " + e.getMessage());
@@ -324,6 +383,7 @@ public class CustomerController {
             view.setStatus("Lade Top-Kunden...");
             List<Customer> topCustomers = customerService.findTopCustomers(limit);
             view.displayCustomers(topCustomers);
+            view.setMoreAvailable(false);
             view.setStatus("Top " + limit + " Kunden angezeigt");
         } catch (DatabaseException e) {
             showError("Fehler beim Laden: " + e.getMessage());
@@ -1,5 +1,6 @@
 package controller;
 
+import dao.Page;
 import exceptions.DatabaseException;
 
 import model.Event;
@@ -11,6 +12,8 @@ import view.EventManagementView;
 
 import javax.swing.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller für die Event-Verwaltung
@@ -22,6 +25,10 @@ public class EventController {
     private final EventService eventService;
     private final HallService hallService;
 
+    /** Events pro nachgeladener Seite */
+    private static final int PAGE_SIZE = 100;
+    private Event lastLoadedEvent;
+
     /**
      * Konstruktor
      * 
@@ -46,6 +53,7 @@ public class EventController {
         view.addEditButtonListener(e -> editEvent());
         view.addDeleteButtonListener(e -> deleteEvent());
         view.addRefreshButtonListener(e -> loadEvents());
+        view.addLoadMoreListener(this::loadMoreEvents);
         view.addSearchListener(e -> searchEvents());
         view.addCategoryFilterListener(e -> filterByCategory());
     }
@@ -54,14 +62,51 @@ public class EventController {
      * Lädt alle Events und zeigt sie in der View an
      */
     public void loadEvents() {
+        view.setStatus("Lade Events...");
         try {
-            view.setStatus("Lade Events...");
-            List<Event> events = eventService.findUpcomingEvents();
-            view.displayEvents(events);
-            view.setStatus("Events erfolgreich geladen");
+            showFirstPage(eventService.findUpcomingEventsPage(null, PAGE_SIZE));
+        } catch (DatabaseException e) {
+            showLoadError(e);
+        }
+    }
+
+    /**
+     * Lädt die erste Seite Events im Hintergrund und zeigt sie an, sobald sie vorliegt
+     * @param executor Executor für die Abfrage
+     */
+    public CompletableFuture<Void> loadEventsAsync(Executor executor) {
+        view.setStatus("Lade Events...");
+        return BackgroundLoad.run(executor, () -> eventService.findUpcomingEventsPage(null, PAGE_SIZE),
+                this::showFirstPage, this::showLoadError);
+    }
+
+    private void showFirstPage(Page<Event> page) {
+        view.displayEvents(page.items());
+        lastLoadedEvent = page.last();
+        view.setMoreAvailable(page.hasMore());
+        view.setStatus("Events erfolgreich geladen");
+    }
+
+    private void showLoadError(DatabaseException e) {
+        showError("Fehler beim Laden der Events: " + e.getMessage());
+        view.setStatus("Fehler beim Laden");
+        view.setMoreAvailable(false);
+    }
+
+    /**
+     * Lädt die nächste Seite Events beim Scrollen nach
+     */
+    private void loadMoreEvents() {
+        try {
+            Page<Event> page = eventService.findUpcomingEventsPage(lastLoadedEvent, PAGE_SIZE);
+            view.appendEvents(page.items());
+            if (!page.items().isEmpty()) {
+                lastLoadedEvent = page.last();
+            }
+            view.setMoreAvailable(page.hasMore());
         } catch (DatabaseException e) {
-            showError("Fehler beim Laden der Events: " + e.getMessage());
-            view.setStatus("Fehler beim Laden");
+            showError("Fehler beim Nachladen der Events: " + e.getMessage());
+            view.setMoreAvailable(false);
         }
     }
 
@@ -183,6 +228,7 @@ public class EventController {
             view.setStatus("Suche Events...");
             List<Event> events = eventService.searchEventsByName(searchTerm);
             view.displayEvents(events);
+            view.setMoreAvailable(false);
 
             if (events.isEmpty()) {
                 view.setStatus("Keine Events gefunden für: " + searchTerm);
@@ -213,6 +259,7 @@ public class EventController {
             }
 
             view.displayEvents(events);
+            view.setMoreAvailable(false);
 
             if (category == null) {
                 view.setStatus("Alle Events angezeigt");
@@ -233,6 +280,7 @@ public class EventController {
             view.setStatus("Lade alle Events...");
             List<Event> events = eventService.findAllEvents();
             view.displayEvents(events);
+            view.setMoreAvailable(false);
             view.setStatus("Alle Events geladen");
         } catch (DatabaseException e) {
             showError("Fehler beim Laden: " + e.getMessage());
@@ -1,9 +1,16 @@
 package controller;
 
+import dao.BookingStatsDAO;
 import service.*;
 import view.*;
 
+
 import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Haupt-Controller für die gesamte Anwendung
@@ -18,20 +25,30 @@ public class MainController {
     private final ReportController reportController;
 
     // Services
+    private final BookingStore bookingStore;
     private final BookingService bookingService;
     private final EventService eventService;
     private final CustomerService customerService;
     private final HallService hallService;
+    private final ReportService reportService;
+
+    /** Threads für das Laden beim Start (Java 17: Plattform-Threads statt virtueller Threads) */
+    private static final int STARTUP_THREADS = 4;
+
+    /** Maximale Wartezeit auf die MySQL-Projektion vor der Zählerprüfung */
+    private static final long PROJECTION_WAIT_MILLIS = 30_000;
 
     /**
      * Konstruktor
      */
     public MainController() {
         // Initialisiere Services
-        this.bookingService = new BookingService();
-        this.eventService = new EventService();
+        this.bookingStore = BookingStore.fromConfig();
+        this.bookingService = BookingService.createForApplication(bookingStore);
+        this.eventService = new EventService(bookingStore);
         this.customerService = new CustomerService();
         this.hallService = new HallService();
+        this.reportService = new ReportService();
 
         // Initialisiere View
         this.mainView = new MainView();
@@ -56,16 +73,48 @@ public class MainController {
 
         this.reportController = new ReportController(
                 mainView.getReportView(),
-                bookingService,
-                eventService,
-                customerService);
-
-        // Initiale Daten laden
-        hallService.initializeDefaultSeats(); // Self-healing: Sitze generieren falls fehlend
-        loadAllData();
+                reportService);
 
-        // Zeige Hauptfenster
+        // Zeige Hauptfenster sofort, Daten folgen im Hintergrund
         mainView.setVisible(true);
+        startBackgroundLoading();
+    }
+
+    /**
+     * Lädt alle Startdaten parallel im Hintergrund
+     * Jeder Tab wird gefüllt, sobald seine Daten vorliegen. Parallel laufen die
+     * Sitzplatz-Selbstheilung und die Kette Zählerprüfung, Kennzahlen, Reservierungs-Scheduler.
+     */
+    private void startBackgroundLoading() {
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService startupExecutor = Executors.newFixedThreadPool(STARTUP_THREADS, r -> {
+            Thread t = new Thread(r, "startup-loader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        CompletableFuture<Void> seats = CompletableFuture.runAsync(
+                hallService::initializeDefaultSeats, startupExecutor); // Self-healing: Sitze generieren falls fehlend
+        CompletableFuture<Void> bookingState = CompletableFuture.runAsync(() -> {
+                    verifyBookingCounters();
+                    startBookingStatistics();
+                    startHoldScheduler();
+                }, startupExecutor)
+                .thenRunAsync(reportController::updateStatistics, SwingUtilities::invokeLater);
+        CompletableFuture<Void> tabs = CompletableFuture.allOf(
+                bookingController.loadEventsAsync(startupExecutor),
+                eventController.loadEventsAsync(startupExecutor),
+                customerController.loadCustomersAsync(startupExecutor));
+
+        CompletableFuture.allOf(seats, bookingState, tabs).whenComplete((ignored, failure) -> {
+            startupExecutor.shutdown();
+            if (failure != null) {
+                System.err.println("Fehler beim Laden der Startdaten: " + failure.getMessage());
+            } else {
+                System.out.println("Startdaten geladen in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        });
     }
 
     /**
@@ -82,6 +131,58 @@ public class MainController {
         }
     }
 
+    /**
+     * Prüft die gepflegten Buchungszähler und baut sie bei Abweichungen neu auf
+     */
+    private void verifyBookingCounters() {
+        // Im Journal-Modus erst nachgeführte Buchungen abwarten, sonst weichen die Zähler scheinbar ab
+        if (bookingStore instanceof JournaledBookingStore journaled
+                && !journaled.awaitProjection(PROJECTION_WAIT_MILLIS)) {
+            System.err.println("MySQL-Projektion noch nicht aktuell, Zählerprüfung übersprungen");
+            return;
+        }
+        try {
+            List<BookingStatsDAO.Drift> drifts = bookingService.verifyAndRepairCounters();
+            if (!drifts.isEmpty()) {
+                System.out.println("Buchungszähler neu aufgebaut, " + drifts.size() + " Abweichung(en):");
+                drifts.forEach(d -> System.out.println("  -> " + d.table() + " ID " + d.id()
+                        + ": gespeichert " + d.stored() + ", tatsächlich " + d.actual()));
+            }
+        } catch (exceptions.DatabaseException e) {
+            System.err.println("Buchungszähler konnten nicht geprüft werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Befüllt die Buchungskennzahlen und hängt sie an alle Statuswechsel
+     * Muss vor dem Reservierungs-Scheduler laufen, damit beim Start abgelaufene Reservierungen mitgezählt werden.
+     */
+    private void startBookingStatistics() {
+        BookingStatistics statistics = BookingStatistics.getInstance();
+        try {
+            // Vor dem Befüllen anmelden: seed() ersetzt bis dahin gezählte Änderungen durch den Datenbankstand,
+            // onBatch() überspringt danach die Ereignisse, die die Abfrage schon enthält
+            // BLOCK: die Zähler dürfen kein Ereignis verpassen; das Fortschreiben ist billig
+            BookingEventBus.getInstance().subscribe("statistics", BookingEventBus.Backpressure.BLOCK,
+                    BookingEventBus.DEFAULT_BATCH_SIZE, statistics::onBatch);
+            ReservationHoldScheduler.getInstance().addExpiryListener(statistics::onHoldsExpired);
+            statistics.seed();
+        } catch (exceptions.DatabaseException e) {
+            System.err.println("Buchungskennzahlen konnten nicht geladen werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Startet den Ablauf von Reservierungen
+     */
+    private void startHoldScheduler() {
+        try {
+            ReservationHoldScheduler.getInstance().start();
+        } catch (exceptions.DatabaseException e) {
+            System.err.println("Reservierungs-Scheduler konnte nicht gestartet werden: " + e.getMessage());
+        }
+    }
+
     /**
      * Aktualisiert alle Views
      */
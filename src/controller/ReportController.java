@@ -1,20 +1,31 @@
 package controller;
 
+import dao.ExportDAO;
+import dao.QueryCancellation;
+import dao.ReportDAO;
 import exceptions.DatabaseException;
-import model.Booking;
-import model.Customer;
-import model.Event;
-import service.BookingService;
-import service.CustomerService;
-import service.EventService;
+import model.BookingStatus;
+import service.BookingSnapshot;
+import service.ExportService;
+import service.ExportWriter;
+import service.ReportService;
 import view.ReportView;
 
 import javax.swing.*;
+import java.awt.*;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 /**
  * Controller für Berichte und Statistiken
@@ -22,16 +33,37 @@ import java.util.stream.Collectors;
 public class ReportController {
 
     private final ReportView view;
-    private final BookingService bookingService;
-    private final EventService eventService;
-    private final CustomerService customerService;
+    private final ReportService reportService;
+    private final ExportService exportService;
 
-    public ReportController(ReportView view, BookingService bookingService,
-                            EventService eventService, CustomerService customerService) {
+    /** Anzahl gleichzeitig laufender Berichte */
+    private static final int REPORT_THREADS = 3;
+
+    /** Intervall, in dem der Abbrechen-Knopf des Export-Fortschritts geprüft wird */
+    private static final int CANCEL_CHECK_MILLIS = 200;
+
+    /** Vorgeschlagener Dateiname für Buchungs-Snapshots */
+    private static final String SNAPSHOT_FILE_NAME = "buchungen.snapshot";
+
+    private static final DateTimeFormatter SNAPSHOT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final ExecutorService reportExecutor;
+    // Nur im Event-Dispatch-Thread verwendet
+    private final Map<String, ReportTask> runningReports = new HashMap<>();
+    private final Map<String, String> finishedReports = new HashMap<>();
+    private StatisticsTask statisticsTask;
+
+    public ReportController(ReportView view, ReportService reportService) {
         this.view = view;
-        this.bookingService = bookingService;
-        this.eventService = eventService;
-        this.customerService = customerService;
+        this.reportService = reportService;
+        this.exportService = new ExportService();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.reportExecutor = Executors.newFixedThreadPool(REPORT_THREADS, r -> {
+            Thread t = new Thread(r, "report-worker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
 
         initializeEventListeners();
     }
@@ -41,184 +73,283 @@ public class ReportController {
      */
     private void initializeEventListeners() {
         view.addGenerateReportListener(e -> generateReport());
+        view.addCancelReportListener(e -> cancelReport());
+        view.addReportTypeListener(e -> showSelectedReport());
         view.addExportListener(e -> exportReport());
+        view.addExportDataListener(e -> exportData());
+        view.addCreateSnapshotListener(e -> createSnapshot());
+        view.addSnapshotReportListener(e -> analyzeSnapshot());
     }
 
     /**
-     * Aktualisiert die Statistiken
+     * Aktualisiert die Statistiken im Hintergrund
+     * Eine noch laufende Aktualisierung wird abgebrochen.
      */
     public void updateStatistics() {
-        try {
-            double totalRevenue = bookingService.calculateTotalRevenue();
-            List<Booking> allBookings = bookingService.findActiveBookings();
-            int totalBookings = allBookings.size();
-            int activeBookings = (int) allBookings.stream()
-                    .filter(b -> b.getStatus() != model.BookingStatus.CANCELLED)
-                    .count();
-
-            int totalCustomers = (int) customerService.getTotalCustomerCount();
-            List<Event> allEvents = eventService.findAllEvents();
-            int totalEvents = allEvents.size();
-            int upcomingEvents = eventService.findUpcomingEvents().size();
-
-            view.updateStatistics(
-                    totalRevenue,
-                    totalBookings,
-                    activeBookings,
-                    totalCustomers,
-                    totalEvents,
-                    upcomingEvents
-            );
-        } catch (DatabaseException e) {
-            showError("Fehler beim Aktualisieren der Statistiken: " + e.getMessage());
+        if (statisticsTask != null) {
+            statisticsTask.abort();
         }
+        statisticsTask = new StatisticsTask();
+        reportExecutor.execute(statisticsTask);
     }
 
     /**
-     * Generiert einen Bericht basierend auf dem ausgewählten Typ
+     * Startet den ausgewählten Bericht im Hintergrund
+     * Verschiedene Berichte laufen parallel; ein erneuter Start desselben Berichts
+     * bricht den vorherigen Lauf ab.
      */
     private void generateReport() {
         String reportType = view.getSelectedReportType();
+        ReportTask previous = runningReports.get(reportType);
+        if (previous != null) {
+            previous.abort();
+        }
+
+        ReportTask task = new ReportTask(reportType);
+        runningReports.put(reportType, task);
         view.clearReport();
+        view.setReportRunning(true);
+        reportExecutor.execute(task);
+    }
+
+    /**
+     * Bricht den ausgewählten Bericht samt laufender Abfrage ab
+     */
+    private void cancelReport() {
+        ReportTask task = runningReports.get(view.getSelectedReportType());
+        if (task != null) {
+            task.abort();
+        }
+    }
+
+    /**
+     * Zeigt Fortschritt oder letztes Ergebnis des ausgewählten Berichts
+     */
+    private void showSelectedReport() {
+        String reportType = view.getSelectedReportType();
+        ReportTask task = runningReports.get(reportType);
+        view.setReportRunning(task != null);
+        if (task != null) {
+            view.setReportProgress(task.getProgress());
+            view.clearReport();
+        } else if (finishedReports.containsKey(reportType)) {
+            view.setReportText(finishedReports.get(reportType));
+        } else {
+            view.clearReport();
+        }
+    }
+
+    /**
+     * Erstellt einen Bericht im Hintergrund
+     * abort() bricht die laufende Abfrage per Statement.cancel() ab. Der Thread wird
+     * nicht unterbrochen, damit die Verbindung in einem sauberen Zustand in den Pool zurückgeht.
+     */
+    private final class ReportTask extends SwingWorker<String, Void> {
+        private final String reportType;
+        private final QueryCancellation cancellation = new QueryCancellation();
+
+        ReportTask(String reportType) {
+            this.reportType = reportType;
+            addPropertyChangeListener(evt -> {
+                if ("progress".equals(evt.getPropertyName()) && isShown()) {
+                    view.setReportProgress((Integer) evt.getNewValue());
+                }
+            });
+        }
+
+        @Override
+        protected String doInBackground() throws DatabaseException {
+            ReportService service = reportService.withCancellation(cancellation);
+            IntConsumer progress = this::setProgress;
+            return switch (reportType) {
+                case "Übersicht" -> buildOverviewReport(service, progress);
+                case "Umsatz nach Event" -> buildRevenueByEventReport(service, progress);
+                case "Top Kunden" -> buildTopCustomersReport(service, progress);
+                case "Buchungen nach Status" -> buildBookingsByStatusReport(service, progress);
+                case "Event-Auslastung" -> buildEventOccupancyReport(service, progress);
+                default -> throw new IllegalArgumentException("Unbekannter Bericht: " + reportType);
+            };
+        }
+
+        void abort() {
+            cancellation.cancel();
+            cancel(false);
+        }
+
+        private boolean isShown() {
+            return runningReports.get(reportType) == this && reportType.equals(view.getSelectedReportType());
+        }
 
-        try {
-            switch (reportType) {
-                case "Übersicht" -> generateOverviewReport();
-                case "Umsatz nach Event" -> generateRevenueByEventReport();
-                case "Top Kunden" -> generateTopCustomersReport();
-                case "Buchungen nach Status" -> generateBookingsByStatusReport();
-                case "Event-Auslastung" -> generateEventOccupancyReport();
+        @Override
+        protected void done() {
+            boolean shown = isShown();
+            if (!runningReports.remove(reportType, this)) {
+                return; // durch einen neueren Lauf ersetzt
+            }
+            if (shown) {
+                view.setReportRunning(false);
+            }
+
+            if (isCancelled()) {
+                if (shown) {
+                    view.setReportText("Bericht abgebrochen.");
+                }
+                return;
+            }
+            try {
+                String text = get();
+                finishedReports.put(reportType, text);
+                if (shown) {
+                    view.setReportText(text);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                showError("Fehler beim Erstellen des Berichts \"" + reportType + "\": " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lädt die Kennzahlen des Statistik-Panels im Hintergrund
+     */
+    private final class StatisticsTask extends SwingWorker<ReportDAO.Overview, Void> {
+        private final QueryCancellation cancellation = new QueryCancellation();
+
+        @Override
+        protected ReportDAO.Overview doInBackground() throws DatabaseException {
+            return reportService.withCancellation(cancellation).getOverview();
+        }
+
+        void abort() {
+            cancellation.cancel();
+            cancel(false);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                ReportDAO.Overview overview = get();
+                view.updateStatistics(
+                        overview.totalRevenue(),
+                        (int) overview.totalBookings(),
+                        (int) overview.activeBookings(),
+                        (int) overview.totalCustomers(),
+                        (int) overview.totalEvents(),
+                        (int) overview.upcomingEvents()
+                );
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                showError("Fehler beim Aktualisieren der Statistiken: " + e.getCause().getMessage());
             }
-        } catch (DatabaseException e) {
-            showError("Fehler beim Erstellen des Berichts: " + e.getMessage());
         }
     }
 
     /**
      * Erstellt einen Übersichtsbericht
      */
-    private void generateOverviewReport() throws DatabaseException {
+    private String buildOverviewReport(ReportService service, IntConsumer progress) throws DatabaseException {
         StringBuilder report = new StringBuilder();
         report.append("═══════════════════════════════════════════\n");
         report.append("        SYSTEM-ÜBERSICHT\n");
         report.append("═══════════════════════════════════════════\n\n");
 
-        double totalRevenue = bookingService.calculateTotalRevenue();
-        List<Booking> allBookings = bookingService.findActiveBookings();
-        int totalCustomers = (int) customerService.getTotalCustomerCount();
-        List<Event> upcomingEvents = eventService.findUpcomingEvents();
+        ReportDAO.Overview overview = service.getOverview();
+        progress.accept(50);
 
-        report.append(String.format("Gesamtumsatz: %.2f €\n", totalRevenue));
-        report.append(String.format("Anzahl Buchungen: %d\n", allBookings.size()));
-        report.append(String.format("Anzahl Kunden: %d\n", totalCustomers));
-        report.append(String.format("Kommende Events: %d\n\n", upcomingEvents.size()));
+        report.append(String.format("Gesamtumsatz: %.2f €\n", overview.totalRevenue()));
+        report.append(String.format("Anzahl Buchungen: %d\n", overview.activeBookings()));
+        report.append(String.format("Anzahl Kunden: %d\n", overview.totalCustomers()));
+        report.append(String.format("Kommende Events: %d\n\n", overview.upcomingEvents()));
 
         // Top 3 Events
         report.append("Top 3 Events nach Buchungen:\n");
         report.append("─────────────────────────────────────────\n");
 
-        Map<Event, Long> eventBookingCount = allBookings.stream()
-                .collect(Collectors.groupingBy(Booking::getEvent, Collectors.counting()));
-
-        eventBookingCount.entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()))
-                .limit(3)
-                .forEach(entry -> report.append(String.format("• %s: %d Buchungen\n",
-                        entry.getKey().getName(), entry.getValue())));
+        for (ReportDAO.EventBookings event : service.getTopEvents(3)) {
+            report.append(String.format("• %s: %d Buchungen\n", event.eventName(), event.bookings()));
+        }
 
-        view.setReportText(report.toString());
+        progress.accept(100);
+        return report.toString();
     }
 
     /**
      * Erstellt einen Umsatzbericht pro Event
      */
-    private void generateRevenueByEventReport() throws DatabaseException {
+    private String buildRevenueByEventReport(ReportService service, IntConsumer progress) throws DatabaseException {
         StringBuilder report = new StringBuilder();
         report.append("═══════════════════════════════════════════\n");
         report.append("      UMSATZ NACH EVENT\n");
         report.append("═══════════════════════════════════════════\n\n");
 
-        List<Event> events = eventService.findAllEvents();
-
-        for (Event event : events) {
-            List<Booking> bookings = bookingService.findBookingsByEvent(event.getId());
-            double revenue = bookings.stream()
-                    .filter(b -> b.getStatus() == model.BookingStatus.CONFIRMED)
-                    .mapToDouble(Booking::getPrice)
-                    .sum();
-
-            report.append(String.format("%-40s %.2f €\n", event.getName(), revenue));
+        for (ReportDAO.EventRevenue row : service.getRevenueByEvent()) {
+            report.append(String.format("%-40s %.2f €\n", row.eventName(), row.revenue()));
         }
 
-        view.setReportText(report.toString());
+        progress.accept(100);
+        return report.toString();
     }
 
     /**
      * Erstellt einen Top-Kunden Bericht
      */
-    private void generateTopCustomersReport() throws DatabaseException {
+    private String buildTopCustomersReport(ReportService service, IntConsumer progress) throws DatabaseException {
         StringBuilder report = new StringBuilder();
         report.append("═══════════════════════════════════════════\n");
         report.append("         TOP KUNDEN\n");
         report.append("═══════════════════════════════════════════\n\n");
 
-        List<Customer> topCustomers = customerService.findTopCustomers(10);
-
         int rank = 1;
-        for (Customer customer : topCustomers) {
+        for (ReportDAO.CustomerBookings customer : service.getTopCustomers(10)) {
             report.append(String.format("%2d. %-30s (%d Buchungen)\n",
-                    rank++, customer.getFullName(), customer.getActiveBookingsCount()));
+                    rank++, customer.fullName(), customer.activeBookings()));
         }
 
-        view.setReportText(report.toString());
+        progress.accept(100);
+        return report.toString();
     }
 
     /**
      * Erstellt einen Bericht über Buchungen nach Status
      */
-    private void generateBookingsByStatusReport() throws DatabaseException {
+    private String buildBookingsByStatusReport(ReportService service, IntConsumer progress) throws DatabaseException {
         StringBuilder report = new StringBuilder();
         report.append("═══════════════════════════════════════════\n");
         report.append("     BUCHUNGEN NACH STATUS\n");
         report.append("═══════════════════════════════════════════\n\n");
 
-        List<Booking> allBookings = bookingService.findActiveBookings();
-
-        Map<model.BookingStatus, Long> statusCount = allBookings.stream()
-                .collect(Collectors.groupingBy(Booking::getStatus, Collectors.counting()));
-
-        statusCount.forEach((status, count) ->
-                report.append(String.format("%-20s %d Buchungen\n",
-                        status.getDisplayName(), count))
-        );
+        for (ReportDAO.StatusCount row : service.getStatusDistribution()) {
+            report.append(String.format("%-20s %d Buchungen\n",
+                    row.status().getDisplayName(), row.count()));
+        }
 
-        view.setReportText(report.toString());
+        progress.accept(100);
+        return report.toString();
     }
 
     /**
      * Erstellt einen Event-Auslastungsbericht
      */
-    private void generateEventOccupancyReport() throws DatabaseException {
+    private String buildEventOccupancyReport(ReportService service, IntConsumer progress) throws DatabaseException {
         StringBuilder report = new StringBuilder();
         report.append("═══════════════════════════════════════════\n");
         report.append("       EVENT-AUSLASTUNG\n");
         report.append("═══════════════════════════════════════════\n\n");
 
-        List<Event> events = eventService.findUpcomingEvents();
-
-        for (Event event : events) {
-            int totalSeats = event.getHall().getCapacity();
-            int availableSeats = event.getAvailableSeats();
-            int bookedSeats = totalSeats - availableSeats;
-            double occupancyRate = (bookedSeats * 100.0) / totalSeats;
-
-            report.append(String.format("%-40s\n", event.getName()));
+        for (ReportDAO.EventOccupancy event : service.getUpcomingOccupancy()) {
+            report.append(String.format("%-40s\n", event.eventName()));
             report.append(String.format("  Gebucht: %d/%d (%.1f%%)\n",
-                    bookedSeats, totalSeats, occupancyRate));
-            report.append(String.format("  Verfügbar: %d\n\n", availableSeats));
+                    event.booked(), event.capacity(), event.rate()));
+            report.append(String.format("  Verfügbar: %d\n\n", event.available()));
         }
 
-        view.setReportText(report.toString());
+        progress.accept(100);
+        return report.toString();
     }
 
     /**
@@ -247,6 +378,214 @@ public class ReportController {
         }
     }
 
+    /**
+     * Exportiert Buchungen, Kunden oder Events als CSV bzw. JSON Lines
+     */
+    private void exportData() {
+        JComboBox<ExportDAO.Dataset> datasetBox = new JComboBox<>(ExportDAO.Dataset.values());
+        JComboBox<ExportWriter.Format> formatBox = new JComboBox<>(ExportWriter.Format.values());
+        JCheckBox gzipBox = new JCheckBox("gzip-komprimiert");
+
+        JPanel options = new JPanel(new GridLayout(0, 2, 8, 8));
+        options.add(new JLabel("Daten:"));
+        options.add(datasetBox);
+        options.add(new JLabel("Format:"));
+        options.add(formatBox);
+        options.add(new JLabel());
+        options.add(gzipBox);
+
+        int choice = JOptionPane.showConfirmDialog(view, options, "Daten exportieren",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        ExportDAO.Dataset dataset = (ExportDAO.Dataset) datasetBox.getSelectedItem();
+        ExportWriter.Format format = (ExportWriter.Format) formatBox.getSelectedItem();
+        boolean gzip = gzipBox.isSelected();
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(dataset.getDisplayName() + " exportieren");
+        fileChooser.setSelectedFile(new File(exportService.suggestFileName(dataset, format, gzip)));
+        if (fileChooser.showSaveDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        new ExportTask(dataset, format, gzip, fileChooser.getSelectedFile()).start();
+    }
+
+    /**
+     * Schreibt einen Export im Hintergrund und zeigt den Fortschritt in einem ProgressMonitor
+     * Abbrechen im Monitor beendet die laufende Abfrage; die Zieldatei bleibt dann unverändert.
+     */
+    private final class ExportTask extends SwingWorker<Long, Void> {
+        private final ExportDAO.Dataset dataset;
+        private final ExportWriter.Format format;
+        private final boolean gzip;
+        private final File target;
+        private final QueryCancellation cancellation = new QueryCancellation();
+        private final ProgressMonitor monitor;
+        private final Timer cancelCheck;
+        private volatile long total;
+
+        ExportTask(ExportDAO.Dataset dataset, ExportWriter.Format format, boolean gzip, File target) {
+            this.dataset = dataset;
+            this.format = format;
+            this.gzip = gzip;
+            this.target = target;
+            this.monitor = new ProgressMonitor(view, dataset.getDisplayName() + " exportieren",
+                    "Zähle Zeilen...", 0, 100);
+            monitor.setMillisToDecideToPopup(0);
+            monitor.setMillisToPopup(0);
+            // Der Monitor meldet Abbrechen nicht aktiv, daher regelmäßig nachsehen
+            this.cancelCheck = new Timer(CANCEL_CHECK_MILLIS, e -> {
+                if (monitor.isCanceled()) {
+                    cancellation.cancel();
+                }
+            });
+            addPropertyChangeListener(evt -> {
+                if ("progress".equals(evt.getPropertyName())) {
+                    monitor.setProgress((Integer) evt.getNewValue());
+                    monitor.setNote(String.format("%d%% von %d Zeilen", (Integer) evt.getNewValue(), total));
+                }
+            });
+        }
+
+        void start() {
+            cancelCheck.start();
+            reportExecutor.execute(this);
+        }
+
+        @Override
+        protected Long doInBackground() throws DatabaseException, IOException {
+            total = exportService.countRows(dataset);
+            setProgress(total == 0 ? 100 : 1);
+            return exportService.export(dataset, format, gzip, target.toPath(), rows -> {
+                if (total > 0) {
+                    setProgress((int) Math.min(100, Math.max(1, rows * 100 / total)));
+                }
+            }, cancellation);
+        }
+
+        @Override
+        protected void done() {
+            cancelCheck.stop();
+            monitor.close();
+            try {
+                long rows = get();
+                showSuccess(String.format("%d %s exportiert nach %s", rows, dataset.getDisplayName(), target.getName()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (cancellation.isCancelled()) {
+                    showWarning("Export abgebrochen");
+                } else {
+                    showError("Fehler beim Exportieren: " + e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Schreibt alle Buchungen als Snapshot-Datei für Auswertungen ohne Datenbank
+     */
+    private void createSnapshot() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Snapshot erstellen");
+        fileChooser.setSelectedFile(new File(SNAPSHOT_FILE_NAME));
+        if (fileChooser.showSaveDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File target = fileChooser.getSelectedFile();
+        reportExecutor.execute(new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws DatabaseException, IOException {
+                return exportService.writeBookingSnapshot(target.toPath());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    showSuccess(String.format("%d Buchungen im Snapshot %s gespeichert", get(), target.getName()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showError("Fehler beim Erstellen des Snapshots: " + e.getCause().getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Wertet eine Snapshot-Datei aus, ohne die Datenbank abzufragen
+     */
+    private void analyzeSnapshot() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Snapshot auswerten");
+        fileChooser.setSelectedFile(new File(SNAPSHOT_FILE_NAME));
+        if (fileChooser.showOpenDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File source = fileChooser.getSelectedFile();
+        reportExecutor.execute(new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws IOException {
+                try (BookingSnapshot snapshot = BookingSnapshot.open(source.toPath())) {
+                    return buildSnapshotReport(snapshot);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    view.setReportText(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showError("Fehler beim Auswerten des Snapshots: " + e.getCause().getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Erstellt einen Bericht aus einem Buchungs-Snapshot
+     */
+    private String buildSnapshotReport(BookingSnapshot snapshot) {
+        StringBuilder report = new StringBuilder();
+        report.append("═══════════════════════════════════════════\n");
+        report.append("      SNAPSHOT-AUSWERTUNG\n");
+        report.append("═══════════════════════════════════════════\n\n");
+        report.append(String.format("Stand: %s\n", snapshot.getCreatedAt().format(SNAPSHOT_DATE_FORMAT)));
+        report.append(String.format("Buchungen: %d\n\n", snapshot.size()));
+
+        report.append("Buchungen nach Status:\n");
+        report.append("─────────────────────────────────────────\n");
+        for (Map.Entry<BookingStatus, Long> entry : snapshot.countByStatus(BookingSnapshot.ALL).entrySet()) {
+            report.append(String.format("%-20s %d Buchungen\n", entry.getKey().getDisplayName(), entry.getValue()));
+        }
+
+        report.append("\nUmsatz nach Kategorie:\n");
+        report.append("─────────────────────────────────────────\n");
+        for (Map.Entry<String, Double> entry : snapshot.confirmedRevenueByCategory(BookingSnapshot.ALL).entrySet()) {
+            report.append(String.format("%-30s %.2f €\n", entry.getKey(), entry.getValue()));
+        }
+
+        report.append("\nTop 10 Events nach aktiven Buchungen:\n");
+        report.append("─────────────────────────────────────────\n");
+        List<Map.Entry<Long, Long>> events = snapshot.activeBookingsByEvent(BookingSnapshot.ALL).entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(10)
+                .toList();
+        for (Map.Entry<Long, Long> entry : events) {
+            report.append(String.format("• Event #%d: %d Buchungen\n", entry.getKey(), entry.getValue()));
+        }
+        return report.toString();
+    }
+
     // Hilfsmethoden
     private void showError(String message) {
         JOptionPane.showMessageDialog(view, message, "Fehler", JOptionPane.ERROR_MESSAGE);
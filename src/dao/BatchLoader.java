@@ -0,0 +1,91 @@
+package dao;
+
+import exceptions.DatabaseException;
+import exceptions.UncheckedDatabaseException;
+import model.LazyRef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Erzeugt LazyRefs für eine Ergebnismenge und lädt sie gesammelt nach
+ * Der erste Zugriff auf einen offenen Verweis lädt alle offenen Verweise dieses
+ * Loaders mit je einer Abfrage pro BATCH_SIZE IDs. Verweise auf dieselbe ID sind
+ * dasselbe Objekt, gleiche Kunden oder Events werden also nur einmal geladen.
+ *
+ * @param <T> referenzierte Entität
+ */
+final class BatchLoader<T> implements LazyRef.Resolver<T> {
+
+    /** Maximale Anzahl IDs pro Abfrage */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Lädt Entitäten zu einer Liste von IDs
+     * @param <T> Entität
+     */
+    interface BulkQuery<T> {
+        /**
+         * @return gefundene Entitäten nach ID; fehlende IDs fehlen in der Map
+         */
+        Map<Long, T> load(List<Long> ids) throws DatabaseException;
+    }
+
+    private final BulkQuery<T> query;
+    private final Map<Long, LazyRef<T>> refs = new HashMap<>();
+
+    BatchLoader(BulkQuery<T> query) {
+        this.query = query;
+    }
+
+    /**
+     * Gibt den (noch nicht geladenen) Verweis auf eine ID zurück
+     */
+    synchronized LazyRef<T> ref(Long id) {
+        return refs.computeIfAbsent(id, key -> LazyRef.unresolved(key, this));
+    }
+
+    /**
+     * Vergisst alle Verweise, wenn es mehr als maxEntries sind
+     * Bereits ausgegebene Verweise bleiben gültig und werden bei Bedarf einzeln geladen.
+     */
+    synchronized void trimTo(int maxEntries) {
+        if (refs.size() > maxEntries) {
+            refs.clear();
+        }
+    }
+
+    @Override
+    public synchronized void resolve(LazyRef<T> requested) {
+        if (requested.isResolved()) {
+            return; // von einem vorherigen Batch mitgeladen
+        }
+
+        List<LazyRef<T>> pending = new ArrayList<>();
+        pending.add(requested);
+        for (LazyRef<T> ref : refs.values()) {
+            if (!ref.isResolved() && ref != requested) {
+                pending.add(ref);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<LazyRef<T>> batch = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (LazyRef<T> ref : batch) {
+                ids.add(ref.getId());
+            }
+            Map<Long, T> loaded;
+            try {
+                loaded = query.load(ids);
+            } catch (DatabaseException e) {
+                throw new UncheckedDatabaseException(e);
+            }
+            for (LazyRef<T> ref : batch) {
+                ref.complete(loaded.get(ref.getId()));
+            }
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package dao;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 import exceptions.DatabaseException;
 import model.*;
@@ -13,68 +21,268 @@ import util.DatabaseConfig;
  * DAO-Klasse für Booking-Entitäten.
  * Verbesserte Version mit konsistenter Fehlerbehandlung
  */
-public class BookingDAO implements GenericDAO<Booking, Long> {
+public class BookingDAO implements CriteriaDAO<Booking, Long> {
+
+    /**
+     * Belegung aller Sitzplätze des Saals eines Events.
+     * seatIds ist aufsteigend sortiert, booked[i] gehört zu seatIds[i].
+     */
+    public record SeatOccupancy(long[] seatIds, boolean[] booked) {
+    }
+
+    /**
+     * Laufende Reservierung mit Ablaufzeitpunkt
+     */
+    public record Hold(long bookingId, long eventId, long seatId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Filter- und sortierbare Spalten für findBy / count / aggregate
+     */
+    public enum Field implements Criteria.Field<Booking> {
+        ID("b.id"),
+        CUSTOMER_ID("b.customer_id"),
+        EVENT_ID("b.event_id"),
+        SEAT_ID("b.seat_id"),
+        STATUS("b.status"),
+        BOOKING_DATE("b.booking_date"),
+        PRICE("b.price");
+
+        private final String expression;
+
+        Field(String expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public String expression() {
+            return expression;
+        }
+    }
+
+    /** FROM-Klausel für Zählungen und Aggregate (Field verwendet nur Spalten von bookings) */
+    private static final String FROM_BOOKINGS = " FROM bookings b";
+
+    /** Maximale Anzahl IDs pro IN-Liste */
+    private static final int ID_CHUNK_SIZE = 500;
+
+    /** Maximale Anzahl gesammelter LazyRefs pro Zuordnung beim Streamen */
+    private static final int STREAM_CACHE_LIMIT = 10_000;
+
+    /**
+     * Lädt nur die Spalten der Buchung; Kunde, Event und Sitzplatz werden als
+     * LazyRef gesetzt und bei Bedarf gesammelt über die Associations nachgeladen.
+     */
+    private static final String SELECT_BOOKINGS = """
+            SELECT b.id, b.customer_id, b.event_id, b.seat_id, b.status, b.booking_date, b.hold_expires_at, b.price
+            FROM bookings b
+            """;
 
     private final DatabaseConfig dbConfig;
     private final CustomerDAO customerDAO;
     private final EventDAO eventDAO;
-    private final SeatDAO seatDAO;
 
     public BookingDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
         this.customerDAO = new CustomerDAO();
         this.eventDAO = new EventDAO();
-        this.seatDAO = new SeatDAO();
     }
 
     @Override
     public Booking save(Booking booking) throws DatabaseException {
-        String sql = "INSERT INTO bookings (customer_id, event_id, seat_id, status, booking_date, price) VALUES (?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO bookings (customer_id, event_id, seat_id, status, booking_date, hold_expires_at, price) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setLong(1, booking.getCustomerId());
+                stmt.setLong(2, booking.getEventId());
+                stmt.setLong(3, booking.getSeatId());
+                stmt.setString(4, booking.getStatus().name());
+                stmt.setTimestamp(5, Timestamp.valueOf(booking.getBookingDate()));
+                stmt.setTimestamp(6, booking.getHoldExpiresAt() != null ? Timestamp.valueOf(booking.getHoldExpiresAt()) : null);
+                stmt.setDouble(7, booking.getPrice());
+
+                int affectedRows = stmt.executeUpdate();
+                
+                if (affectedRows == 0) {
+                    throw new DatabaseException("Buchung konnte nicht gespeichert werden");
+                }
 
-            stmt.setLong(1, booking.getCustomer().getId());
-            stmt.setLong(2, booking.getEvent().getId());
-            stmt.setLong(3, booking.getSeat().getId());
-            stmt.setString(4, booking.getStatus().name());
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getBookingDate()));
-            stmt.setDouble(6, booking.getPrice());
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        booking.setId(rs.getLong(1));
+                    }
+                }
 
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new DatabaseException("Buchung konnte nicht gespeichert werden");
-            }
+                // Zähler in derselben Transaktion anpassen
+                BookingStatsDAO.Deltas deltas = new BookingStatsDAO.Deltas();
+                addInsertDelta(deltas, booking);
+                BookingStatsDAO.apply(conn, deltas);
 
-            try (ResultSet rs = stmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    booking.setId(rs.getLong(1));
-                }
+                conn.commit();
+                return booking;
+            } catch (SQLException | DatabaseException e) {
+                conn.rollback();
+                throw e;
             }
-            
-            return booking;
 
         } catch (SQLException e) {
             throw new DatabaseException("Fehler beim Speichern der Buchung", e);
         }
     }
 
+    private static void addInsertDelta(BookingStatsDAO.Deltas deltas, Booking booking) {
+        deltas.add(booking.getEventId(), booking.getCustomerId(),
+                BookingStatsDAO.activeDelta(null, booking.getStatus().name()));
+    }
+
+    /**
+     * Fügt eine Buchung ein, sofern der Sitz für das Event noch frei ist.
+     * Die Prüfung übernimmt der UNIQUE KEY unique_active_seat in einem
+     * einzigen Roundtrip, daher gibt es kein Zeitfenster zwischen Prüfung und Insert.
+     *
+     * @return true wenn gespeichert, false wenn der Sitz bereits aktiv gebucht ist
+     */
+    public boolean tryInsert(Booking booking) throws DatabaseException {
+        try {
+            save(booking);
+            return true;
+        } catch (DatabaseException e) {
+            if (isSeatConflict(e.getCause())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fügt mehrere Buchungen eines Events in einer Transaktion mit einem
+     * Multi-Row-INSERT ein. Entweder werden alle gespeichert oder keine.
+     *
+     * @param bookings Buchungen desselben Events
+     * @return leere Liste bei Erfolg, sonst die IDs der bereits belegten Sitze
+     */
+    public List<Long> tryInsertAll(List<Booking> bookings) throws DatabaseException {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        // Ein zweiter Versuch, falls der Konflikt beim Nachschlagen schon wieder aufgelöst ist
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try (Connection conn = dbConfig.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    insertAll(conn, bookings);
+                    conn.commit();
+                    return List.of();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    if (!isSeatConflict(e)) {
+                        throw e;
+                    }
+                }
+
+                List<Long> conflicts = findActiveSeatIds(conn, bookings);
+                if (!conflicts.isEmpty()) {
+                    return conflicts;
+                }
+            } catch (SQLException e) {
+                throw new DatabaseException("Fehler beim Speichern der Gruppenbuchung", e);
+            }
+        }
+        throw new DatabaseException("Gruppenbuchung konnte wegen gleichzeitiger Änderungen nicht gespeichert werden");
+    }
+
+    private void insertAll(Connection conn, List<Booking> bookings) throws SQLException {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO bookings (customer_id, event_id, seat_id, status, booking_date, hold_expires_at, price) VALUES ");
+        for (int i = 0; i < bookings.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (Booking booking : bookings) {
+                stmt.setLong(index++, booking.getCustomerId());
+                stmt.setLong(index++, booking.getEventId());
+                stmt.setLong(index++, booking.getSeatId());
+                stmt.setString(index++, booking.getStatus().name());
+                stmt.setTimestamp(index++, Timestamp.valueOf(booking.getBookingDate()));
+                stmt.setTimestamp(index++, booking.getHoldExpiresAt() != null ? Timestamp.valueOf(booking.getHoldExpiresAt()) : null);
+                stmt.setDouble(index++, booking.getPrice());
+            }
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                for (Booking booking : bookings) {
+                    if (keys.next()) {
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+        }
+
+        BookingStatsDAO.Deltas deltas = new BookingStatsDAO.Deltas();
+        for (Booking booking : bookings) {
+            addInsertDelta(deltas, booking);
+        }
+        BookingStatsDAO.apply(conn, deltas);
+    }
+
+    /**
+     * Ermittelt, welche der Sitze bereits aktiv für das Event gebucht sind
+     */
+    private List<Long> findActiveSeatIds(Connection conn, List<Booking> bookings) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(bookings.size(), "?"));
+        String sql = "SELECT seat_id FROM bookings WHERE event_id = ? AND status != 'CANCELLED' AND seat_id IN ("
+                + placeholders + ") ORDER BY seat_id";
+        List<Long> seatIds = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, bookings.get(0).getEventId());
+            for (int i = 0; i < bookings.size(); i++) {
+                stmt.setLong(i + 2, bookings.get(i).getSeatId());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seatIds.add(rs.getLong(1));
+                }
+            }
+        }
+        return seatIds;
+    }
+
+    /**
+     * Prüft ob ein SQL-Fehler eine Verletzung des aktiven Sitz-Schlüssels ist
+     */
+    static boolean isSeatConflict(Throwable cause) {
+        return cause instanceof SQLIntegrityConstraintViolationException
+                && cause.getMessage() != null
+                && cause.getMessage().contains("unique_active_seat");
+    }
+
     @Override
     public void update(Booking booking) throws DatabaseException {
         String sql = "UPDATE bookings SET status = ?, price = ? WHERE id = ?";
         
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, booking.getStatus().name());
-            stmt.setDouble(2, booking.getPrice());
-            stmt.setLong(3, booking.getId());
-
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new DatabaseException("Buchung mit ID " + booking.getId() + " nicht gefunden");
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                BookingStatsDAO.Deltas deltas = lockForChange(conn, booking.getId(), booking.getStatus().name());
+
+                stmt.setString(1, booking.getStatus().name());
+                stmt.setDouble(2, booking.getPrice());
+                stmt.setLong(3, booking.getId());
+                stmt.executeUpdate();
+
+                BookingStatsDAO.apply(conn, deltas);
+                conn.commit();
+            } catch (SQLException | DatabaseException | RuntimeException e) {
+                conn.rollback();
+                throw e;
             }
 
         } catch (SQLException e) {
@@ -86,14 +294,20 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
     public void delete(Long id) throws DatabaseException {
         String sql = "DELETE FROM bookings WHERE id = ?";
         
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setLong(1, id);
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new DatabaseException("Buchung mit ID " + id + " nicht gefunden");
+                BookingStatsDAO.Deltas deltas = lockForChange(conn, id, null);
+
+                stmt.setLong(1, id);
+                stmt.executeUpdate();
+
+                BookingStatsDAO.apply(conn, deltas);
+                conn.commit();
+            } catch (SQLException | DatabaseException e) {
+                conn.rollback();
+                throw e;
             }
 
         } catch (SQLException e) {
@@ -101,9 +315,39 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
         }
     }
 
+    /**
+     * Sperrt eine Buchung und berechnet die Zähleränderung für ihren neuen Status
+     * Der Statuswechsel wird gegen den gesperrten Stand geprüft, nicht gegen den beim Laden:
+     * so kann z.B. eine inzwischen abgelaufene Reservierung nicht mehr bestätigt und eine
+     * bereits stornierte Buchung nicht ein zweites Mal storniert werden.
+     * @param newStatus neuer Status oder null, wenn die Buchung gelöscht wird
+     * @throws IllegalStateException wenn der gespeicherte Status den Wechsel nicht erlaubt
+     */
+    private BookingStatsDAO.Deltas lockForChange(Connection conn, Long id, String newStatus)
+            throws SQLException, DatabaseException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT event_id, customer_id, status FROM bookings WHERE id = ? FOR UPDATE")) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new DatabaseException("Buchung mit ID " + id + " nicht gefunden");
+                }
+                String currentStatus = rs.getString("status");
+                if (newStatus != null
+                        && !BookingStatus.valueOf(currentStatus).canTransitionTo(BookingStatus.valueOf(newStatus))) {
+                    throw new IllegalStateException("Statuswechsel nicht erlaubt: " + currentStatus + " -> " + newStatus);
+                }
+                BookingStatsDAO.Deltas deltas = new BookingStatsDAO.Deltas();
+                deltas.add(rs.getLong("event_id"), rs.getLong("customer_id"),
+                        BookingStatsDAO.activeDelta(currentStatus, newStatus));
+                return deltas;
+            }
+        }
+    }
+
     @Override
     public Optional<Booking> findById(Long id) throws DatabaseException {
-        String sql = "SELECT * FROM bookings WHERE id = ?";
+        String sql = SELECT_BOOKINGS + "WHERE b.id = ?";
         
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -112,7 +356,7 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToBooking(rs));
+                    return Optional.of(mapRowToBooking(rs, new Associations()));
                 }
             }
             
@@ -125,16 +369,17 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
 
     @Override
     public List<Booking> findAll() throws DatabaseException {
-        String sql = "SELECT * FROM bookings ORDER BY booking_date DESC";
+        String sql = SELECT_BOOKINGS + "ORDER BY b.booking_date DESC";
         List<Booking> bookings = new ArrayList<>();
 
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
+            Associations associations = new Associations();
             while (rs.next()) {
                 try {
-                    bookings.add(mapRowToBooking(rs));
+                    bookings.add(mapRowToBooking(rs, associations));
                 } catch (DatabaseException e) {
                     // Logge Fehler aber fahre fort
                     System.err.println("⚠ Warnung: Buchung ID=" + rs.getLong("id") + " übersprungen: " + e.getMessage());
@@ -148,11 +393,82 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
         return bookings;
     }
 
+    @Override
+    public List<Booking> findBy(Criteria<Booking> criteria) throws DatabaseException {
+        String sql = SELECT_BOOKINGS + criteria.whereClause() + criteria.orderAndLimitClause("b.booking_date DESC");
+        List<Booking> bookings = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            criteria.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                Associations associations = new Associations();
+                while (rs.next()) {
+                    bookings.add(mapRowToBooking(rs, associations));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Laden der Buchungen", e);
+        }
+
+        return bookings;
+    }
+
+    /**
+     * Liest Buchungen als Stream mit konstantem Speicherbedarf
+     * Die gesammelten LazyRefs werden verworfen, sobald es STREAM_CACHE_LIMIT sind;
+     * gleiche Kunden oder Events sind deshalb nicht zwingend dieselben Objekte.
+     */
+    @Override
+    public Stream<Booking> streamBy(Criteria<Booking> criteria) throws DatabaseException {
+        String sql = SELECT_BOOKINGS + criteria.whereClause() + criteria.orderAndLimitClause("b.booking_date DESC");
+        Associations associations = new Associations();
+        return CriteriaQueries.stream(dbConfig, sql, criteria, rs -> {
+            associations.trimTo(STREAM_CACHE_LIMIT);
+            return mapRowToBooking(rs, associations);
+        }, "Buchungen");
+    }
+
+    /**
+     * Lädt eine Seite von Buchungen, neueste zuerst (booking_date DESC, id DESC)
+     * Nutzt idx_booking_date; die ID ist im Sekundärindex enthalten.
+     *
+     * @param filter zusätzliche Filter (z.B. Event), ohne Sortierung und Limit
+     * @param after letzte Buchung der vorherigen Seite, null für die erste Seite
+     * @param pageSize Anzahl Buchungen pro Seite
+     */
+    public Page<Booking> findPage(Criteria<Booking> filter, Booking after, int pageSize) throws DatabaseException {
+        Object[] lastKey = after == null ? null : new Object[] { after.getBookingDate(), after.getId() };
+        return Page.of(findBy(filter
+                .seek(lastKey, Criteria.Direction.DESC, Field.BOOKING_DATE, Field.ID)
+                .limit(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    public long count(Criteria<Booking> criteria) throws DatabaseException {
+        return CriteriaQueries.count(dbConfig, FROM_BOOKINGS, criteria, "Buchungen");
+    }
+
+    @Override
+    public OptionalDouble aggregate(Criteria.Aggregate function, Criteria.Field<Booking> field, Criteria<Booking> criteria)
+            throws DatabaseException {
+        return CriteriaQueries.aggregate(dbConfig, FROM_BOOKINGS, function, field, criteria, "Buchungen");
+    }
+
+    @Override
+    public List<Criteria.Group> groupBy(Criteria.Field<Booking> key, Criteria.Aggregate function,
+                                        Criteria.Field<Booking> value, Criteria<Booking> criteria) throws DatabaseException {
+        return CriteriaQueries.groupBy(dbConfig, FROM_BOOKINGS, key, function, value, criteria, "Buchungen");
+    }
+
     /**
      * Findet alle Buchungen eines bestimmten Kunden.
      */
     public List<Booking> findByCustomer(Long customerId) throws DatabaseException {
-        String sql = "SELECT * FROM bookings WHERE customer_id = ? ORDER BY booking_date DESC";
+        String sql = SELECT_BOOKINGS + "WHERE b.customer_id = ? ORDER BY b.booking_date DESC";
         List<Booking> bookings = new ArrayList<>();
         
         try (Connection conn = dbConfig.getConnection();
@@ -161,8 +477,9 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
             stmt.setLong(1, customerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                Associations associations = new Associations();
                 while (rs.next()) {
-                    bookings.add(mapRowToBooking(rs));
+                    bookings.add(mapRowToBooking(rs, associations));
                 }
             }
 
@@ -177,7 +494,7 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
      * Findet alle Buchungen eines bestimmten Events.
      */
     public List<Booking> findByEvent(Long eventId) throws DatabaseException {
-        String sql = "SELECT * FROM bookings WHERE event_id = ? ORDER BY booking_date DESC";
+        String sql = SELECT_BOOKINGS + "WHERE b.event_id = ? ORDER BY b.booking_date DESC";
         List<Booking> bookings = new ArrayList<>();
         
         try (Connection conn = dbConfig.getConnection();
@@ -186,8 +503,9 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
             stmt.setLong(1, eventId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                Associations associations = new Associations();
                 while (rs.next()) {
-                    bookings.add(mapRowToBooking(rs));
+                    bookings.add(mapRowToBooking(rs, associations));
                 }
             }
 
@@ -224,35 +542,345 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
     }
 
     /**
-     * Hilfsmethode zum Mapping eines ResultSets zu einer Booking-Entität.
+     * Lädt die Belegung aller Sitzplätze für ein Event mit einer einzigen Abfrage
      */
-    private Booking mapRowToBooking(ResultSet rs) throws DatabaseException, SQLException {
-        Booking booking = new Booking();
-        long bookingId = rs.getLong("id");
+    public SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException {
+        String sql = """
+                SELECT s.id, b.id AS booking_id
+                FROM events e
+                JOIN seats s ON s.hall_id = e.hall_id
+                LEFT JOIN bookings b ON b.event_id = e.id AND b.seat_id = s.id AND b.status != 'CANCELLED'
+                WHERE e.id = ?
+                ORDER BY s.id
+                """;
+        List<long[]> rows = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, eventId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long seatId = rs.getLong(1);
+                    rs.getLong(2);
+                    rows.add(new long[] { seatId, rs.wasNull() ? 0 : 1 });
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Laden der Sitzbelegung für Event ID " + eventId, e);
+        }
+
+        long[] seatIds = new long[rows.size()];
+        boolean[] booked = new boolean[rows.size()];
+        int count = 0;
+        for (long[] row : rows) {
+            // Mehrfachzeilen pro Sitz (z.B. Altbestand) zusammenfassen
+            if (count > 0 && seatIds[count - 1] == row[0]) {
+                booked[count - 1] |= row[1] == 1;
+                continue;
+            }
+            seatIds[count] = row[0];
+            booked[count] = row[1] == 1;
+            count++;
+        }
+        return new SeatOccupancy(Arrays.copyOf(seatIds, count), Arrays.copyOf(booked, count));
+    }
+
+    /**
+     * Lädt alle laufenden Reservierungen mit Ablaufzeitpunkt
+     */
+    public List<Hold> findActiveHolds() throws DatabaseException {
+        String sql = "SELECT id, event_id, seat_id, hold_expires_at FROM bookings WHERE status = 'RESERVED' AND hold_expires_at IS NOT NULL";
+        List<Hold> holds = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
 
-        // Customer laden
-        long customerId = rs.getLong("customer_id");
-        Optional<Customer> customer = customerDAO.findById(customerId);
-        if (customer.isEmpty()) {
-            throw new DatabaseException("Customer mit ID " + customerId + " nicht gefunden (Booking ID=" + bookingId + ")");
+            while (rs.next()) {
+                holds.add(mapRowToHold(rs));
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Laden der laufenden Reservierungen", e);
         }
-        booking.setCustomer(customer.get());
 
-        // Event laden
-        long eventId = rs.getLong("event_id");
-        Optional<Event> event = eventDAO.findById(eventId);
-        if (event.isEmpty()) {
-            throw new DatabaseException("Event mit ID " + eventId + " nicht gefunden (Booking ID=" + bookingId + ")");
+        return holds;
+    }
+
+    /**
+     * Storniert die angegebenen Reservierungen, sofern sie noch RESERVED und abgelaufen sind.
+     * Sperrt und aktualisiert die Zeilen mengenbasiert in einer Transaktion.
+     *
+     * @param bookingIds Kandidaten aus dem Timer
+     * @return tatsächlich stornierte Reservierungen
+     */
+    public List<Hold> expireHolds(List<Long> bookingIds) throws DatabaseException {
+        List<Hold> expired = new ArrayList<>();
+        for (int from = 0; from < bookingIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = bookingIds.subList(from, Math.min(from + ID_CHUNK_SIZE, bookingIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            expired.addAll(expireWhere("id IN (" + placeholders + ") AND ", chunk));
         }
-        booking.setEvent(event.get());
+        return expired;
+    }
+
+    /**
+     * Storniert alle abgelaufenen Reservierungen (z.B. beim Start der Anwendung)
+     * @return stornierte Reservierungen
+     */
+    public List<Hold> expireAllDueHolds() throws DatabaseException {
+        return expireWhere("", List.of());
+    }
+
+    private List<Hold> expireWhere(String idCondition, List<Long> ids) throws DatabaseException {
+        // Vergleichszeit aus Java, damit sie zur Schreibweise von hold_expires_at passt
+        String condition = "WHERE " + idCondition + "status = 'RESERVED' AND hold_expires_at <= ?";
+        List<Hold> expired = new ArrayList<>();
+        BookingStatsDAO.Deltas deltas = new BookingStatsDAO.Deltas();
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement select = conn.prepareStatement(
+                        "SELECT id, event_id, customer_id, seat_id, hold_expires_at FROM bookings " + condition + " FOR UPDATE")) {
+                    for (int i = 0; i < ids.size(); i++) {
+                        select.setLong(i + 1, ids.get(i));
+                    }
+                    select.setTimestamp(ids.size() + 1, Timestamp.valueOf(LocalDateTime.now()));
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            expired.add(mapRowToHold(rs));
+                            deltas.add(rs.getLong("event_id"), rs.getLong("customer_id"), -1);
+                        }
+                    }
+                }
 
-        // Seat laden
-        long seatId = rs.getLong("seat_id");
-        Optional<Seat> seat = seatDAO.findById(seatId);
-        if (seat.isEmpty()) {
-            throw new DatabaseException("Seat mit ID " + seatId + " nicht gefunden (Booking ID=" + bookingId + ")");
+                // Nur die gesperrten Zeilen aktualisieren
+                if (!expired.isEmpty()) {
+                    String placeholders = String.join(", ", Collections.nCopies(expired.size(), "?"));
+                    try (PreparedStatement update = conn.prepareStatement(
+                            "UPDATE bookings SET status = 'CANCELLED' WHERE id IN (" + placeholders + ")")) {
+                        for (int i = 0; i < expired.size(); i++) {
+                            update.setLong(i + 1, expired.get(i).bookingId());
+                        }
+                        update.executeUpdate();
+                    }
+                    BookingStatsDAO.apply(conn, deltas);
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Stornieren abgelaufener Reservierungen", e);
         }
-        booking.setSeat(seat.get());
+
+        return expired;
+    }
+
+    /**
+     * Schreibt den Stand von Buchungen mit vorgegebener ID (Projektion aus dem Buchungsjournal)
+     * Fehlende Buchungen werden eingefügt, vorhandene übernehmen Status und Haltefrist.
+     * Vorhandene und neue Buchungen werden getrennt geschrieben, damit ein Sitzkonflikt als
+     * SQLIntegrityConstraintViolationException auffällt und nicht eine fremde Buchung ändert.
+     * Die Zähler werden gegen den bisherigen Stand in der Datenbank fortgeschrieben,
+     * erneutes Schreiben desselben Stands ändert daher nichts.
+     * Stornierte Buchungen werden zuerst geschrieben, damit ein neu belegter Sitz
+     * nicht mit seiner alten Buchung kollidiert.
+     *
+     * @param bookings Buchungen mit ID, jede höchstens einmal
+     */
+    public void upsertAll(List<Booking> bookings) throws DatabaseException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        List<Booking> ordered = new ArrayList<>(bookings);
+        ordered.sort(Comparator.comparing((Booking b) -> b.getStatus() != BookingStatus.CANCELLED)
+                .thenComparing(Booking::getId));
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                BookingStatsDAO.Deltas deltas = new BookingStatsDAO.Deltas();
+                for (int from = 0; from < ordered.size(); from += ID_CHUNK_SIZE) {
+                    List<Booking> chunk = ordered.subList(from, Math.min(from + ID_CHUNK_SIZE, ordered.size()));
+                    Map<Long, String> stored = lockStatuses(conn, chunk);
+                    List<Booking> existing = new ArrayList<>();
+                    List<Booking> inserted = new ArrayList<>();
+                    for (Booking booking : chunk) {
+                        deltas.add(booking.getEventId(), booking.getCustomerId(),
+                                BookingStatsDAO.activeDelta(stored.get(booking.getId()), booking.getStatus().name()));
+                        if (stored.containsKey(booking.getId())) {
+                            existing.add(booking);
+                        } else {
+                            inserted.add(booking);
+                        }
+                    }
+                    // Zuerst ändern: Stornierungen geben Sitze frei, bevor neue Buchungen sie belegen
+                    updateChunk(conn, existing);
+                    insertChunk(conn, inserted);
+                }
+                BookingStatsDAO.apply(conn, deltas);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Übertragen der Buchungen in die Datenbank", e);
+        }
+    }
+
+    private Map<Long, String> lockStatuses(Connection conn, List<Booking> bookings) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(bookings.size(), "?"));
+        Map<Long, String> statuses = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, status FROM bookings WHERE id IN (" + placeholders + ") FOR UPDATE")) {
+            for (int i = 0; i < bookings.size(); i++) {
+                stmt.setLong(i + 1, bookings.get(i).getId());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    statuses.put(rs.getLong("id"), rs.getString("status"));
+                }
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Übernimmt Status und Haltefrist vorhandener Buchungen mit einer Anweisung
+     */
+    private void updateChunk(Connection conn, List<Booking> bookings) throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        String cases = String.join(" ", Collections.nCopies(bookings.size(), "WHEN ? THEN ?"));
+        String placeholders = String.join(", ", Collections.nCopies(bookings.size(), "?"));
+        String sql = "UPDATE bookings SET status = CASE id " + cases + " END, "
+                + "hold_expires_at = CASE id " + cases + " END "
+                + "WHERE id IN (" + placeholders + ")";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Booking booking : bookings) {
+                stmt.setLong(index++, booking.getId());
+                stmt.setString(index++, booking.getStatus().name());
+            }
+            for (Booking booking : bookings) {
+                stmt.setLong(index++, booking.getId());
+                stmt.setTimestamp(index++, booking.getHoldExpiresAt() != null ? Timestamp.valueOf(booking.getHoldExpiresAt()) : null);
+            }
+            for (Booking booking : bookings) {
+                stmt.setLong(index++, booking.getId());
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Fügt neue Buchungen mit einer Anweisung ein
+     */
+    private void insertChunk(Connection conn, List<Booking> bookings) throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO bookings (id, customer_id, event_id, seat_id, status, booking_date, hold_expires_at, price) VALUES ");
+        for (int i = 0; i < bookings.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Booking booking : bookings) {
+                stmt.setLong(index++, booking.getId());
+                stmt.setLong(index++, booking.getCustomerId());
+                stmt.setLong(index++, booking.getEventId());
+                stmt.setLong(index++, booking.getSeatId());
+                stmt.setString(index++, booking.getStatus().name());
+                stmt.setTimestamp(index++, Timestamp.valueOf(booking.getBookingDate()));
+                stmt.setTimestamp(index++, booking.getHoldExpiresAt() != null ? Timestamp.valueOf(booking.getHoldExpiresAt()) : null);
+                stmt.setDouble(index++, booking.getPrice());
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    private Hold mapRowToHold(ResultSet rs) throws SQLException {
+        return new Hold(
+                rs.getLong("id"),
+                rs.getLong("event_id"),
+                rs.getLong("seat_id"),
+                rs.getTimestamp("hold_expires_at").toLocalDateTime());
+    }
+
+    /**
+     * Neue Sammlung von Verweisen für Buchungen, die nicht aus dieser Klasse stammen
+     * (z.B. aus dem Buchungsjournal); pro Ergebnismenge eine Instanz verwenden.
+     */
+    public Associations newAssociations() {
+        return new Associations();
+    }
+
+    /**
+     * Batch-Loader für Kunde, Event und Sitzplatz einer Ergebnismenge
+     * Der erste Zugriff auf z.B. einen Kunden lädt die Kunden aller Buchungen
+     * dieser Abfrage mit einer IN-Abfrage; Sitzplätze kommen aus dem HallCatalog.
+     */
+    public final class Associations {
+        final BatchLoader<Customer> customers = new BatchLoader<>(customerDAO::findByIds);
+        final BatchLoader<Event> events = new BatchLoader<>(eventDAO::findByIds);
+        final BatchLoader<Seat> seats = new BatchLoader<>(BookingDAO::findSeats);
+
+        private Associations() {
+        }
+
+        /**
+         * Setzt Kunde, Event und Sitzplatz einer Buchung als LazyRef dieser Sammlung
+         */
+        public void attach(Booking booking, long customerId, long eventId, long seatId) {
+            booking.setCustomerRef(customers.ref(customerId));
+            booking.setEventRef(events.ref(eventId));
+            booking.setSeatRef(seats.ref(seatId));
+        }
+
+        /**
+         * Vergisst die gesammelten Verweise, wenn es mehr als maxEntries sind
+         */
+        void trimTo(int maxEntries) {
+            customers.trimTo(maxEntries);
+            events.trimTo(maxEntries);
+            seats.trimTo(maxEntries);
+        }
+    }
+
+    private static Map<Long, Seat> findSeats(List<Long> seatIds) throws DatabaseException {
+        Map<Long, Seat> catalogSeats = HallCatalog.getInstance().current().seatsById();
+        Map<Long, Seat> seats = new HashMap<>();
+        for (Long seatId : seatIds) {
+            Seat seat = catalogSeats.get(seatId);
+            if (seat != null) {
+                seats.put(seatId, seat);
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Hilfsmethode zum Mapping einer Zeile aus SELECT_BOOKINGS zu einer Booking-Entität.
+     * Kunde, Event und Sitzplatz werden nicht geladen, sondern als LazyRef gesetzt.
+     */
+    private Booking mapRowToBooking(ResultSet rs, Associations associations) throws DatabaseException, SQLException {
+        Booking booking = new Booking();
+        long bookingId = rs.getLong("id");
+
+        associations.attach(booking, rs.getLong("customer_id"), rs.getLong("event_id"), rs.getLong("seat_id"));
 
         // BookingStatus setzen
         try {
@@ -264,6 +892,8 @@ public class BookingDAO implements GenericDAO<Booking, Long> {
         // Weitere Felder
         booking.setId(bookingId);
         booking.setBookingDate(rs.getTimestamp("booking_date").toLocalDateTime());
+        Timestamp holdExpiresAt = rs.getTimestamp("hold_expires_at");
+        booking.setHoldExpiresAt(holdExpiresAt != null ? holdExpiresAt.toLocalDateTime() : null);
         booking.setPrice(rs.getDouble("price"));
 
         return booking;
@@ -0,0 +1,174 @@
+package dao;
+
+import exceptions.DatabaseException;
+import util.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DAO für die gepflegten Buchungszähler (event_stats, customer_stats)
+ * Die Zähler enthalten die Anzahl nicht stornierter Buchungen und werden von
+ * BookingDAO und EventDAO in derselben Transaktion wie die Buchung angepasst.
+ * verify() und rebuild() erkennen bzw. beheben Abweichungen.
+ */
+public class BookingStatsDAO {
+
+    /**
+     * Abweichung zwischen gespeichertem und tatsächlichem Zähler
+     * @param table event_stats oder customer_stats
+     * @param id Event- bzw. Kunden-ID
+     * @param stored gespeicherter Wert
+     * @param actual tatsächliche Anzahl aktiver Buchungen
+     */
+    public record Drift(String table, long id, int stored, int actual) {
+    }
+
+    /**
+     * Gesammelte Zähleränderungen einer Transaktion
+     * Sortierte Maps, damit Zeilen immer in derselben Reihenfolge gesperrt werden.
+     */
+    static final class Deltas {
+        final Map<Long, Integer> events = new TreeMap<>();
+        final Map<Long, Integer> customers = new TreeMap<>();
+
+        void add(long eventId, long customerId, int delta) {
+            if (delta != 0) {
+                events.merge(eventId, delta, Integer::sum);
+                customers.merge(customerId, delta, Integer::sum);
+            }
+        }
+    }
+
+    private final DatabaseConfig dbConfig;
+
+    public BookingStatsDAO() {
+        this.dbConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Zähleränderung für einen Statuswechsel (+1, -1 oder 0)
+     */
+    static int activeDelta(String oldStatus, String newStatus) {
+        return isActive(newStatus) - isActive(oldStatus);
+    }
+
+    private static int isActive(String status) {
+        return status != null && !"CANCELLED".equals(status) ? 1 : 0;
+    }
+
+    /**
+     * Schreibt gesammelte Änderungen auf der Verbindung der laufenden Transaktion
+     */
+    static void apply(Connection conn, Deltas deltas) throws SQLException {
+        upsert(conn, "event_stats", "event_id", deltas.events);
+        upsert(conn, "customer_stats", "customer_id", deltas.customers);
+    }
+
+    /**
+     * Verringert die Kundenzähler um die aktiven Buchungen eines Events,
+     * bevor das Event (und per CASCADE seine Buchungen) gelöscht wird
+     */
+    static void releaseEvent(Connection conn, long eventId) throws SQLException {
+        String sql = """
+                UPDATE customer_stats cs
+                JOIN (SELECT customer_id, COUNT(*) AS n FROM bookings
+                      WHERE event_id = ? AND status != 'CANCELLED' GROUP BY customer_id) b
+                  ON b.customer_id = cs.customer_id
+                SET cs.active_bookings = cs.active_bookings - b.n
+                """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, eventId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void upsert(Connection conn, String table, String keyColumn, Map<Long, Integer> deltas)
+            throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(table).append(" (").append(keyColumn).append(", active_bookings) VALUES ");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE active_bookings = active_bookings + VALUES(active_bookings)");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+                stmt.setLong(index++, entry.getKey());
+                stmt.setInt(index++, entry.getValue());
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Vergleicht alle Zähler mit den tatsächlichen Buchungen
+     * @return gefundene Abweichungen (leer, wenn alles stimmt)
+     */
+    public List<Drift> verify() throws DatabaseException {
+        List<Drift> drifts = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            collectDrifts(stmt, "event_stats", "events", "event_id", drifts);
+            collectDrifts(stmt, "customer_stats", "customers", "customer_id", drifts);
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Prüfen der Buchungszähler", e);
+        }
+
+        return drifts;
+    }
+
+    private void collectDrifts(Statement stmt, String table, String ownerTable, String keyColumn, List<Drift> drifts)
+            throws SQLException {
+        String sql = "SELECT o.id, COALESCE(s.active_bookings, 0) AS stored, COALESCE(b.n, 0) AS actual "
+                + "FROM " + ownerTable + " o "
+                + "LEFT JOIN " + table + " s ON s." + keyColumn + " = o.id "
+                + "LEFT JOIN (SELECT " + keyColumn + ", COUNT(*) AS n FROM bookings "
+                + "WHERE status != 'CANCELLED' GROUP BY " + keyColumn + ") b ON b." + keyColumn + " = o.id "
+                + "WHERE COALESCE(s.active_bookings, 0) <> COALESCE(b.n, 0) ORDER BY o.id";
+
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                drifts.add(new Drift(table, rs.getLong("id"), rs.getInt("stored"), rs.getInt("actual")));
+            }
+        }
+    }
+
+    /**
+     * Berechnet alle Zähler aus den Buchungen neu (in einer Transaktion)
+     */
+    public void rebuild() throws DatabaseException {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM event_stats");
+                stmt.executeUpdate("INSERT INTO event_stats (event_id, active_bookings) "
+                        + "SELECT event_id, COUNT(*) FROM bookings WHERE status != 'CANCELLED' GROUP BY event_id");
+                stmt.executeUpdate("DELETE FROM customer_stats");
+                stmt.executeUpdate("INSERT INTO customer_stats (customer_id, active_bookings) "
+                        + "SELECT customer_id, COUNT(*) FROM bookings WHERE status != 'CANCELLED' GROUP BY customer_id");
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Neuaufbau der Buchungszähler", e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typisierte Abfragekriterien für CriteriaDAO.findBy / count.
+ * Filter, Sortierung, Limit und Offset werden zu parametrisiertem SQL
+ * übersetzt und in der Datenbank ausgewertet statt in Java-Streams.
+ * Spalten werden nur über die Field-Enums der DAOs angegeben, Werte
+ * ausschließlich als Parameter gebunden.
+ *
+ * @param <T> Entität, auf die sich die Kriterien beziehen
+ */
+public final class Criteria<T> {
+
+    /**
+     * Filter- und sortierbare Spalte einer Entität
+     * @param <T> zugehörige Entität
+     */
+    public interface Field<T> {
+        /** SQL-Ausdruck der Spalte in der Abfrage des DAOs */
+        String expression();
+    }
+
+    /** Sortierrichtung */
+    public enum Direction { ASC, DESC }
+
+    /** Aggregatfunktionen für CriteriaDAO.aggregate / groupBy */
+    public enum Aggregate { COUNT, SUM, AVG, MIN, MAX }
+
+    /**
+     * Ergebniszeile einer gruppierten Aggregation
+     * @param key Gruppierungswert (z.B. Event-ID oder Status)
+     * @param count Anzahl Zeilen der Gruppe
+     * @param value Wert der Aggregatfunktion
+     */
+    public record Group(Object key, long count, double value) {
+    }
+
+    private record Condition(String sql, List<Object> params) {
+    }
+
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<String> orders = new ArrayList<>();
+    private int limit = -1;
+    private int offset = 0;
+
+    private Criteria() {
+    }
+
+    /**
+     * Erstellt leere Kriterien (entspricht findAll)
+     */
+    public static <T> Criteria<T> of(Class<T> entityType) {
+        return new Criteria<>();
+    }
+
+    // ================= Filter =================
+
+    public Criteria<T> eq(Field<T> field, Object value) {
+        return compare(field, "=", value);
+    }
+
+    public Criteria<T> ne(Field<T> field, Object value) {
+        return compare(field, "<>", value);
+    }
+
+    public Criteria<T> gt(Field<T> field, Object value) {
+        return compare(field, ">", value);
+    }
+
+    public Criteria<T> ge(Field<T> field, Object value) {
+        return compare(field, ">=", value);
+    }
+
+    public Criteria<T> lt(Field<T> field, Object value) {
+        return compare(field, "<", value);
+    }
+
+    public Criteria<T> le(Field<T> field, Object value) {
+        return compare(field, "<=", value);
+    }
+
+    /**
+     * Wert liegt im geschlossenen Intervall [from, to]
+     */
+    public Criteria<T> between(Field<T> field, Object from, Object to) {
+        conditions.add(new Condition(field.expression() + " BETWEEN ? AND ?", List.of(from, to)));
+        return this;
+    }
+
+    /**
+     * Wert ist einer der angegebenen Werte; eine leere Liste trifft keine Zeile
+     */
+    public Criteria<T> in(Field<T> field, Collection<?> values) {
+        if (values.isEmpty()) {
+            conditions.add(new Condition("1 = 0", List.of()));
+        } else {
+            conditions.add(new Condition(field.expression() + " IN ("
+                    + String.join(", ", Collections.nCopies(values.size(), "?")) + ")", List.copyOf(values)));
+        }
+        return this;
+    }
+
+    /**
+     * Spalte enthält den Text (Groß-/Kleinschreibung laut Kollation der Spalte)
+     */
+    public Criteria<T> contains(Field<T> field, String text) {
+        return containsAny(text, List.of(field));
+    }
+
+    /**
+     * Mindestens eine der Spalten enthält den Text
+     */
+    @SafeVarargs
+    public final Criteria<T> containsAny(String text, Field<T>... fields) {
+        List<Field<T>> fieldList = new ArrayList<>(fields.length);
+        for (Field<T> field : fields) {
+            fieldList.add(field);
+        }
+        return containsAny(text, fieldList);
+    }
+
+    private Criteria<T> containsAny(String text, List<Field<T>> fields) {
+        String pattern = "%" + escapeLike(text) + "%";
+        List<String> parts = new ArrayList<>(fields.size());
+        for (Field<T> field : fields) {
+            parts.add(field.expression() + " LIKE ?");
+        }
+        conditions.add(new Condition("(" + String.join(" OR ", parts) + ")",
+                Collections.nCopies(fields.size(), pattern)));
+        return this;
+    }
+
+    private Criteria<T> compare(Field<T> field, String operator, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Vergleichswert darf nicht null sein: " + field);
+        }
+        conditions.add(new Condition(field.expression() + " " + operator + " ?", List.of(value)));
+        return this;
+    }
+
+    // ================= Sortierung und Seiten =================
+
+    public Criteria<T> orderBy(Field<T> field, Direction direction) {
+        orders.add(field.expression() + " " + direction.name());
+        return this;
+    }
+
+    public Criteria<T> orderBy(Field<T> field) {
+        return orderBy(field, Direction.ASC);
+    }
+
+    /**
+     * Keyset-Paginierung: sortiert nach den Feldern und liefert nur Zeilen nach dem Cursor.
+     * Das letzte Feld muss eindeutig sein (z.B. die ID), damit keine Zeile doppelt oder gar nicht erscheint.
+     * Statt OFFSET wird eine Bereichsbedingung erzeugt, die den Sortier-Index direkt nutzt.
+     *
+     * @param lastKey Werte der Felder in der letzten Zeile der vorherigen Seite, null für die erste Seite
+     * @param direction Sortierrichtung aller Felder
+     * @param fields Sortierfelder
+     */
+    @SafeVarargs
+    public final Criteria<T> seek(Object[] lastKey, Direction direction, Field<T>... fields) {
+        for (Field<T> field : fields) {
+            orderBy(field, direction);
+        }
+        if (lastKey == null) {
+            return this;
+        }
+        if (lastKey.length != fields.length) {
+            throw new IllegalArgumentException("Cursor passt nicht zu den Sortierfeldern");
+        }
+
+        // (f1 >= ? AND (f1 > ? OR (f1 = ? AND (f2 > ? OR (f2 = ? AND f3 > ?)))))
+        String op = direction == Direction.ASC ? ">" : "<";
+        List<Object> params = new ArrayList<>();
+        params.add(lastKey[0]);
+        StringBuilder sql = new StringBuilder("(" + fields[0].expression() + " " + op + "= ? AND ");
+        for (int i = 0; i < fields.length; i++) {
+            String column = fields[i].expression();
+            if (i < fields.length - 1) {
+                sql.append("(").append(column).append(" ").append(op).append(" ? OR (")
+                        .append(column).append(" = ? AND ");
+                params.add(lastKey[i]);
+                params.add(lastKey[i]);
+            } else {
+                sql.append(column).append(" ").append(op).append(" ?");
+                params.add(lastKey[i]);
+            }
+        }
+        sql.append("))".repeat(fields.length - 1)).append(")");
+
+        conditions.add(new Condition(sql.toString(), params));
+        return this;
+    }
+
+    public Criteria<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit darf nicht negativ sein");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public Criteria<T> offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset darf nicht negativ sein");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    // ================= Übersetzung =================
+
+    /**
+     * WHERE-Klausel mit führendem Leerzeichen oder leerer String
+     */
+    String whereClause() {
+        if (conditions.isEmpty()) {
+            return "";
+        }
+        List<String> parts = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            parts.add(condition.sql());
+        }
+        return " WHERE " + String.join(" AND ", parts);
+    }
+
+    /**
+     * ORDER BY, LIMIT und OFFSET
+     * @param defaultOrder Sortierung, wenn keine angegeben wurde (z.B. "e.date_time")
+     */
+    String orderAndLimitClause(String defaultOrder) {
+        StringBuilder sql = new StringBuilder();
+        if (!orders.isEmpty()) {
+            sql.append(" ORDER BY ").append(String.join(", ", orders));
+        } else if (defaultOrder != null) {
+            sql.append(" ORDER BY ").append(defaultOrder);
+        }
+        if (limit >= 0) {
+            sql.append(" LIMIT ").append(limit);
+        }
+        if (offset > 0) {
+            if (limit < 0) {
+                // MySQL kennt OFFSET nur zusammen mit LIMIT
+                sql.append(" LIMIT ").append(Long.MAX_VALUE);
+            }
+            sql.append(" OFFSET ").append(offset);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Bindet alle Parameter ab Index 1
+     * @return nächster freier Parameterindex
+     */
+    int bind(PreparedStatement stmt) throws SQLException {
+        int index = 1;
+        for (Condition condition : conditions) {
+            for (Object param : condition.params()) {
+                if (param instanceof LocalDateTime dateTime) {
+                    stmt.setTimestamp(index++, Timestamp.valueOf(dateTime));
+                } else if (param instanceof Enum<?> constant) {
+                    stmt.setString(index++, constant.name());
+                } else {
+                    stmt.setObject(index++, param);
+                }
+            }
+        }
+        return index;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
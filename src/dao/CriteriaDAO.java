@@ -0,0 +1,63 @@
+package dao;
+
+import exceptions.DatabaseException;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
+
+/**
+ * CRUD-Operationen plus Abfragen über Criteria (Filter, Streams, Aggregationen).
+ * Nur DAOs, deren Abfragen in CriteriaQueries abgebildet sind, implementieren dieses Interface.
+ *
+ * @param <T>  Typ der Entität
+ * @param <ID> Typ des Identifikators
+ */
+public interface CriteriaDAO<T, ID> extends GenericDAO<T, ID> {
+
+    /**
+     * Findet alle Entitäten, die den Kriterien entsprechen.
+     * Filter, Sortierung und Limit werden in der Datenbank ausgewertet.
+     * @param criteria Filter, Sortierung, Limit und Offset
+     * @return passende Entitäten
+     */
+    List<T> findBy(Criteria<T> criteria) throws DatabaseException;
+
+    /**
+     * Liest die passenden Entitäten als Stream, ohne das Ergebnis im Speicher zu sammeln.
+     * Der Stream hält eine Datenbankverbindung und muss geschlossen werden (try-with-resources).
+     * Fehler beim Lesen werden als UncheckedDatabaseException geworfen.
+     * @param criteria Filter, Sortierung und Limit
+     * @return Stream der passenden Entitäten
+     */
+    Stream<T> streamBy(Criteria<T> criteria) throws DatabaseException;
+
+    /**
+     * Zählt die Entitäten, die den Kriterien entsprechen (Sortierung und Limit werden ignoriert).
+     * @param criteria Filter
+     * @return Anzahl passender Entitäten
+     */
+    long count(Criteria<T> criteria) throws DatabaseException;
+
+    /**
+     * Berechnet eine Aggregatfunktion (COUNT, SUM, AVG, MIN, MAX) in der Datenbank.
+     * @param function Aggregatfunktion
+     * @param field aggregierte Spalte
+     * @param criteria Filter (Sortierung und Limit werden ignoriert)
+     * @return Ergebnis oder leer, wenn keine Zeile passt
+     */
+    OptionalDouble aggregate(Criteria.Aggregate function, Criteria.Field<T> field, Criteria<T> criteria)
+            throws DatabaseException;
+
+    /**
+     * Gruppiert die passenden Entitäten und berechnet pro Gruppe Anzahl und Aggregat.
+     * Sortierung und Limit der Criteria gelten für die Gruppen und dürfen nur die Gruppierungsspalte verwenden.
+     * @param key Gruppierungsspalte
+     * @param function Aggregatfunktion für value
+     * @param value aggregierte Spalte
+     * @param criteria Filter
+     * @return eine Zeile pro Gruppe
+     */
+    List<Criteria.Group> groupBy(Criteria.Field<T> key, Criteria.Aggregate function,
+                                 Criteria.Field<T> value, Criteria<T> criteria) throws DatabaseException;
+}
@@ -0,0 +1,190 @@
+package dao;
+
+import exceptions.DatabaseException;
+import exceptions.UncheckedDatabaseException;
+import util.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Gemeinsame Umsetzung von count, aggregate und groupBy für die DAOs.
+ * Jedes DAO liefert nur seine FROM-Klausel; Filter kommen aus den Criteria.
+ */
+final class CriteriaQueries {
+
+    /**
+     * Mappt die aktuelle Zeile eines ResultSets
+     * @param <T> Entität
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException, DatabaseException;
+    }
+
+    private CriteriaQueries() {
+    }
+
+    /**
+     * Öffnet einen Stream über eine Abfrage, der die Zeilen einzeln vom Server liest
+     * Die Verbindung bleibt bis zum Schließen des Streams belegt; Aufrufer müssen
+     * den Stream mit try-with-resources schließen. Fehler beim Lesen werden als
+     * UncheckedDatabaseException geworfen.
+     * @param sql vollständige Abfrage, Parameter werden aus den Criteria gebunden
+     * @param entityName Name für Fehlermeldungen (z.B. "Buchungen")
+     */
+    static <T> Stream<T> stream(DatabaseConfig dbConfig, String sql, Criteria<?> criteria,
+                                RowMapper<T> mapper, String entityName) throws DatabaseException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = dbConfig.getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL Connector/J: Zeilen einzeln lesen statt das ganze Ergebnis im Speicher zu puffern
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            criteria.bind(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            DatabaseException failure = new DatabaseException("Fehler beim Lesen der " + entityName, e);
+            closeAll(failure, rs, stmt, conn);
+            throw failure;
+        }
+
+        ResultSet cursor = rs;
+        AutoCloseable[] resources = { rs, stmt, conn };
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedDatabaseException(
+                            new DatabaseException("Fehler beim Lesen der " + entityName, e));
+                } catch (DatabaseException e) {
+                    throw new UncheckedDatabaseException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            DatabaseException failure = new DatabaseException("Fehler beim Schließen des Streams der " + entityName);
+            closeAll(failure, resources);
+            if (failure.getSuppressed().length > 0) {
+                throw new UncheckedDatabaseException(failure);
+            }
+        });
+    }
+
+    /**
+     * Schließt alle Ressourcen in der angegebenen Reihenfolge und sammelt Fehler in failure
+     */
+    private static void closeAll(Exception failure, AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Zählt die passenden Zeilen
+     * @param from FROM-Klausel mit führendem Leerzeichen
+     * @param entityName Name für Fehlermeldungen (z.B. "Events")
+     */
+    static long count(DatabaseConfig dbConfig, String from, Criteria<?> criteria, String entityName)
+            throws DatabaseException {
+        String sql = "SELECT COUNT(*)" + from + criteria.whereClause();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            criteria.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Zählen der " + entityName, e);
+        }
+    }
+
+    /**
+     * Berechnet eine Aggregatfunktion über alle passenden Zeilen
+     * @return Ergebnis oder leer, wenn keine Zeile passt (außer bei COUNT)
+     */
+    static OptionalDouble aggregate(DatabaseConfig dbConfig, String from, Criteria.Aggregate function,
+                                    Criteria.Field<?> field, Criteria<?> criteria, String entityName)
+            throws DatabaseException {
+        String sql = "SELECT " + function.name() + "(" + field.expression() + ")" + from + criteria.whereClause();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            criteria.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                double value = rs.getDouble(1);
+                return rs.wasNull() ? OptionalDouble.empty() : OptionalDouble.of(value);
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Auswerten der " + entityName, e);
+        }
+    }
+
+    /**
+     * Gruppiert die passenden Zeilen und berechnet pro Gruppe Anzahl und Aggregat
+     * Sortierung und Limit der Criteria beziehen sich auf die Gruppen.
+     */
+    static List<Criteria.Group> groupBy(DatabaseConfig dbConfig, String from, Criteria.Field<?> key,
+                                        Criteria.Aggregate function, Criteria.Field<?> value,
+                                        Criteria<?> criteria, String entityName) throws DatabaseException {
+        String sql = "SELECT " + key.expression() + ", COUNT(*), "
+                + function.name() + "(" + value.expression() + ")"
+                + from + criteria.whereClause()
+                + " GROUP BY " + key.expression()
+                + criteria.orderAndLimitClause(null);
+        List<Criteria.Group> groups = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            criteria.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    groups.add(new Criteria.Group(rs.getObject(1), rs.getLong(2), rs.getDouble(3)));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Gruppieren der " + entityName, e);
+        }
+
+        return groups;
+    }
+}
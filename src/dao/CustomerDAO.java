@@ -6,14 +6,46 @@ import util.DatabaseConfig;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 /**
  * DAO für Customer-Entitäten
  * Verbesserte Version mit konsistenter Fehlerbehandlung
  */
-public class CustomerDAO implements GenericDAO<Customer, Long> {
+public class CustomerDAO implements CriteriaDAO<Customer, Long> {
+
+    /**
+     * Filter- und sortierbare Spalten für findBy / count
+     */
+    public enum Field implements Criteria.Field<Customer> {
+        ID("c.id"),
+        FIRST_NAME("c.first_name"),
+        LAST_NAME("c.last_name"),
+        EMAIL("c.email"),
+        PHONE("c.phone"),
+        ACTIVE_BOOKINGS("COALESCE(s.active_bookings, 0)");
+
+        private final String expression;
+
+        Field(String expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public String expression() {
+            return expression;
+        }
+    }
+
+    /** Kunden mit aktiven Buchungen aus dem gepflegten Zähler (customer_stats) */
+    private static final String FROM_WITH_STATS = " FROM customers c"
+            + " LEFT JOIN customer_stats s ON s.customer_id = c.id";
 
     private final DatabaseConfig dbConfig;
 
@@ -127,29 +159,85 @@ public class CustomerDAO implements GenericDAO<Customer, Long> {
 
     @Override
     public List<Customer> findAll() throws DatabaseException {
-        // Query optimized to include active bookings count
-        String sql = """
-                    SELECT c.*,
-                    (SELECT COUNT(*) FROM bookings b WHERE b.customer_id = c.id AND b.status != 'CANCELLED') as active_booking_count
-                    FROM customers c ORDER BY c.last_name, c.first_name
-                """;
+        return findBy(Criteria.of(Customer.class));
+    }
+
+    @Override
+    public List<Customer> findBy(Criteria<Customer> criteria) throws DatabaseException {
+        String sql = "SELECT c.*, COALESCE(s.active_bookings, 0) as active_booking_count"
+                + FROM_WITH_STATS + criteria.whereClause() + criteria.orderAndLimitClause("c.last_name, c.first_name");
         List<Customer> customers = new ArrayList<>();
 
         try (Connection conn = dbConfig.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            criteria.bind(stmt);
 
-            while (rs.next()) {
-                customers.add(mapResultSetToCustomer(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapResultSetToCustomer(rs));
+                }
             }
 
         } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Laden aller Kunden", e);
+            throw new DatabaseException("Fehler beim Laden der Kunden", e);
         }
 
         return customers;
     }
 
+    @Override
+    public Stream<Customer> streamBy(Criteria<Customer> criteria) throws DatabaseException {
+        String sql = "SELECT c.*, COALESCE(s.active_bookings, 0) as active_booking_count"
+                + FROM_WITH_STATS + criteria.whereClause() + criteria.orderAndLimitClause("c.last_name, c.first_name");
+        return CriteriaQueries.stream(dbConfig, sql, criteria, this::mapResultSetToCustomer, "Kunden");
+    }
+
+    /**
+     * Lädt eine Seite von Kunden, sortiert nach Nachname, Vorname und ID
+     * Nutzt idx_name; die ID ist im Sekundärindex enthalten.
+     *
+     * @param filter zusätzliche Filter, ohne Sortierung und Limit
+     * @param after letzter Kunde der vorherigen Seite, null für die erste Seite
+     * @param pageSize Anzahl Kunden pro Seite
+     */
+    public Page<Customer> findPage(Criteria<Customer> filter, Customer after, int pageSize) throws DatabaseException {
+        Object[] lastKey = after == null ? null
+                : new Object[] { after.getLastName(), after.getFirstName(), after.getId() };
+        return Page.of(findBy(filter
+                .seek(lastKey, Criteria.Direction.ASC, Field.LAST_NAME, Field.FIRST_NAME, Field.ID)
+                .limit(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    public long count(Criteria<Customer> criteria) throws DatabaseException {
+        return CriteriaQueries.count(dbConfig, FROM_WITH_STATS, criteria, "Kunden");
+    }
+
+    @Override
+    public OptionalDouble aggregate(Criteria.Aggregate function, Criteria.Field<Customer> field, Criteria<Customer> criteria)
+            throws DatabaseException {
+        return CriteriaQueries.aggregate(dbConfig, FROM_WITH_STATS, function, field, criteria, "Kunden");
+    }
+
+    @Override
+    public List<Criteria.Group> groupBy(Criteria.Field<Customer> key, Criteria.Aggregate function,
+                                        Criteria.Field<Customer> value, Criteria<Customer> criteria) throws DatabaseException {
+        return CriteriaQueries.groupBy(dbConfig, FROM_WITH_STATS, key, function, value, criteria, "Kunden");
+    }
+
+    /**
+     * Lädt mehrere Kunden mit einer Abfrage (für LazyRefs von Buchungen)
+     * @return gefundene Kunden nach ID
+     */
+    public Map<Long, Customer> findByIds(Collection<Long> ids) throws DatabaseException {
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Customer customer : findBy(Criteria.of(Customer.class).in(Field.ID, ids))) {
+            customers.put(customer.getId(), customer);
+        }
+        return customers;
+    }
+
     /**
      * Sucht einen Kunden nach E-Mail
      */
@@ -178,33 +266,8 @@ public class CustomerDAO implements GenericDAO<Customer, Long> {
      * Sucht Kunden nach Name (Teilstring-Suche)
      */
     public List<Customer> searchByName(String searchTerm) throws DatabaseException {
-        String sql = """
-                    SELECT c.*,
-                    (SELECT COUNT(*) FROM bookings b WHERE b.customer_id = c.id AND b.status != 'CANCELLED') as active_booking_count
-                    FROM customers c
-                    WHERE c.first_name LIKE ? OR c.last_name LIKE ?
-                    ORDER BY c.last_name, c.first_name
-                """;
-        List<Customer> customers = new ArrayList<>();
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            String searchPattern = "%" + searchTerm + "%";
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    customers.add(mapResultSetToCustomer(rs));
-                }
-            }
-
-        } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Suchen nach Namen", e);
-        }
-
-        return customers;
+        return findBy(Criteria.of(Customer.class)
+                .containsAny(searchTerm, Field.FIRST_NAME, Field.LAST_NAME));
     }
 
     /**
@@ -6,27 +6,66 @@ import model.Hall;
 import util.DatabaseConfig;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 /**
  * DAO für Event-Entitäten
  * Verbesserte Version mit konsistenter Fehlerbehandlung
  */
-public class EventDAO implements GenericDAO<Event, Long> {
+public class EventDAO implements CriteriaDAO<Event, Long> {
+
+    /**
+     * Filter- und sortierbare Spalten für findBy / count
+     */
+    public enum Field implements Criteria.Field<Event> {
+        ID("e.id"),
+        NAME("e.name"),
+        DESCRIPTION("e.description"),
+        DATE_TIME("e.date_time"),
+        CATEGORY("e.category"),
+        BASE_PRICE("e.base_price"),
+        HALL_ID("e.hall_id"),
+        BOOKED_COUNT("COALESCE(s.active_bookings, 0)"),
+        AVAILABLE_SEATS("h.capacity - COALESCE(s.active_bookings, 0)");
+
+        private final String expression;
+
+        Field(String expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public String expression() {
+            return expression;
+        }
+    }
+
+    /** Events mit gebuchten Plätzen aus dem gepflegten Zähler (event_stats) */
+    private static final String FROM_WITH_STATS = " FROM events e"
+            + " JOIN halls h ON h.id = e.hall_id"
+            + " LEFT JOIN event_stats s ON s.event_id = e.id";
 
     private final DatabaseConfig dbConfig;
     private final HallDAO hallDAO;
+    private final HallCatalog hallCatalog;
 
     public EventDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
         this.hallDAO = new HallDAO();
+        this.hallCatalog = HallCatalog.getInstance();
     }
 
     @Override
     public Event save(Event event) throws DatabaseException {
-        String sql = "INSERT INTO events (name, description, date_time, category, base_price, hall_id) VALUES (?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO events (name, description, date_time, category, base_price, hall_id, hold_ttl_minutes) VALUES (?, ?, ?, ?, ?, ?, ?)";
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -37,6 +76,7 @@ public class EventDAO implements GenericDAO<Event, Long> {
             stmt.setString(4, event.getCategory());
             stmt.setDouble(5, event.getBasePrice());
             stmt.setLong(6, event.getHall().getId());
+            stmt.setObject(7, event.getHoldTtlMinutes(), Types.INTEGER);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -59,7 +99,7 @@ public class EventDAO implements GenericDAO<Event, Long> {
 
     @Override
     public void update(Event event) throws DatabaseException {
-        String sql = "UPDATE events SET name = ?, description = ?, date_time = ?, category = ?, base_price = ?, hall_id = ? WHERE id = ?";
+        String sql = "UPDATE events SET name = ?, description = ?, date_time = ?, category = ?, base_price = ?, hall_id = ?, hold_ttl_minutes = ? WHERE id = ?";
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -70,7 +110,8 @@ public class EventDAO implements GenericDAO<Event, Long> {
             stmt.setString(4, event.getCategory());
             stmt.setDouble(5, event.getBasePrice());
             stmt.setLong(6, event.getHall().getId());
-            stmt.setLong(7, event.getId());
+            stmt.setObject(7, event.getHoldTtlMinutes(), Types.INTEGER);
+            stmt.setLong(8, event.getId());
 
             int affectedRows = stmt.executeUpdate();
 
@@ -87,14 +128,24 @@ public class EventDAO implements GenericDAO<Event, Long> {
     public void delete(Long id) throws DatabaseException {
         String sql = "DELETE FROM events WHERE id = ?";
 
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setLong(1, id);
-            int affectedRows = stmt.executeUpdate();
+                // Buchungen werden per CASCADE gelöscht, Kundenzähler vorher anpassen
+                BookingStatsDAO.releaseEvent(conn, id);
 
-            if (affectedRows == 0) {
-                throw new DatabaseException("Event mit ID " + id + " nicht gefunden");
+                stmt.setLong(1, id);
+                int affectedRows = stmt.executeUpdate();
+
+                if (affectedRows == 0) {
+                    throw new DatabaseException("Event mit ID " + id + " nicht gefunden");
+                }
+
+                conn.commit();
+            } catch (SQLException | DatabaseException e) {
+                conn.rollback();
+                throw e;
             }
 
         } catch (SQLException e) {
@@ -126,40 +177,19 @@ public class EventDAO implements GenericDAO<Event, Long> {
 
     @Override
     public List<Event> findAll() throws DatabaseException {
-        // Query optimized to include booked count
-        String sql = """
-                    SELECT e.*,
-                    (SELECT COUNT(*) FROM bookings b WHERE b.event_id = e.id AND b.status != 'CANCELLED') as booked_count
-                    FROM events e ORDER BY e.date_time
-                """;
-        List<Event> events = new ArrayList<>();
-
-        try (Connection conn = dbConfig.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                events.add(mapResultSetToEvent(rs));
-            }
-
-        } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Laden aller Events", e);
-        }
-
-        return events;
+        return findBy(Criteria.of(Event.class));
     }
 
-    /**
-     * Sucht Events nach Kategorie
-     */
-    public List<Event> findByCategory(String category) throws DatabaseException {
-        String sql = "SELECT * FROM events WHERE category = ? ORDER BY date_time";
+    @Override
+    public List<Event> findBy(Criteria<Event> criteria) throws DatabaseException {
+        String sql = "SELECT e.*, COALESCE(s.active_bookings, 0) as booked_count"
+                + FROM_WITH_STATS + criteria.whereClause() + criteria.orderAndLimitClause("e.date_time");
         List<Event> events = new ArrayList<>();
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, category);
+            criteria.bind(stmt);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -168,59 +198,82 @@ public class EventDAO implements GenericDAO<Event, Long> {
             }
 
         } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Suchen nach Kategorie", e);
+            throw new DatabaseException("Fehler beim Laden der Events", e);
         }
 
         return events;
     }
 
+    @Override
+    public Stream<Event> streamBy(Criteria<Event> criteria) throws DatabaseException {
+        String sql = "SELECT e.*, COALESCE(s.active_bookings, 0) as booked_count"
+                + FROM_WITH_STATS + criteria.whereClause() + criteria.orderAndLimitClause("e.date_time");
+        return CriteriaQueries.stream(dbConfig, sql, criteria, this::mapResultSetToEvent, "Events");
+    }
+
     /**
-     * Sucht Events nach Name (Teilstring-Suche)
+     * Lädt eine Seite von Events, sortiert nach Datum und ID
+     * Nutzt idx_date; die ID ist im Sekundärindex enthalten.
+     *
+     * @param filter zusätzliche Filter (z.B. nur zukünftige), ohne Sortierung und Limit
+     * @param after letztes Event der vorherigen Seite, null für die erste Seite
+     * @param pageSize Anzahl Events pro Seite
      */
-    public List<Event> searchByName(String searchTerm) throws DatabaseException {
-        String sql = "SELECT * FROM events WHERE name LIKE ? OR description LIKE ? ORDER BY date_time";
-        List<Event> events = new ArrayList<>();
+    public Page<Event> findPage(Criteria<Event> filter, Event after, int pageSize) throws DatabaseException {
+        Object[] lastKey = after == null ? null : new Object[] { after.getDateTime(), after.getId() };
+        return Page.of(findBy(filter
+                .seek(lastKey, Criteria.Direction.ASC, Field.DATE_TIME, Field.ID)
+                .limit(pageSize + 1)), pageSize);
+    }
 
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+    @Override
+    public long count(Criteria<Event> criteria) throws DatabaseException {
+        return CriteriaQueries.count(dbConfig, FROM_WITH_STATS, criteria, "Events");
+    }
 
-            String searchPattern = "%" + searchTerm + "%";
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
+    @Override
+    public OptionalDouble aggregate(Criteria.Aggregate function, Criteria.Field<Event> field, Criteria<Event> criteria)
+            throws DatabaseException {
+        return CriteriaQueries.aggregate(dbConfig, FROM_WITH_STATS, function, field, criteria, "Events");
+    }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    events.add(mapResultSetToEvent(rs));
-                }
-            }
+    @Override
+    public List<Criteria.Group> groupBy(Criteria.Field<Event> key, Criteria.Aggregate function,
+                                        Criteria.Field<Event> value, Criteria<Event> criteria) throws DatabaseException {
+        return CriteriaQueries.groupBy(dbConfig, FROM_WITH_STATS, key, function, value, criteria, "Events");
+    }
 
-        } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Suchen nach Events", e);
+    /**
+     * Lädt mehrere Events mit einer Abfrage (für LazyRefs von Buchungen)
+     * @return gefundene Events nach ID
+     */
+    public Map<Long, Event> findByIds(Collection<Long> ids) throws DatabaseException {
+        Map<Long, Event> events = new HashMap<>();
+        for (Event event : findBy(Criteria.of(Event.class).in(Field.ID, ids))) {
+            events.put(event.getId(), event);
         }
-
         return events;
     }
 
     /**
-     * Findet zukünftige Events (ab jetzt)
+     * Sucht Events nach Kategorie
      */
-    public List<Event> findUpcomingEvents() throws DatabaseException {
-        String sql = "SELECT * FROM events WHERE date_time >= NOW() ORDER BY date_time";
-        List<Event> events = new ArrayList<>();
-
-        try (Connection conn = dbConfig.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                events.add(mapResultSetToEvent(rs));
-            }
+    public List<Event> findByCategory(String category) throws DatabaseException {
+        return findBy(Criteria.of(Event.class).eq(Field.CATEGORY, category));
+    }
 
-        } catch (SQLException e) {
-            throw new DatabaseException("Fehler beim Laden zukünftiger Events", e);
-        }
+    /**
+     * Sucht Events nach Name (Teilstring-Suche)
+     */
+    public List<Event> searchByName(String searchTerm) throws DatabaseException {
+        return findBy(Criteria.of(Event.class).containsAny(searchTerm, Field.NAME, Field.DESCRIPTION));
+    }
 
-        return events;
+    /**
+     * Findet zukünftige Events (ab jetzt)
+     */
+    public List<Event> findUpcomingEvents() throws DatabaseException {
+        return findBy(Criteria.of(Event.class).ge(Field.DATE_TIME, LocalDateTime.now()));
     }
 
     /**
@@ -234,6 +287,7 @@ public class EventDAO implements GenericDAO<Event, Long> {
         event.setDateTime(rs.getTimestamp("date_time").toLocalDateTime());
         event.setCategory(rs.getString("category"));
         event.setBasePrice(rs.getDouble("base_price"));
+        event.setHoldTtlMinutes(rs.getObject("hold_ttl_minutes", Integer.class));
 
         // Set transient booked count if available in RS
         try {
@@ -244,7 +298,7 @@ public class EventDAO implements GenericDAO<Event, Long> {
 
         // Lade zugehörigen Saal
         Long hallId = rs.getLong("hall_id");
-        Optional<Hall> hall = hallDAO.findById(hallId);
+        Optional<Hall> hall = findHall(hallId);
 
         if (hall.isPresent()) {
             event.setHall(hall.get());
@@ -254,4 +308,12 @@ public class EventDAO implements GenericDAO<Event, Long> {
 
         return event;
     }
+
+    /**
+     * Sucht den Saal im Katalog, bei unbekannter ID in der Datenbank
+     */
+    private Optional<Hall> findHall(Long hallId) throws DatabaseException {
+        Optional<Hall> hall = hallCatalog.findHall(hallId);
+        return hall.isPresent() ? hall : hallDAO.findById(hallId);
+    }
 }
@@ -0,0 +1,256 @@
+package dao;
+
+import exceptions.DatabaseException;
+import model.BookingStatus;
+import util.DatabaseConfig;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * DAO für Datenexporte
+ * Liest flache Zeilen mit einem Streaming-Cursor und reicht sie direkt an einen
+ * RowSink weiter; es werden keine Entitäten aufgebaut und nichts gesammelt.
+ */
+public class ExportDAO {
+
+    /** Abstand, in dem der Fortschritt gemeldet wird (Zeilen) */
+    private static final int PROGRESS_INTERVAL = 10_000;
+
+    /**
+     * Exportierbare Datenbestände, jeweils nach ID sortiert (Primärschlüssel, kein Filesort)
+     */
+    public enum Dataset {
+        BOOKINGS("Buchungen", "buchungen", """
+                SELECT b.id, b.booking_date, b.status, b.price, b.hold_expires_at,
+                       b.customer_id, c.first_name, c.last_name, c.email,
+                       b.event_id, e.name AS event_name, e.date_time AS event_date,
+                       b.seat_id, s.row_label, s.seat_number
+                FROM bookings b
+                JOIN customers c ON c.id = b.customer_id
+                JOIN events e ON e.id = b.event_id
+                JOIN seats s ON s.id = b.seat_id
+                ORDER BY b.id
+                """, "SELECT COUNT(*) FROM bookings"),
+        CUSTOMERS("Kunden", "kunden", """
+                SELECT c.id, c.first_name, c.last_name, c.email, c.phone,
+                       COALESCE(s.active_bookings, 0) AS active_bookings
+                FROM customers c
+                LEFT JOIN customer_stats s ON s.customer_id = c.id
+                ORDER BY c.id
+                """, "SELECT COUNT(*) FROM customers"),
+        EVENTS("Events", "events", """
+                SELECT e.id, e.name, e.category, e.date_time, e.base_price,
+                       e.hall_id, h.name AS hall_name, h.capacity,
+                       COALESCE(s.active_bookings, 0) AS booked
+                FROM events e
+                JOIN halls h ON h.id = e.hall_id
+                LEFT JOIN event_stats s ON s.event_id = e.id
+                ORDER BY e.id
+                """, "SELECT COUNT(*) FROM events");
+
+        private final String displayName;
+        private final String fileName;
+        private final String sql;
+        private final String countSql;
+
+        Dataset(String displayName, String fileName, String sql, String countSql) {
+            this.displayName = displayName;
+            this.fileName = fileName;
+            this.sql = sql;
+            this.countSql = countSql;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /** Vorgeschlagener Dateiname ohne Endung */
+        public String getFileName() {
+            return fileName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Empfänger der exportierten Zeilen
+     */
+    public interface RowSink {
+        /**
+         * Wird einmal vor der ersten Zeile aufgerufen
+         * @param columns Spaltennamen
+         */
+        void begin(List<String> columns) throws IOException;
+
+        /**
+         * Eine Zeile; das Array wird für die nächste Zeile wiederverwendet
+         * @param values Werte wie von ResultSet.getObject geliefert (null erlaubt)
+         */
+        void row(Object[] values) throws IOException;
+    }
+
+    /**
+     * Empfänger für den Buchungs-Snapshot; Werte werden typisiert übergeben
+     */
+    public interface BookingRowSink {
+        /**
+         * Wird einmal vor der ersten Zeile aufgerufen
+         * @param rowCount genaue Anzahl der folgenden Zeilen
+         */
+        void begin(long rowCount) throws IOException;
+
+        void row(long id, long eventId, long seatId, long customerId, BookingStatus status,
+                 LocalDateTime bookingDate, LocalDateTime eventDate, long priceCents, String category)
+                throws IOException;
+    }
+
+    private static final String SNAPSHOT_COUNT_SQL = """
+            SELECT COUNT(*)
+            FROM bookings b
+            JOIN events e ON e.id = b.event_id
+            """;
+
+    private static final String SNAPSHOT_SQL = """
+            SELECT b.id, b.event_id, b.seat_id, b.customer_id, b.status, b.booking_date, b.price,
+                   e.date_time AS event_date, e.category
+            FROM bookings b
+            JOIN events e ON e.id = b.event_id
+            ORDER BY b.id
+            """;
+
+    private final DatabaseConfig dbConfig;
+
+    public ExportDAO() {
+        this.dbConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Anzahl Zeilen eines Datenbestands (für die Fortschrittsanzeige)
+     */
+    public long count(Dataset dataset) throws DatabaseException {
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(dataset.countSql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Zählen der " + dataset.getDisplayName(), e);
+        }
+    }
+
+    /**
+     * Exportiert alle Zeilen eines Datenbestands
+     * @param sink Empfänger der Zeilen
+     * @param progress erhält regelmäßig die Anzahl bisher exportierter Zeilen
+     * @param cancellation Abbruch-Token oder null
+     * @return Anzahl exportierter Zeilen
+     * @throws IOException wenn der Empfänger nicht schreiben kann
+     */
+    public long export(Dataset dataset, RowSink sink, LongConsumer progress, QueryCancellation cancellation)
+            throws DatabaseException, IOException {
+        long rows = 0;
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(dataset.sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // MySQL Connector/J: Zeilen einzeln lesen statt das ganze Ergebnis zu puffern
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            if (cancellation != null) {
+                cancellation.register(stmt);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+                List<String> columns = new ArrayList<>(columnCount);
+                for (int i = 1; i <= columnCount; i++) {
+                    columns.add(meta.getColumnLabel(i));
+                }
+                sink.begin(columns);
+
+                Object[] values = new Object[columnCount];
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = rs.getObject(i + 1);
+                    }
+                    sink.row(values);
+                    if (++rows % PROGRESS_INTERVAL == 0) {
+                        progress.accept(rows);
+                    }
+                }
+            } finally {
+                if (cancellation != null) {
+                    cancellation.unregister(stmt);
+                }
+            }
+
+        } catch (SQLException e) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new DatabaseException("Export der " + dataset.getDisplayName() + " abgebrochen", e);
+            }
+            throw new DatabaseException("Fehler beim Export der " + dataset.getDisplayName(), e);
+        }
+
+        progress.accept(rows);
+        return rows;
+    }
+
+    /**
+     * Liest alle Buchungen für einen Snapshot
+     * Zählung und Auslesen laufen in einer lesenden Transaktion; unter REPEATABLE READ
+     * (InnoDB-Standard) sehen beide Abfragen denselben Datenstand, die angekündigte
+     * Zeilenzahl stimmt daher genau.
+     * @return Anzahl gelesener Buchungen
+     */
+    public long exportBookingSnapshot(BookingRowSink sink) throws DatabaseException, IOException {
+        long rows = 0;
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setReadOnly(true);
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement count = conn.prepareStatement(SNAPSHOT_COUNT_SQL);
+                 ResultSet rs = count.executeQuery()) {
+                rs.next();
+                sink.begin(rs.getLong(1));
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(SNAPSHOT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        BigDecimal price = rs.getBigDecimal("price");
+                        sink.row(rs.getLong("id"), rs.getLong("event_id"), rs.getLong("seat_id"),
+                                rs.getLong("customer_id"), BookingStatus.valueOf(rs.getString("status")),
+                                rs.getTimestamp("booking_date").toLocalDateTime(),
+                                rs.getTimestamp("event_date").toLocalDateTime(),
+                                price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact(),
+                                rs.getString("category"));
+                        rows++;
+                    }
+                }
+            }
+            conn.commit();
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Erstellen des Buchungs-Snapshots", e);
+        }
+
+        return rows;
+    }
+}
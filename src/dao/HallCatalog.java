@@ -0,0 +1,163 @@
+package dao;
+
+import exceptions.DatabaseException;
+import model.Hall;
+import model.Seat;
+import util.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Katalog aller Säle und ihrer Sitzplätze im Speicher
+ * Singleton Pattern, damit alle DAOs und Services denselben Stand lesen.
+ * Der Katalog wird als unveränderlicher Snapshot veröffentlicht; Lesezugriffe
+ * brauchen weder Sperren noch Abfragen. Nach jeder Änderung an Sälen oder
+ * Sitzplätzen wird ein neuer Snapshot gebaut und atomar ausgetauscht.
+ * Die enthaltenen Hall- und Seat-Objekte werden geteilt und dürfen nicht verändert werden.
+ */
+public class HallCatalog {
+
+    /**
+     * Unveränderlicher Stand des Katalogs
+     * @param halls Säle nach Namen sortiert
+     * @param hallsById Säle nach ID
+     * @param seatsByHall Sitzplätze pro Saal, sortiert nach Reihe und Nummer
+     * @param seatsById Sitzplätze nach ID
+     */
+    public record Snapshot(List<Hall> halls, Map<Long, Hall> hallsById, Map<Long, List<Seat>> seatsByHall,
+                           Map<Long, Seat> seatsById) {
+    }
+
+    private static HallCatalog instance;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final DatabaseConfig dbConfig;
+
+    private HallCatalog() {
+        this.dbConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück
+     */
+    public static synchronized HallCatalog getInstance() {
+        if (instance == null) {
+            instance = new HallCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Gibt den aktuellen Snapshot zurück und lädt ihn beim ersten Zugriff
+     * @throws DatabaseException Bei Datenbankfehlern
+     */
+    public Snapshot current() throws DatabaseException {
+        Snapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Baut den Katalog neu auf und veröffentlicht ihn
+     * Nur nach Änderungen an Sälen oder Sitzplätzen aufrufen.
+     * @return der neue Snapshot
+     * @throws DatabaseException Bei Datenbankfehlern
+     */
+    public synchronized Snapshot refresh() throws DatabaseException {
+        Snapshot loaded = load();
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    /**
+     * Findet einen Saal im Katalog
+     */
+    public Optional<Hall> findHall(Long hallId) throws DatabaseException {
+        return Optional.ofNullable(current().hallsById().get(hallId));
+    }
+
+    /**
+     * Findet einen Sitzplatz im Katalog
+     */
+    public Optional<Seat> findSeat(Long seatId) throws DatabaseException {
+        return Optional.ofNullable(current().seatsById().get(seatId));
+    }
+
+    /**
+     * Gibt alle Säle nach Namen sortiert zurück
+     */
+    public List<Hall> getHalls() throws DatabaseException {
+        return current().halls();
+    }
+
+    /**
+     * Gibt die Sitzplätze eines Saals zurück (leere Liste, wenn unbekannt)
+     */
+    public List<Seat> getSeats(Long hallId) throws DatabaseException {
+        return current().seatsByHall().getOrDefault(hallId, List.of());
+    }
+
+    /**
+     * Lädt Säle und Sitzplätze mit je einer Abfrage
+     */
+    private Snapshot load() throws DatabaseException {
+        Map<Long, Hall> hallsById = new LinkedHashMap<>();
+        Map<Long, List<Seat>> seatsByHall = new HashMap<>();
+        Map<Long, Seat> seatsById = new HashMap<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            try (ResultSet rs = stmt.executeQuery("SELECT id, name, capacity FROM halls ORDER BY name")) {
+                while (rs.next()) {
+                    Hall hall = new Hall();
+                    hall.setId(rs.getLong("id"));
+                    hall.setName(rs.getString("name"));
+                    hall.setCapacity(rs.getInt("capacity"));
+                    hallsById.put(hall.getId(), hall);
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT id, row_label, seat_number, hall_id FROM seats ORDER BY hall_id, row_label, seat_number")) {
+                while (rs.next()) {
+                    Hall hall = hallsById.get(rs.getLong("hall_id"));
+                    if (hall == null) {
+                        continue;
+                    }
+                    Seat seat = new Seat(rs.getString("row_label"), rs.getInt("seat_number"), hall);
+                    seat.setId(rs.getLong("id"));
+                    seatsByHall.computeIfAbsent(hall.getId(), id -> new ArrayList<>()).add(seat);
+                    seatsById.put(seat.getId(), seat);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Laden des Saal-Katalogs", e);
+        }
+
+        // Einfrieren: Listen unveränderlich, Seat-Listen auch am Saal hinterlegen
+        Map<Long, List<Seat>> frozenSeats = new HashMap<>();
+        for (Hall hall : hallsById.values()) {
+            List<Seat> seats = List.copyOf(seatsByHall.getOrDefault(hall.getId(), List.of()));
+            hall.setSeats(seats);
+            frozenSeats.put(hall.getId(), seats);
+        }
+
+        return new Snapshot(
+                List.copyOf(hallsById.values()),
+                Collections.unmodifiableMap(hallsById),
+                Collections.unmodifiableMap(frozenSeats),
+                Collections.unmodifiableMap(seatsById));
+    }
+}
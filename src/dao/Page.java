@@ -0,0 +1,32 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * Eine Seite einer Keyset-Abfrage
+ * Die nächste Seite wird mit dem letzten Element dieser Seite als Cursor geladen.
+ *
+ * @param items Elemente der Seite in Sortierreihenfolge
+ * @param hasMore true wenn nach dieser Seite weitere Elemente folgen
+ * @param <T> Typ der Elemente
+ */
+public record Page<T>(List<T> items, boolean hasMore) {
+
+    /**
+     * Erstellt eine Seite aus pageSize + 1 geladenen Zeilen
+     * Die überzählige Zeile zeigt nur an, dass es weitergeht.
+     */
+    static <T> Page<T> of(List<T> rows, int pageSize) {
+        if (rows.size() > pageSize) {
+            return new Page<>(List.copyOf(rows.subList(0, pageSize)), true);
+        }
+        return new Page<>(List.copyOf(rows), false);
+    }
+
+    /**
+     * Letztes Element der Seite (Cursor für die nächste Seite) oder null
+     */
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Abbruch-Token für laufende Abfragen
+ * Ein DAO meldet jede Anweisung vor dem Ausführen an; cancel() bricht die gerade
+ * laufende Anweisung per Statement.cancel() in der Datenbank ab und verhindert
+ * alle weiteren Abfragen mit diesem Token.
+ */
+public final class QueryCancellation {
+
+    private final AtomicReference<Statement> running = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Bricht die laufende und alle folgenden Abfragen ab
+     */
+    public void cancel() {
+        cancelled = true;
+        Statement statement = running.get();
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // Anweisung bereits beendet oder Verbindung geschlossen
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Meldet eine Anweisung vor dem Ausführen an
+     * @throws SQLException wenn bereits abgebrochen wurde
+     */
+    void register(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Abfrage abgebrochen");
+        }
+        running.set(statement);
+        // cancel() kann zwischen Prüfung und Anmeldung gelaufen sein
+        if (cancelled) {
+            running.compareAndSet(statement, null);
+            throw new SQLException("Abfrage abgebrochen");
+        }
+    }
+
+    /**
+     * Meldet eine beendete Anweisung ab
+     */
+    void unregister(Statement statement) {
+        running.compareAndSet(statement, null);
+    }
+}
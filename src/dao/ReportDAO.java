@@ -0,0 +1,308 @@
+package dao;
+
+import exceptions.DatabaseException;
+import model.BookingStatus;
+import util.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO für Berichte und Kennzahlen
+ * Alle Werte werden in der Datenbank berechnet; es werden keine Entitäten geladen.
+ * Jede Abfrage hat ein Zeitlimit und kann über ein QueryCancellation-Token abgebrochen werden.
+ */
+public class ReportDAO {
+
+    /**
+     * Kennzahlen für das Statistik-Panel
+     * @param totalRevenue Umsatz aller bestätigten Buchungen
+     * @param totalBookings Anzahl aller Buchungen
+     * @param activeBookings Anzahl nicht stornierter Buchungen
+     * @param totalCustomers Anzahl Kunden
+     * @param totalEvents Anzahl Events
+     * @param upcomingEvents Anzahl zukünftiger Events
+     */
+    public record Overview(double totalRevenue, long totalBookings, long activeBookings,
+                           long totalCustomers, long totalEvents, long upcomingEvents) {
+    }
+
+    /**
+     * Anzahl Kunden und Events
+     */
+    public record EntityCounts(long customers, long events, long upcomingEvents) {
+    }
+
+    /**
+     * Buchungen eines Events mit einem Status (Startwerte für BookingStatistics)
+     * @param status Status oder null für Events ohne Buchungen
+     * @param amount Summe der Preise
+     */
+    public record BookingTotals(long eventId, String eventName, String category,
+                                BookingStatus status, long count, double amount) {
+    }
+
+    /**
+     * Umsatz eines Events
+     * @param eventName Name des Events
+     * @param confirmedBookings Anzahl bestätigter Buchungen
+     * @param revenue Umsatz der bestätigten Buchungen
+     */
+    public record EventRevenue(long eventId, String eventName, long confirmedBookings, double revenue) {
+    }
+
+    /**
+     * Anzahl aktiver Buchungen eines Events
+     */
+    public record EventBookings(long eventId, String eventName, long bookings) {
+    }
+
+    /**
+     * Anzahl Buchungen mit einem Status
+     */
+    public record StatusCount(BookingStatus status, long count) {
+    }
+
+    /**
+     * Anzahl aktiver Buchungen eines Kunden
+     */
+    public record CustomerBookings(long customerId, String fullName, long activeBookings) {
+    }
+
+    /**
+     * Auslastung eines Events
+     * @param capacity Plätze im Saal
+     * @param booked aktive Buchungen
+     */
+    public record EventOccupancy(long eventId, String eventName, int capacity, int booked) {
+
+        public int available() {
+            return capacity - booked;
+        }
+
+        /**
+         * Auslastung in Prozent (0 bei Sälen ohne Plätze)
+         */
+        public double rate() {
+            return capacity > 0 ? booked * 100.0 / capacity : 0.0;
+        }
+    }
+
+    /** Maximale Laufzeit einer Berichtsabfrage */
+    private static final int QUERY_TIMEOUT_SECONDS = 30;
+
+    private final DatabaseConfig dbConfig;
+    private final QueryCancellation cancellation; // null = nicht abbrechbar
+
+    public ReportDAO() {
+        this(null);
+    }
+
+    private ReportDAO(QueryCancellation cancellation) {
+        this.dbConfig = DatabaseConfig.getInstance();
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Gibt ein DAO zurück, dessen Abfragen über das Token abgebrochen werden können
+     */
+    public ReportDAO withCancellation(QueryCancellation cancellation) {
+        return new ReportDAO(cancellation);
+    }
+
+    /**
+     * Lädt alle Kennzahlen des Statistik-Panels mit einer einzigen Abfrage
+     */
+    public Overview loadOverview() throws DatabaseException {
+        String sql = """
+                SELECT b.revenue, b.total, b.active,
+                       (SELECT COUNT(*) FROM customers) AS customers,
+                       e.total AS events, e.upcoming
+                FROM (SELECT COALESCE(SUM(CASE WHEN status = 'CONFIRMED' THEN price END), 0) AS revenue,
+                             COUNT(*) AS total,
+                             COUNT(CASE WHEN status != 'CANCELLED' THEN 1 END) AS active
+                      FROM bookings) b
+                CROSS JOIN (SELECT COUNT(*) AS total,
+                                   COUNT(CASE WHEN date_time > ? THEN 1 END) AS upcoming
+                            FROM events) e
+                """;
+        return queryRows(sql, rs -> new Overview(
+                        rs.getDouble("revenue"),
+                        rs.getLong("total"),
+                        rs.getLong("active"),
+                        rs.getLong("customers"),
+                        rs.getLong("events"),
+                        rs.getLong("upcoming")),
+                "Fehler beim Laden der Kennzahlen", LocalDateTime.now()).get(0);
+    }
+
+    /**
+     * Zählt Kunden, Events und zukünftige Events mit einer Abfrage
+     */
+    public EntityCounts loadEntityCounts() throws DatabaseException {
+        String sql = """
+                SELECT (SELECT COUNT(*) FROM customers) AS customers,
+                       COUNT(*) AS events,
+                       COUNT(CASE WHEN date_time > ? THEN 1 END) AS upcoming
+                FROM events
+                """;
+        return queryRows(sql, rs -> new EntityCounts(
+                rs.getLong("customers"), rs.getLong("events"), rs.getLong("upcoming")),
+                "Fehler beim Zählen der Kunden und Events", LocalDateTime.now()).get(0);
+    }
+
+    /**
+     * Anzahl und Preissumme der Buchungen pro Event und Status in einer Abfrage
+     * Events ohne Buchungen erscheinen mit Status null.
+     */
+    public List<BookingTotals> loadBookingTotals() throws DatabaseException {
+        String sql = """
+                SELECT e.id, e.name, e.category, b.status, COUNT(b.id) AS n, COALESCE(SUM(b.price), 0) AS amount
+                FROM events e
+                LEFT JOIN bookings b ON b.event_id = e.id
+                GROUP BY e.id, e.name, e.category, b.status
+                """;
+        return queryRows(sql, rs -> {
+            String status = rs.getString("status");
+            return new BookingTotals(rs.getLong("id"), rs.getString("name"), rs.getString("category"),
+                    status != null ? BookingStatus.valueOf(status) : null, rs.getLong("n"), rs.getDouble("amount"));
+        }, "Fehler beim Laden der Buchungssummen");
+    }
+
+    /**
+     * Umsatz bestätigter Buchungen pro Event, auch Events ohne Buchungen, nach Datum sortiert
+     */
+    public List<EventRevenue> loadRevenueByEvent() throws DatabaseException {
+        String sql = """
+                SELECT e.id, e.name, COUNT(b.id) AS bookings, COALESCE(SUM(b.price), 0) AS revenue
+                FROM events e
+                LEFT JOIN bookings b ON b.event_id = e.id AND b.status = 'CONFIRMED'
+                GROUP BY e.id, e.name, e.date_time
+                ORDER BY e.date_time, e.id
+                """;
+        return queryRows(sql, rs -> new EventRevenue(
+                rs.getLong("id"), rs.getString("name"), rs.getLong("bookings"), rs.getDouble("revenue")),
+                "Fehler beim Laden des Umsatzes pro Event");
+    }
+
+    /**
+     * Events mit den meisten aktiven Buchungen
+     * @param limit Anzahl Events
+     */
+    public List<EventBookings> loadTopEvents(int limit) throws DatabaseException {
+        String sql = """
+                SELECT e.id, e.name, s.active_bookings
+                FROM event_stats s
+                JOIN events e ON e.id = s.event_id
+                WHERE s.active_bookings > 0
+                ORDER BY s.active_bookings DESC, e.id
+                LIMIT ?
+                """;
+        return queryRows(sql, rs -> new EventBookings(
+                rs.getLong("id"), rs.getString("name"), rs.getLong("active_bookings")),
+                "Fehler beim Laden der Top-Events", limit);
+    }
+
+    /**
+     * Anzahl aktiver (nicht stornierter) Buchungen pro Status
+     */
+    public List<StatusCount> loadStatusDistribution() throws DatabaseException {
+        String sql = """
+                SELECT status, COUNT(*) AS n
+                FROM bookings
+                WHERE status != 'CANCELLED'
+                GROUP BY status
+                ORDER BY status
+                """;
+        return queryRows(sql, rs -> new StatusCount(
+                BookingStatus.valueOf(rs.getString("status")), rs.getLong("n")),
+                "Fehler beim Laden der Status-Verteilung");
+    }
+
+    /**
+     * Kunden mit den meisten aktiven Buchungen
+     * @param limit Anzahl Kunden
+     */
+    public List<CustomerBookings> loadTopCustomers(int limit) throws DatabaseException {
+        String sql = """
+                SELECT c.id, c.first_name, c.last_name, s.active_bookings
+                FROM customer_stats s
+                JOIN customers c ON c.id = s.customer_id
+                WHERE s.active_bookings > 0
+                ORDER BY s.active_bookings DESC, c.last_name, c.first_name
+                LIMIT ?
+                """;
+        return queryRows(sql, rs -> new CustomerBookings(
+                rs.getLong("id"), rs.getString("first_name") + " " + rs.getString("last_name"),
+                rs.getLong("active_bookings")),
+                "Fehler beim Laden der Top-Kunden", limit);
+    }
+
+    /**
+     * Auslastung aller zukünftigen Events, nach Datum sortiert
+     */
+    public List<EventOccupancy> loadUpcomingOccupancy() throws DatabaseException {
+        String sql = """
+                SELECT e.id, e.name, h.capacity, COALESCE(s.active_bookings, 0) AS booked
+                FROM events e
+                JOIN halls h ON h.id = e.hall_id
+                LEFT JOIN event_stats s ON s.event_id = e.id
+                WHERE e.date_time > ?
+                ORDER BY e.date_time, e.id
+                """;
+        return queryRows(sql, rs -> new EventOccupancy(
+                rs.getLong("id"), rs.getString("name"), rs.getInt("capacity"), rs.getInt("booked")),
+                "Fehler beim Laden der Auslastung", LocalDateTime.now());
+    }
+
+    /**
+     * Führt eine Berichtsabfrage aus und mappt jede Zeile
+     */
+    private <R> List<R> queryRows(String sql, CriteriaQueries.RowMapper<R> mapper, String errorMessage,
+                                  Object... params) throws DatabaseException {
+        List<R> rows = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            for (int i = 0; i < params.length; i++) {
+                if (params[i] instanceof LocalDateTime dateTime) {
+                    stmt.setTimestamp(i + 1, Timestamp.valueOf(dateTime));
+                } else {
+                    stmt.setObject(i + 1, params[i]);
+                }
+            }
+
+            if (cancellation != null) {
+                cancellation.register(stmt);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            } finally {
+                if (cancellation != null) {
+                    cancellation.unregister(stmt);
+                }
+            }
+
+        } catch (SQLTimeoutException e) {
+            throw new DatabaseException(errorMessage + " (Zeitüberschreitung nach " + QUERY_TIMEOUT_SECONDS + " s)", e);
+        } catch (SQLException e) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new DatabaseException(errorMessage + " (abgebrochen)", e);
+            }
+            throw new DatabaseException(errorMessage, e);
+        }
+
+        return rows;
+    }
+}
@@ -7,7 +7,9 @@ import util.DatabaseConfig;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,12 +18,17 @@ import java.util.Optional;
  */
 public class SeatDAO implements GenericDAO<Seat, Long> {
 
+    /** Maximale Anzahl Zeilen pro Multi-Row-INSERT */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
     private final DatabaseConfig dbConfig;
     private final HallDAO hallDAO;
+    private final HallCatalog hallCatalog;
 
     public SeatDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
         this.hallDAO = new HallDAO();
+        this.hallCatalog = HallCatalog.getInstance();
     }
 
     @Override
@@ -197,6 +204,95 @@ public class SeatDAO implements GenericDAO<Seat, Long> {
         }
     }
 
+    /**
+     * Ersetzt die komplette Sitzplatzbelegung eines Saals in einer Transaktion.
+     * Alte Sitzplätze werden mit einem einzigen DELETE entfernt, neue in
+     * Multi-Row-INSERTs geschrieben. Die generierten IDs werden in die
+     * übergebenen Seat-Objekte zurückgeschrieben.
+     *
+     * @param hallId ID des Saals
+     * @param seats  neue Sitzplätze (Reihe und Nummer müssen gesetzt sein)
+     * @return die gespeicherten Sitzplätze mit IDs
+     */
+    public List<Seat> replaceSeatsForHall(Long hallId, List<Seat> seats) throws DatabaseException {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement delete = conn.prepareStatement("DELETE FROM seats WHERE hall_id = ?")) {
+                    delete.setLong(1, hallId);
+                    delete.executeUpdate();
+                }
+
+                for (int from = 0; from < seats.size(); from += INSERT_CHUNK_SIZE) {
+                    insertChunk(conn, hallId, seats.subList(from, Math.min(from + INSERT_CHUNK_SIZE, seats.size())));
+                }
+
+                conn.commit();
+                return seats;
+            } catch (SQLException | DatabaseException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().contains("foreign key constraint")) {
+                throw new DatabaseException("Sitzplätze können nicht neu generiert werden, da noch Buchungen existieren", e);
+            }
+            throw new DatabaseException("Fehler beim Generieren der Sitzplätze für Hall ID " + hallId, e);
+        }
+    }
+
+    /**
+     * Schreibt einen Block von Sitzplätzen mit einem Multi-Row-INSERT
+     */
+    private void insertChunk(Connection conn, Long hallId, List<Seat> chunk) throws SQLException, DatabaseException {
+        StringBuilder sql = new StringBuilder("INSERT INTO seats (row_label, seat_number, hall_id) VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (Seat seat : chunk) {
+                stmt.setString(index++, seat.getRow());
+                stmt.setInt(index++, seat.getNumber());
+                stmt.setLong(index++, hallId);
+            }
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                for (Seat seat : chunk) {
+                    if (!keys.next()) {
+                        throw new DatabaseException("Nicht alle Sitzplatz-IDs wurden zurückgegeben");
+                    }
+                    seat.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Zählt die Sitzplätze pro Saal mit einer einzigen Abfrage
+     * @return Map von Hall-ID auf Anzahl Sitzplätze (Säle ohne Sitze fehlen)
+     */
+    public Map<Long, Integer> countSeatsPerHall() throws DatabaseException {
+        String sql = "SELECT hall_id, COUNT(*) FROM seats GROUP BY hall_id";
+        Map<Long, Integer> counts = new HashMap<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                counts.put(rs.getLong(1), rs.getInt(2));
+            }
+
+        } catch (SQLException e) {
+            throw new DatabaseException("Fehler beim Zählen der Sitzplätze", e);
+        }
+
+        return counts;
+    }
+
     /**
      * Mappt ein ResultSet auf ein Seat-Objekt
      */
@@ -208,7 +304,7 @@ public class SeatDAO implements GenericDAO<Seat, Long> {
 
         // Lade zugehörigen Saal
         Long hallId = rs.getLong("hall_id");
-        Optional<Hall> hall = hallDAO.findById(hallId);
+        Optional<Hall> hall = findHall(hallId);
         
         if (hall.isPresent()) {
             seat.setHall(hall.get());
@@ -218,4 +314,12 @@ public class SeatDAO implements GenericDAO<Seat, Long> {
 
         return seat;
     }
+
+    /**
+     * Sucht den Saal im Katalog, bei unbekannter ID in der Datenbank
+     */
+    private Optional<Hall> findHall(Long hallId) throws DatabaseException {
+        Optional<Hall> hall = hallCatalog.findHall(hallId);
+        return hall.isPresent() ? hall : hallDAO.findById(hallId);
+    }
 }
@@ -0,0 +1,41 @@
+package exceptions;
+
+import java.util.List;
+
+/**
+ * Exception wenn ein oder mehrere Sitzplätze für ein Event bereits belegt sind
+ */
+public class SeatAlreadyBookedException extends Exception {
+
+    private final Long eventId;
+    private final List<Long> seatIds;
+
+    public SeatAlreadyBookedException(Long eventId, Long seatId) {
+        this(eventId, List.of(seatId));
+    }
+
+    public SeatAlreadyBookedException(Long eventId, List<Long> seatIds) {
+        super((seatIds.size() == 1 ? "Sitzplatz ist" : seatIds.size() + " Sitzplätze sind")
+                + " bereits gebucht (Event ID=" + eventId + ", Sitz ID=" + seatIds + ")");
+        this.eventId = eventId;
+        this.seatIds = List.copyOf(seatIds);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gibt den (ersten) belegten Sitzplatz zurück
+     */
+    public Long getSeatId() {
+        return seatIds.get(0);
+    }
+
+    /**
+     * Gibt alle belegten Sitzplätze zurück
+     */
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+}
@@ -0,0 +1,18 @@
+package exceptions;
+
+/**
+ * Unchecked Hülle für eine DatabaseException
+ * Wird beim Iterieren über Streams und beim Auflösen von LazyRefs geworfen,
+ * wo keine geprüften Exceptions erlaubt sind.
+ */
+public class UncheckedDatabaseException extends RuntimeException {
+
+    public UncheckedDatabaseException(DatabaseException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized DatabaseException getCause() {
+        return (DatabaseException) super.getCause();
+    }
+}
@@ -1,22 +1,23 @@
 package model;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 
 /**
  * Repräsentiert eine Buchung für ein Event.
+ * Kunde, Event und Sitzplatz werden als LazyRef gehalten: aus der Datenbank
+ * gelesene Buchungen kennen zunächst nur die IDs und laden die Objekte beim
+ * ersten Zugriff. Die ID-Getter lösen nichts auf.
  */
 public class Booking {
 
     private Long id;
-    private Customer customer;
-    private Event event;
-    private Seat seat;
+    private LazyRef<Customer> customer;
+    private LazyRef<Event> event;
+    private LazyRef<Seat> seat;
     private BookingStatus status;
     private LocalDateTime bookingDate;
+    private LocalDateTime holdExpiresAt;
     private double price;
-    private List<BookingObserver> observers = new ArrayList<>();
 
     // ================= Standard-Konstruktor =================
     public Booking() {
@@ -26,27 +27,41 @@ public class Booking {
 
     // ================= Konstruktor mit Parametern =================
     public Booking(Customer customer, Event event, Seat seat, double price) {
-        this.customer = customer;
-        this.event = event;
-        this.seat = seat;
+        setCustomer(customer);
+        setEvent(event);
+        setSeat(seat);
         this.price = price;
         this.bookingDate = LocalDateTime.now();
         this.status = BookingStatus.AVAILABLE;
-        this.observers = new ArrayList<>();
     }
 
     // ================= Getter und Setter =================
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public Customer getCustomer() { return customer; }
-    public void setCustomer(Customer customer) { this.customer = customer; }
+    public Customer getCustomer() { return customer != null ? customer.get() : null; }
+    public void setCustomer(Customer customer) { this.customer = customer != null ? LazyRef.of(customer.getId(), customer) : null; }
+    public void setCustomerRef(LazyRef<Customer> customer) { this.customer = customer; }
+    public Long getCustomerId() {
+        Customer loaded = customer != null && customer.isResolved() ? customer.get() : null;
+        return loaded != null ? loaded.getId() : customer != null ? customer.getId() : null;
+    }
 
-    public Event getEvent() { return event; }
-    public void setEvent(Event event) { this.event = event; }
+    public Event getEvent() { return event != null ? event.get() : null; }
+    public void setEvent(Event event) { this.event = event != null ? LazyRef.of(event.getId(), event) : null; }
+    public void setEventRef(LazyRef<Event> event) { this.event = event; }
+    public Long getEventId() {
+        Event loaded = event != null && event.isResolved() ? event.get() : null;
+        return loaded != null ? loaded.getId() : event != null ? event.getId() : null;
+    }
 
-    public Seat getSeat() { return seat; }
-    public void setSeat(Seat seat) { this.seat = seat; }
+    public Seat getSeat() { return seat != null ? seat.get() : null; }
+    public void setSeat(Seat seat) { this.seat = seat != null ? LazyRef.of(seat.getId(), seat) : null; }
+    public void setSeatRef(LazyRef<Seat> seat) { this.seat = seat; }
+    public Long getSeatId() {
+        Seat loaded = seat != null && seat.isResolved() ? seat.get() : null;
+        return loaded != null ? loaded.getId() : seat != null ? seat.getId() : null;
+    }
 
     public BookingStatus getStatus() { return status; }
     public void setStatus(BookingStatus status) { this.status = status; }
@@ -54,28 +69,17 @@ public class Booking {
     public LocalDateTime getBookingDate() { return bookingDate; }
     public void setBookingDate(LocalDateTime bookingDate) { this.bookingDate = bookingDate; }
 
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+
     public double getPrice() { return price; }
     public void setPrice(double price) { this.price = price; }
 
-    public List<BookingObserver> getObservers() { return observers; }
-
-    // ================= Observer-Methoden =================
-    public void addObserver(BookingObserver observer) {
-        observers.add(observer);
-    }
-
-    private void notifyObservers(BookingStatus oldStatus, BookingStatus newStatus) {
-        for (BookingObserver observer : observers) {
-            observer.onStatusChanged(this, oldStatus, newStatus);
-        }
-    }
-
     // ================= Buchungsaktionen =================
+    // Statuswechsel werden erst nach dem Speichern über BookingEventBus veröffentlicht
     public void reserve() {
         if (status.canTransitionTo(BookingStatus.RESERVED)) {
-            BookingStatus oldStatus = this.status;
             this.status = BookingStatus.RESERVED;
-            notifyObservers(oldStatus, this.status);
         } else {
             throw new IllegalStateException("Statuswechsel nicht erlaubt: " + status + " -> RESERVED");
         }
@@ -83,9 +87,7 @@ public class Booking {
 
     public void confirm() {
         if (status.canTransitionTo(BookingStatus.CONFIRMED)) {
-            BookingStatus oldStatus = this.status;
             this.status = BookingStatus.CONFIRMED;
-            notifyObservers(oldStatus, this.status);
         } else {
             throw new IllegalStateException("Statuswechsel nicht erlaubt: " + status + " -> CONFIRMED");
         }
@@ -93,9 +95,7 @@ public class Booking {
 
     public void cancel() {
         if (status.canTransitionTo(BookingStatus.CANCELLED)) {
-            BookingStatus oldStatus = this.status;
             this.status = BookingStatus.CANCELLED;
-            notifyObservers(oldStatus, this.status);
         } else {
             throw new IllegalStateException("Statuswechsel nicht erlaubt: " + status + " -> CANCELLED");
         }
@@ -105,13 +105,12 @@ public class Booking {
     public String toString() {
         return "Booking{" +
                 "id=" + id +
-                ", customer=" + customer +
-                ", event=" + event +
-                ", seat=" + seat +
+                ", customerId=" + getCustomerId() +
+                ", eventId=" + getEventId() +
+                ", seatId=" + getSeatId() +
                 ", status=" + status +
                 ", bookingDate=" + bookingDate +
                 ", price=" + price +
-                ", observers=" + observers +
                 '}';
     }
 }
@@ -16,6 +16,7 @@ public class Event {
     private String category;
     private double basePrice;
     private Hall hall;
+    private Integer holdTtlMinutes; // null = Standard-Haltedauer
     private int bookedCount; // Transient field for display
     private List<Booking> bookings = new ArrayList<>();
 
@@ -89,6 +90,18 @@ public class Event {
         this.hall = hall;
     }
 
+    /**
+     * Haltedauer einer Reservierung in Minuten
+     * @return Minuten oder null für den Standardwert
+     */
+    public Integer getHoldTtlMinutes() {
+        return holdTtlMinutes;
+    }
+
+    public void setHoldTtlMinutes(Integer holdTtlMinutes) {
+        this.holdTtlMinutes = holdTtlMinutes;
+    }
+
     public List<Booking> getBookings() {
         return bookings;
     }
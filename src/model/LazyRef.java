@@ -0,0 +1,81 @@
+package model;
+
+/**
+ * Verweis auf eine zugeordnete Entität, der nur die ID trägt und die Entität
+ * erst beim ersten Zugriff laden lässt.
+ * Das Laden übernimmt ein Resolver; er darf dabei weitere offene Verweise
+ * mitladen, damit eine Liste von Buchungen nicht pro Zeile eine Abfrage auslöst.
+ *
+ * @param <T> referenzierte Entität
+ */
+public final class LazyRef<T> {
+
+    /**
+     * Lädt offene Verweise
+     * @param <T> referenzierte Entität
+     */
+    public interface Resolver<T> {
+        /**
+         * Muss ref (und darf weitere Verweise) über complete() auflösen
+         * @throws exceptions.UncheckedDatabaseException bei Datenbankfehlern
+         */
+        void resolve(LazyRef<T> ref);
+    }
+
+    private final Long id;
+    private final Resolver<T> resolver;
+    private volatile T value;
+    private volatile boolean resolved;
+
+    private LazyRef(Long id, T value, Resolver<T> resolver, boolean resolved) {
+        this.id = id;
+        this.value = value;
+        this.resolver = resolver;
+        this.resolved = resolved;
+    }
+
+    /**
+     * Bereits geladene Entität
+     */
+    public static <T> LazyRef<T> of(Long id, T value) {
+        return new LazyRef<>(id, value, null, true);
+    }
+
+    /**
+     * Verweis, der beim ersten Zugriff über den Resolver geladen wird
+     */
+    public static <T> LazyRef<T> unresolved(Long id, Resolver<T> resolver) {
+        return new LazyRef<>(id, null, resolver, false);
+    }
+
+    /**
+     * ID der Entität; löst nichts auf
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * Gibt die Entität zurück und lädt sie bei Bedarf
+     * @return die Entität oder null, wenn sie nicht (mehr) existiert
+     */
+    public T get() {
+        if (!resolved) {
+            resolver.resolve(this);
+        }
+        return value;
+    }
+
+    /**
+     * Setzt das Ergebnis des Ladens; nur für Resolver
+     * @param value geladene Entität oder null, wenn sie nicht existiert
+     */
+    public void complete(T value) {
+        this.value = value;
+        this.resolved = true;
+    }
+}
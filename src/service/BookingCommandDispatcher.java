@@ -0,0 +1,123 @@
+package service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Führt Buchungsbefehle pro Event strikt sequenziell aus.
+ * Jedes Event gehört genau einem Worker-Thread (Shard), der seine Befehle
+ * nacheinander abarbeitet. Verschiedene Events laufen parallel auf allen Shards.
+ */
+public class BookingCommandDispatcher {
+
+    /**
+     * Ein Befehl, der auf dem Shard des Events ausgeführt wird
+     * @param <T> Ergebnistyp
+     */
+    @FunctionalInterface
+    public interface BookingCommand<T> {
+        T execute() throws Exception;
+    }
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final ThreadPoolExecutor[] shards;
+    // Worker-Thread je Shard, für Befehle, die selbst wieder Befehle absetzen
+    private final Thread[] workers;
+
+    /**
+     * Konstruktor
+     * @param workerCount Anzahl Worker-Threads
+     */
+    public BookingCommandDispatcher(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Anzahl Worker muss größer als 0 sein");
+        }
+        this.shards = new ThreadPoolExecutor[workerCount];
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int shard = i;
+            String threadName = "booking-shard-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        workers[shard] = t;
+                        return t;
+                    });
+        }
+    }
+
+    /**
+     * Reiht einen Befehl in die Warteschlange des Events ein
+     * Läuft der Aufrufer bereits auf dem Shard des Events, wird der Befehl sofort ausgeführt,
+     * statt auf sich selbst zu warten.
+     * @param eventId Event, dessen Sitzplätze der Befehl verändert
+     * @param command auszuführender Befehl
+     * @return Future mit dem Ergebnis oder der Exception des Befehls
+     */
+    public <T> CompletableFuture<T> submit(long eventId, BookingCommand<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        int shard = shardFor(eventId);
+        if (Thread.currentThread() == workers[shard]) {
+            try {
+                future.complete(command.execute());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+        try {
+            shards[shard].execute(() -> {
+                if (future.isCancelled()) {
+                    return;
+                }
+                try {
+                    future.complete(command.execute());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IllegalStateException(
+                    "Buchungswarteschlange für Event ID " + eventId + " ist voll oder beendet", e));
+        }
+        return future;
+    }
+
+    /**
+     * Ermittelt den Shard eines Events
+     */
+    public int shardFor(long eventId) {
+        // Bits mischen, damit fortlaufende IDs gleichmäßig verteilt werden
+        long h = eventId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) shards.length);
+    }
+
+    /**
+     * Anzahl Worker-Threads
+     */
+    public int getWorkerCount() {
+        return shards.length;
+    }
+
+    /**
+     * Anzahl wartender Befehle eines Shards
+     */
+    public int getQueueDepth(int shard) {
+        return shards[shard].getQueue().size();
+    }
+
+    /**
+     * Beendet alle Worker nach Abarbeitung der Warteschlangen
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+    }
+}
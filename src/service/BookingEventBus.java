@@ -0,0 +1,304 @@
+package service;
+
+import model.Booking;
+import model.BookingObserver;
+import model.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prozessweiter Bus für Statuswechsel von Buchungen
+ * Singleton Pattern, damit alle Services in denselben Ringpuffer veröffentlichen.
+ * Veröffentlichen schreibt nur in einen Ringpuffer fester Größe; jeder Abonnent
+ * hat einen eigenen Thread mit eigener Leseposition und bekommt die Ereignisse
+ * in Blöcken. Ein langsamer Abonnent hält Buchungen deshalb nicht auf, es sei
+ * denn, er hat ausdrücklich Backpressure.BLOCK gewählt.
+ */
+public class BookingEventBus {
+
+    /** Größe des Ringpuffers (Zweierpotenz) */
+    private static final int CAPACITY = 8192;
+
+    /** Standard-Blockgröße pro Zustellung */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Ein veröffentlichter Statuswechsel
+     * @param sequence fortlaufende Nummer des Ereignisses
+     * @param booking die gespeicherte Buchung
+     * @param oldStatus Status vorher
+     * @param newStatus Status nachher
+     * @param timestamp Zeitpunkt der Veröffentlichung (Epoch-Millis)
+     */
+    public record StatusChange(long sequence, Booking booking, BookingStatus oldStatus, BookingStatus newStatus,
+                               long timestamp) {
+    }
+
+    /**
+     * Empfängt Ereignisse blockweise im Thread des Abonnements
+     */
+    @FunctionalInterface
+    public interface BatchSubscriber {
+        void onBatch(List<StatusChange> batch);
+    }
+
+    /**
+     * Verhalten, wenn ein Abonnent den Ringpuffer nicht schnell genug leert
+     */
+    public enum Backpressure {
+        /** Veröffentlichen wartet auf den Abonnenten; nichts geht verloren. Nur für schnelle Abonnenten. */
+        BLOCK,
+        /** Der Abonnent wird überholt und überspringt die ältesten Ereignisse; sie werden als verworfen gezählt. */
+        DROP_OLDEST
+    }
+
+    /**
+     * Kennzahlen eines Abonnements
+     * @param name Name des Abonnements
+     * @param backpressure gewähltes Verhalten
+     * @param delivered zugestellte Ereignisse
+     * @param batches Anzahl Zustellungen
+     * @param dropped übersprungene Ereignisse (nur DROP_OLDEST)
+     * @param failed Zustellungen, bei denen der Abonnent eine Exception geworfen hat
+     * @param lag veröffentlichte, aber noch nicht gelesene Ereignisse
+     */
+    public record SubscriberStats(String name, Backpressure backpressure, long delivered, long batches,
+                                  long dropped, long failed, long lag) {
+    }
+
+    private static BookingEventBus instance;
+
+    private final StatusChange[] ring = new StatusChange[CAPACITY];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final Condition consumed = lock.newCondition();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Sequenz des zuletzt veröffentlichten Ereignisses; nur unter lock geändert
+    private volatile long head = -1;
+    // Geteilt: Befehle zwischen Speichern und Veröffentlichen; exklusiv: ruhender Stand
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    private BookingEventBus() {
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück
+     */
+    public static synchronized BookingEventBus getInstance() {
+        if (instance == null) {
+            instance = new BookingEventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Veröffentlicht einen gespeicherten Statuswechsel
+     * Kehrt sofort zurück, außer ein BLOCK-Abonnent ist einen ganzen Puffer im Rückstand.
+     */
+    public void publish(Booking booking, BookingStatus oldStatus, BookingStatus newStatus) {
+        lock.lock();
+        try {
+            long next = head + 1;
+            while (next - slowestBlockingCursor() > CAPACITY) {
+                consumed.awaitUninterruptibly();
+            }
+            ring[(int) (next & (CAPACITY - 1))] =
+                    new StatusChange(next, booking, oldStatus, newStatus, System.currentTimeMillis());
+            head = next;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sequenz des zuletzt veröffentlichten Ereignisses (-1, solange keines veröffentlicht wurde)
+     */
+    public long lastSequence() {
+        return head;
+    }
+
+    /**
+     * Sperre, die ein Befehl vom Speichern bis zum Veröffentlichen bzw. Benachrichtigen hält
+     * Beliebig viele Befehle halten sie gleichzeitig; nur quiescentLock() wartet auf sie.
+     */
+    public Lock commitLock() {
+        return commitGate.readLock();
+    }
+
+    /**
+     * Sperre für einen ruhenden Stand: solange sie gehalten wird, ist jede gespeicherte
+     * Änderung veröffentlicht (lastSequence() deckt sie ab) und es wird keine neue gespeichert
+     * Für Leser, die einen Datenbankstand mit lastSequence() abgleichen (BookingStatistics.seed()).
+     */
+    public Lock quiescentLock() {
+        return commitGate.writeLock();
+    }
+
+    /**
+     * Abonniert alle künftigen Statuswechsel
+     * @param name Name für Thread und Kennzahlen
+     * @param backpressure Verhalten bei Rückstand
+     * @param maxBatchSize maximale Anzahl Ereignisse pro Zustellung
+     */
+    public Subscription subscribe(String name, Backpressure backpressure, int maxBatchSize, BatchSubscriber subscriber) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Blockgröße muss positiv sein");
+        }
+        Subscription subscription;
+        lock.lock();
+        try {
+            subscription = new Subscription(name, backpressure, maxBatchSize, subscriber, head);
+            subscriptions.add(subscription);
+        } finally {
+            lock.unlock();
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Abonniert mit einem BookingObserver, der jedes Ereignis einzeln erhält
+     */
+    public Subscription subscribe(String name, Backpressure backpressure, BookingObserver observer) {
+        return subscribe(name, backpressure, DEFAULT_BATCH_SIZE, batch -> {
+            for (StatusChange change : batch) {
+                observer.onStatusChanged(change.booking(), change.oldStatus(), change.newStatus());
+            }
+        });
+    }
+
+    /**
+     * Kennzahlen aller Abonnements
+     */
+    public List<SubscriberStats> stats() {
+        List<SubscriberStats> stats = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            stats.add(subscription.stats());
+        }
+        return stats;
+    }
+
+    private long slowestBlockingCursor() {
+        long slowest = head;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.backpressure == Backpressure.BLOCK) {
+                slowest = Math.min(slowest, subscription.cursor);
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Ein Abonnement mit eigenem Zustell-Thread
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final Backpressure backpressure;
+        private final int maxBatchSize;
+        private final BatchSubscriber subscriber;
+        private final Thread thread;
+        // Sequenz des zuletzt gelesenen Ereignisses; nur unter lock geändert
+        private volatile long cursor;
+        private volatile boolean closed;
+        private volatile long delivered;
+        private volatile long batches;
+        private volatile long dropped;
+        private volatile long failed;
+
+        private Subscription(String name, Backpressure backpressure, int maxBatchSize,
+                             BatchSubscriber subscriber, long cursor) {
+            this.name = name;
+            this.backpressure = backpressure;
+            this.maxBatchSize = maxBatchSize;
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+            this.thread = new Thread(this::run, "booking-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            List<StatusChange> batch = new ArrayList<>(maxBatchSize);
+            while (!closed) {
+                if (!take(batch)) {
+                    continue;
+                }
+                try {
+                    subscriber.onBatch(List.copyOf(batch));
+                } catch (RuntimeException e) {
+                    failed++;
+                    System.err.println("Buchungsereignisse für \"" + name + "\" nicht verarbeitet: " + e.getMessage());
+                }
+                delivered += batch.size();
+                batches++;
+                batch.clear();
+            }
+        }
+
+        /**
+         * Kopiert den nächsten Block aus dem Ringpuffer
+         * Kopiert wird unter der Sperre, damit ein überholender Publisher keinen
+         * Eintrag während des Lesens ersetzt.
+         * @return false, wenn nichts vorlag
+         */
+        private boolean take(List<StatusChange> batch) {
+            lock.lock();
+            try {
+                if (cursor == head && !closed) {
+                    published.await(1, TimeUnit.SECONDS);
+                }
+                long available = head;
+                long from = cursor + 1;
+                if (available - from + 1 > CAPACITY) {
+                    // Überholt: nur die noch vorhandenen Einträge lesen
+                    long oldest = available - CAPACITY + 1;
+                    dropped += oldest - from;
+                    from = oldest;
+                }
+                long to = Math.min(available, from + maxBatchSize - 1);
+                for (long sequence = from; sequence <= to; sequence++) {
+                    batch.add(ring[(int) (sequence & (CAPACITY - 1))]);
+                }
+                cursor = Math.max(cursor, to);
+                consumed.signalAll();
+            } catch (InterruptedException e) {
+                closed = true;
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+            return !batch.isEmpty();
+        }
+
+        /**
+         * Kennzahlen dieses Abonnements
+         */
+        public SubscriberStats stats() {
+            return new SubscriberStats(name, backpressure, delivered, batches, dropped, failed,
+                    Math.max(0, head - cursor));
+        }
+
+        /**
+         * Beendet das Abonnement; bereits gelesene Ereignisse werden noch zugestellt
+         */
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                closed = true;
+                subscriptions.remove(this);
+                published.signalAll();
+                consumed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
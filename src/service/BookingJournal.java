@@ -0,0 +1,378 @@
+package service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only Write-Ahead-Journal auf Memory-Mapped-Segmenten
+ * Ein Datensatz ist nach append() im Page Cache und nach awaitDurable() auf der
+ * Platte. awaitDurable() bündelt gleichzeitig wartende Schreiber: ein Thread führt
+ * force() aus, alle bis dahin angehängten Datensätze gelten danach als dauerhaft
+ * (Group Commit). Segmente werden nach dem ersten enthaltenen Sequenzwert benannt
+ * und können gelöscht werden, sobald ein Snapshot sie abdeckt.
+ */
+public final class BookingJournal implements Closeable {
+
+    // ================= Dateiformat =================
+    // Segment journal-<erste Sequenz>.log, fest gemappte Größe, Little Endian.
+    // Datensatz: int Länge der Nutzdaten, int CRC32 (über Sequenz und Nutzdaten),
+    //            long Sequenz, Nutzdaten. Länge 0 markiert das Ende des Segments.
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final String LOCK_FILE = "journal.lock";
+
+    /**
+     * Empfängt die Datensätze beim Wiedereinspielen
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * @param payload Nutzdaten, nur während des Aufrufs gültig
+         */
+        void apply(long sequence, ByteBuffer payload);
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer current;
+    // Exklusive Sperre des Verzeichnisses, solange das Journal offen ist
+    private FileChannel lockChannel;
+    private FileLock lock;
+    // Sequenz des zuletzt angehängten Datensatzes; nur unter this geändert
+    private long lastSequence;
+
+    private final Object syncMonitor = new Object();
+    private long durableSequence;
+    private boolean syncing;
+    private long syncCount;
+
+    private BookingJournal(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Öffnet das Journal eines Verzeichnisses und spielt alle Datensätze nach afterSequence ein
+     * Ein unvollständiger Datensatz am Ende des letzten Segments (Absturz beim Schreiben)
+     * wird verworfen; dort wird weitergeschrieben.
+     * Das Verzeichnis wird exklusiv gesperrt, ein zweiter Prozess kann es nicht öffnen.
+     *
+     * @param segmentBytes Größe eines Segments in Byte
+     * @param afterSequence letzte Sequenz, die der Snapshot bereits enthält
+     * @param handler erhält die Datensätze in Sequenzreihenfolge
+     */
+    public static BookingJournal open(Path directory, int segmentBytes, long afterSequence, RecordHandler handler)
+            throws IOException {
+        if (segmentBytes <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segmentgröße zu klein: " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+        BookingJournal journal = new BookingJournal(directory, segmentBytes);
+        journal.lockDirectory();
+        try {
+            journal.recover(afterSequence, handler);
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Sperrt das Verzeichnis über journal.lock
+     * Zwei Prozesse auf demselben Journal würden dieselben Sequenzen und Buchungs-IDs vergeben.
+     * @throws IOException wenn ein anderer Prozess (oder dieser) das Journal bereits geöffnet hat
+     */
+    private void lockDirectory() throws IOException {
+        Path lockFile = directory.resolve(LOCK_FILE);
+        lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            lockChannel = null;
+            throw new IOException("Buchungsjournal " + directory.toAbsolutePath()
+                    + " wird bereits von einem anderen Prozess verwendet (" + LOCK_FILE + " ist gesperrt)");
+        }
+    }
+
+    private void recover(long afterSequence, RecordHandler handler) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+            }
+        }
+        if (!segments.isEmpty() && segments.firstKey() > afterSequence + 1) {
+            throw new IOException("Journal beginnt bei Sequenz " + segments.firstKey()
+                    + ", der Snapshot endet bei " + afterSequence);
+        }
+
+        lastSequence = afterSequence;
+        for (var segment : segments.entrySet()) {
+            boolean last = segment.getKey().equals(segments.lastKey());
+            FileChannel segmentChannel = FileChannel.open(segment.getValue(),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            buffer.order(ORDER);
+            replaySegment(segment.getKey(), buffer, last, afterSequence, handler);
+            if (last) {
+                channel = segmentChannel;
+                current = buffer;
+            } else {
+                segmentChannel.close();
+            }
+        }
+        if (current == null) {
+            startSegment(lastSequence + 1);
+        }
+        durableSequence = lastSequence;
+    }
+
+    private void replaySegment(long firstSequence, MappedByteBuffer buffer, boolean last, long afterSequence,
+                               RecordHandler handler) throws IOException {
+        long expected = firstSequence;
+        int position = 0;
+        while (position + RECORD_HEADER_BYTES <= segmentBytes) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            boolean complete = length > 0 && position + RECORD_HEADER_BYTES + length <= segmentBytes;
+            long sequence = complete ? buffer.getLong(position + 8) : -1;
+            if (!complete || sequence != expected
+                    || buffer.getInt(position + 4) != checksum(buffer, position, length)) {
+                if (!last) {
+                    throw new IOException("Journal beschädigt in Segment " + firstSequence + " bei Byte " + position);
+                }
+                // Abgerissener Datensatz: Rest des Segments leeren, damit er nicht wieder auftaucht
+                for (int i = position; i < segmentBytes; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+                System.err.println("⚠ Unvollständiger Journal-Datensatz nach Sequenz " + (expected - 1) + " verworfen");
+                break;
+            }
+            if (sequence > afterSequence) {
+                ByteBuffer payload = buffer.slice(position + RECORD_HEADER_BYTES, length).order(ORDER);
+                handler.apply(sequence, payload);
+            }
+            lastSequence = Math.max(lastSequence, sequence);
+            expected++;
+            position += RECORD_HEADER_BYTES + length;
+        }
+        if (last) {
+            buffer.position(position);
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + 8, 8 + length));
+        return (int) crc.getValue();
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        current.order(ORDER);
+        segments.put(firstSequence, file);
+        syncDirectory();
+    }
+
+    /**
+     * Macht neu angelegte Segmente dauerhaft sichtbar
+     * Nicht jedes Dateisystem erlaubt das Öffnen eines Verzeichnisses (z.B. Windows).
+     */
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // nicht unterstützt; die Segmentdatei selbst wird trotzdem geschrieben
+        }
+    }
+
+    /**
+     * Hängt einen Datensatz an; er ist danach noch nicht dauerhaft (siehe awaitDurable)
+     * @param payload Nutzdaten von position bis limit
+     * @return Sequenz des Datensatzes
+     */
+    public synchronized long append(ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+        if (length == 0 || RECORD_HEADER_BYTES + length > segmentBytes) {
+            throw new IOException("Ungültige Datensatzgröße: " + length);
+        }
+        if (current.remaining() < RECORD_HEADER_BYTES + length) {
+            rollSegment();
+        }
+
+        long sequence = lastSequence + 1;
+        int position = current.position();
+        // Länge zuletzt schreiben: bis dahin sieht ein Leser das Segmentende
+        current.putLong(position + 8, sequence);
+        current.put(position + RECORD_HEADER_BYTES, payload, payload.position(), length);
+        current.putInt(position + 4, checksum(current, position, length));
+        current.putInt(position, length);
+        current.position(position + RECORD_HEADER_BYTES + length);
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Schließt das volle Segment ab und beginnt ein neues
+     */
+    private void rollSegment() throws IOException {
+        current.force();
+        channel.close();
+        synchronized (syncMonitor) {
+            durableSequence = Math.max(durableSequence, lastSequence);
+            syncMonitor.notifyAll();
+        }
+        startSegment(lastSequence + 1);
+    }
+
+    /**
+     * Wartet, bis der Datensatz mit dieser Sequenz auf der Platte ist
+     * Läuft gerade ein force(), wird auf dessen Ende gewartet und danach ggf. ein
+     * weiteres für alle inzwischen angehängten Datensätze ausgeführt.
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        while (true) {
+            synchronized (syncMonitor) {
+                while (durableSequence < sequence && syncing) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Warten auf das Journal unterbrochen");
+                    }
+                }
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                syncing = true;
+            }
+
+            long reached = -1;
+            try {
+                MappedByteBuffer buffer;
+                synchronized (this) {
+                    reached = lastSequence;
+                    buffer = current;
+                }
+                buffer.force();
+            } catch (RuntimeException e) {
+                reached = -1;
+                throw new IOException("Journal konnte nicht geschrieben werden", e);
+            } finally {
+                synchronized (syncMonitor) {
+                    syncing = false;
+                    if (reached >= 0) {
+                        durableSequence = Math.max(durableSequence, reached);
+                        syncCount++;
+                    }
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sequenz des zuletzt angehängten Datensatzes
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Anzahl ausgeführter force()-Aufrufe; im Verhältnis zu lastSequence ein Maß für die Bündelung
+     */
+    public long syncCount() {
+        synchronized (syncMonitor) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Löscht alle Segmente, deren Datensätze vollständig bis einschließlich sequence reichen
+     * Das aktuelle Segment bleibt immer erhalten.
+     * @return Anzahl gelöschter Segmente
+     */
+    public synchronized int deleteSegmentsUpTo(long sequence) {
+        List<Long> removable = new ArrayList<>();
+        Long previous = null;
+        for (Long first : segments.keySet()) {
+            if (previous != null && first - 1 <= sequence) {
+                removable.add(previous);
+            }
+            previous = first;
+        }
+        int deleted = 0;
+        for (Long first : removable) {
+            try {
+                Files.deleteIfExists(segments.get(first));
+                segments.remove(first);
+                deleted++;
+            } catch (IOException e) {
+                // z.B. noch gemappt unter Windows; beim nächsten Snapshot erneut versuchen
+                System.err.println("Journal-Segment " + first + " konnte nicht gelöscht werden: " + e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Anzahl vorhandener Segmente
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Bringt alle Datensätze auf die Platte und schließt das aktuelle Segment
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (channel != null) {
+                if (current != null) {
+                    current.force();
+                }
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            if (lockChannel != null) {
+                // Schließen des Kanals gibt auch die Sperre frei
+                lockChannel.close();
+                lockChannel = null;
+                lock = null;
+            }
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package service;
 
-import dao.BookingDAO;
+import dao.BookingStatsDAO;
+import dao.Page;
 import exceptions.DatabaseException;
 import exceptions.InvalidBookingStatusTransitionException;
+import exceptions.SeatAlreadyBookedException;
+import exceptions.UncheckedDatabaseException;
 import model.*;
+import util.DatabaseConfig;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -15,31 +27,136 @@ import java.util.stream.Collectors;
  */
 public class BookingService {
 
-    private final BookingDAO bookingDAO;
+    private final BookingStore store;
+    private final BookingStatsDAO bookingStatsDAO;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final ReservationHoldScheduler holdScheduler;
+    private volatile BookingCommandDispatcher dispatcher; // null = Ausführung im aufrufenden Thread
+    private final BookingEventBus eventBus;
 
     public BookingService() {
-        this.bookingDAO = new BookingDAO();
+        this(new DatabaseBookingStore());
+    }
+
+    /**
+     * Konstruktor mit Buchungsspeicher
+     * Belegungsindex und Reservierungs-Scheduler bleiben unverändert, siehe createForApplication().
+     * @param store z.B. JournaledBookingStore für Buchungen im Arbeitsspeicher
+     */
+    public BookingService(BookingStore store) {
+        this.store = store;
+        this.bookingStatsDAO = new BookingStatsDAO();
+        this.availabilityIndex = SeatAvailabilityIndex.getInstance();
+        this.holdScheduler = ReservationHoldScheduler.getInstance();
+        this.eventBus = BookingEventBus.getInstance();
+    }
+
+    /**
+     * Erstellt den BookingService eines Prozesses (GUI oder HTTP-API)
+     * Belegungsindex und Reservierungs-Scheduler gelten prozessweit und werden hier einmal an
+     * den Speicher gebunden; später erzeugte BookingService-Instanzen ändern daran nichts.
+     * Ist booking.shards in db.properties größer als 0, laufen alle Buchungsbefehle über Event-Shards.
+     * @param store Speicher aus BookingStore.fromConfig()
+     */
+    public static BookingService createForApplication(BookingStore store) {
+        SeatAvailabilityIndex.getInstance().setBookingStore(store);
+        ReservationHoldScheduler.getInstance().setBookingStore(store);
+        BookingService service = new BookingService(store);
+
+        String shards = DatabaseConfig.getInstance().getProperty("booking.shards", "0");
+        try {
+            int workerCount = Integer.parseInt(shards);
+            if (workerCount > 0) {
+                service.enableShardedExecution(workerCount);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Ungültiger Wert für booking.shards: " + shards + ", Shards bleiben aus");
+        }
+        return service;
     }
 
     /**
      * Erstellt eine neue Buchung
+     * Der Sitz wird atomar im Buchungsspeicher belegt, eine vorherige
+     * Verfügbarkeitsprüfung ist nicht nötig.
+     * @throws SeatAlreadyBookedException wenn der Sitz bereits aktiv gebucht ist
      */
     public Booking createBooking(Customer customer, Event event, Seat seat)
-            throws DatabaseException, InvalidBookingStatusTransitionException {
+            throws DatabaseException, InvalidBookingStatusTransitionException, SeatAlreadyBookedException {
+        return await(submitCreateBooking(customer, event, seat));
+    }
 
-        // Prüfe ob Sitzplatz verfügbar ist
-        if (!isSeatAvailable(event, seat)) {
-            throw new IllegalStateException("Sitzplatz ist bereits gebucht");
-        }
+    private Booking createBookingNow(Customer customer, Event event, Seat seat)
+            throws DatabaseException, InvalidBookingStatusTransitionException, SeatAlreadyBookedException {
 
         double price = calculatePrice(event, seat);
         Booking booking = new Booking(customer, event, seat, price);
 
-        // Reserviere die Buchung
+        // Reserviere die Buchung mit begrenzter Haltedauer
+        BookingStatus oldStatus = booking.getStatus();
         booking.reserve();
+        booking.setHoldExpiresAt(holdScheduler.holdDeadline(event));
+
+        // Belege Sitz und speichere in einem Schritt
+        boolean claimed = store.tryInsert(booking);
+        // Der Sitz ist in beiden Fällen belegt, der Index wird entsprechend nachgezogen
+        availabilityIndex.markBooked(event.getId(), seat.getId());
+        if (!claimed) {
+            throw new SeatAlreadyBookedException(event.getId(), seat.getId());
+        }
+        holdScheduler.track(booking);
+        fireStatusChanged(booking, oldStatus, booking.getStatus());
+        return booking;
+    }
+
+    /**
+     * Erstellt eine Gruppenbuchung: mehrere Sitze für einen Kunden.
+     * Alle Sitze werden in einem Schritt belegt (in MySQL mit einem einzigen INSERT).
+     * Ist auch nur ein Sitz belegt, wird nichts gebucht.
+     * @throws SeatAlreadyBookedException mit allen bereits belegten Sitzen
+     */
+    public List<Booking> createBookings(Customer customer, Event event, List<Seat> seats)
+            throws DatabaseException, SeatAlreadyBookedException {
+        try {
+            return await(submitCreateBookings(customer, event, seats));
+        } catch (InvalidBookingStatusTransitionException e) {
+            throw new IllegalStateException(e); // wird von createBookingsNow nicht geworfen
+        }
+    }
 
-        // Speichere in Datenbank
-        return bookingDAO.save(booking);
+    private List<Booking> createBookingsNow(Customer customer, Event event, List<Seat> seats)
+            throws DatabaseException, SeatAlreadyBookedException {
+
+        if (seats == null || seats.isEmpty()) {
+            throw new IllegalArgumentException("Mindestens ein Sitzplatz muss ausgewählt sein");
+        }
+        Set<Long> seatIds = new HashSet<>();
+        for (Seat seat : seats) {
+            if (!seatIds.add(seat.getId())) {
+                throw new IllegalArgumentException("Sitzplatz mehrfach ausgewählt: " + seat.getFullLabel());
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            Booking booking = new Booking(customer, event, seat, calculatePrice(event, seat));
+            booking.reserve();
+            booking.setHoldExpiresAt(holdScheduler.holdDeadline(event));
+            bookings.add(booking);
+        }
+
+        List<Long> conflicts = store.tryInsertAll(bookings);
+        if (!conflicts.isEmpty()) {
+            conflicts.forEach(seatId -> availabilityIndex.markBooked(event.getId(), seatId));
+            throw new SeatAlreadyBookedException(event.getId(), conflicts);
+        }
+
+        for (Booking booking : bookings) {
+            availabilityIndex.markBooked(event.getId(), booking.getSeatId());
+            holdScheduler.track(booking);
+            fireStatusChanged(booking, BookingStatus.AVAILABLE, booking.getStatus());
+        }
+        return bookings;
     }
 
     /**
@@ -47,12 +164,24 @@ public class BookingService {
      */
     public void confirmBooking(Long bookingId)
             throws DatabaseException, InvalidBookingStatusTransitionException {
+        try {
+            await(submitConfirmBooking(bookingId));
+        } catch (SeatAlreadyBookedException e) {
+            throw new IllegalStateException(e); // wird von confirmBookingNow nicht geworfen
+        }
+    }
+
+    private void confirmBookingNow(Long bookingId)
+            throws DatabaseException, InvalidBookingStatusTransitionException {
 
-        Booking booking = bookingDAO.findById(bookingId)
+        Booking booking = store.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Buchung nicht gefunden"));
 
+        BookingStatus oldStatus = booking.getStatus();
         booking.confirm();
-        bookingDAO.update(booking);
+        store.update(booking);
+        holdScheduler.untrack(bookingId);
+        fireStatusChanged(booking, oldStatus, booking.getStatus());
     }
 
     /**
@@ -60,23 +189,218 @@ public class BookingService {
      */
     public void cancelBooking(Long bookingId)
             throws DatabaseException, InvalidBookingStatusTransitionException {
+        try {
+            await(submitCancelBooking(bookingId));
+        } catch (SeatAlreadyBookedException e) {
+            throw new IllegalStateException(e); // wird von cancelBookingNow nicht geworfen
+        }
+    }
+
+    private void cancelBookingNow(Long bookingId)
+            throws DatabaseException, InvalidBookingStatusTransitionException {
 
-        Booking booking = bookingDAO.findById(bookingId)
+        Booking booking = store.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Buchung nicht gefunden"));
 
+        BookingStatus oldStatus = booking.getStatus();
         booking.cancel();
-        bookingDAO.update(booking);
+        store.update(booking);
+        holdScheduler.untrack(bookingId);
+        availabilityIndex.markFree(booking.getEventId(), booking.getSeatId());
+        fireStatusChanged(booking, oldStatus, booking.getStatus());
+    }
+
+    /**
+     * Veröffentlicht einen gespeicherten Statuswechsel auf dem BookingEventBus
+     * Abonnenten werden in ihren eigenen Threads benachrichtigt.
+     */
+    private void fireStatusChanged(Booking booking, BookingStatus oldStatus, BookingStatus newStatus) {
+        eventBus.publish(booking, oldStatus, newStatus);
+    }
+
+    /**
+     * Aktiviert die Ausführung über Event-Shards.
+     * Danach werden alle Buchungsbefehle eines Events (auch die synchronen Methoden)
+     * von genau einem Worker-Thread nacheinander ausgeführt.
+     * @param workerCount Anzahl Worker-Threads
+     */
+    public synchronized void enableShardedExecution(int workerCount) {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        dispatcher = new BookingCommandDispatcher(workerCount);
+    }
+
+    /**
+     * Deaktiviert die Ausführung über Event-Shards
+     */
+    public synchronized void disableShardedExecution() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+            dispatcher = null;
+        }
+    }
+
+    /**
+     * Erstellt eine Buchung auf dem Shard des Events
+     */
+    public CompletableFuture<Booking> submitCreateBooking(Customer customer, Event event, Seat seat) {
+        return submit(dispatcher, event.getId(), () -> createBookingNow(customer, event, seat));
+    }
+
+    /**
+     * Erstellt eine Gruppenbuchung auf dem Shard des Events
+     */
+    public CompletableFuture<List<Booking>> submitCreateBookings(Customer customer, Event event, List<Seat> seats) {
+        return submit(dispatcher, event.getId(), () -> createBookingsNow(customer, event, seats));
+    }
+
+    /**
+     * Bestätigt eine Buchung auf dem Shard ihres Events
+     */
+    public CompletableFuture<Void> submitConfirmBooking(Long bookingId) {
+        return submitForBooking(bookingId, () -> {
+            confirmBookingNow(bookingId);
+            return null;
+        });
+    }
+
+    /**
+     * Storniert eine Buchung auf dem Shard ihres Events
+     */
+    public CompletableFuture<Void> submitCancelBooking(Long bookingId) {
+        return submitForBooking(bookingId, () -> {
+            cancelBookingNow(bookingId);
+            return null;
+        });
+    }
+
+    /**
+     * Ermittelt den Shard über die gespeicherte Buchung, nicht über Angaben des Aufrufers
+     * Die Event-ID einer Buchung ändert sich nie; der Befehl liest die Buchung auf dem Shard erneut.
+     */
+    private <T> CompletableFuture<T> submitForBooking(Long bookingId, BookingCommandDispatcher.BookingCommand<T> command) {
+        BookingCommandDispatcher current = dispatcher;
+        if (current == null) {
+            return submit(null, null, command);
+        }
+        try {
+            Booking booking = store.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException("Buchung nicht gefunden"));
+            return submit(current, booking.getEventId(), command);
+        } catch (DatabaseException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Führt einen Befehl auf seinem Shard oder im aufrufenden Thread aus
+     * Der Befehl hält dabei die Commit-Sperre des BookingEventBus, damit Speichern und
+     * Veröffentlichen für BookingStatistics.seed() ein Schritt sind.
+     */
+    private static <T> CompletableFuture<T> submit(BookingCommandDispatcher current, Long eventId,
+                                                   BookingCommandDispatcher.BookingCommand<T> command) {
+        BookingCommandDispatcher.BookingCommand<T> committing = () -> {
+            Lock commit = BookingEventBus.getInstance().commitLock();
+            commit.lock();
+            try {
+                return command.execute();
+            } finally {
+                commit.unlock();
+            }
+        };
+        if (current != null) {
+            return current.submit(eventId, committing);
+        }
+        // Ohne Shards direkt im aufrufenden Thread ausführen
+        try {
+            return CompletableFuture.completedFuture(committing.execute());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wartet auf einen Buchungsbefehl und wirft dessen ursprüngliche Exception weiter
+     */
+    private static <T> T await(CompletableFuture<T> future)
+            throws DatabaseException, InvalidBookingStatusTransitionException, SeatAlreadyBookedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Warten auf den Buchungsbefehl wurde unterbrochen", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseException databaseException) {
+                throw databaseException;
+            }
+            if (cause instanceof InvalidBookingStatusTransitionException transitionException) {
+                throw transitionException;
+            }
+            if (cause instanceof SeatAlreadyBookedException seatException) {
+                throw seatException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
     }
 
     /**
      * Prüft ob ein Sitzplatz verfügbar ist
+     * Nutzt den In-Memory-Belegungsindex des Events
      */
     public boolean isSeatAvailable(Event event, Seat seat) throws DatabaseException {
-        List<Booking> bookings = bookingDAO.findByEvent(event.getId());
+        return availabilityIndex.isFree(event.getId(), seat.getId());
+    }
 
-        return bookings.stream()
-                .noneMatch(b -> b.getSeat().equals(seat) &&
-                        b.getStatus() != BookingStatus.CANCELLED);
+    /**
+     * Gibt die Anzahl freier Sitzplätze eines Events zurück
+     * und aktualisiert den gebuchten Zähler des Events
+     */
+    public int getAvailableSeatCount(Event event) throws DatabaseException {
+        SeatBitmap bitmap = availabilityIndex.forEvent(event.getId());
+        event.setBookedCount(bitmap.bookedCount());
+        return bitmap.freeCount();
+    }
+
+    /**
+     * Gibt die freien Sitzplätze eines Events zurück
+     * @param hallSeats alle Sitzplätze des Saals
+     */
+    public List<Seat> filterAvailableSeats(Event event, List<Seat> hallSeats) throws DatabaseException {
+        SeatBitmap bitmap = availabilityIndex.forEvent(event.getId());
+        return hallSeats.stream()
+                .filter(seat -> bitmap.isFree(seat.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Findet die besten nebeneinanderliegenden freien Plätze in einer Reihe
+     * @param hallSeats alle Sitzplätze des Saals
+     * @param partySize Anzahl Personen
+     * @return Sitze des besten Blocks oder leer, wenn kein Block passt
+     */
+    public Optional<List<Seat>> findBestAvailableSeats(Event event, List<Seat> hallSeats, int partySize)
+            throws DatabaseException {
+        SeatAllocator allocator = new SeatAllocator(hallSeats);
+        return allocator.findBestBlock(
+                availabilityIndex.forEvent(event.getId()),
+                partySize,
+                seat -> getPriceTier(event, seat),
+                SeatAllocator.Preference.defaults(allocator.getRowCount()));
+    }
+
+    /**
+     * Preisstufe eines Sitzes: 0 = Basispreis, 1 = Aufschlag
+     */
+    public int getPriceTier(Event event, Seat seat) {
+        return calculatePrice(event, seat) > event.getBasePrice() ? 1 : 0;
     }
 
     /**
@@ -101,14 +425,41 @@ public class BookingService {
      * Findet alle Buchungen eines Kunden
      */
     public List<Booking> findBookingsByCustomer(Long customerId) throws DatabaseException {
-        return bookingDAO.findByCustomer(customerId);
+        List<Booking> bookings = store.findByCustomer(customerId);
+        preload(bookings, Booking::getEvent);
+        return bookings;
     }
 
     /**
      * Findet alle Buchungen für ein Event
      */
     public List<Booking> findBookingsByEvent(Long eventId) throws DatabaseException {
-        return bookingDAO.findByEvent(eventId);
+        return store.findByEvent(eventId);
+    }
+
+    /**
+     * Lädt eine Seite der Buchungen eines Events (neueste zuerst)
+     * @param after letzte Buchung der vorherigen Seite, null für die erste Seite
+     */
+    public Page<Booking> findBookingsByEventPage(Long eventId, Booking after, int pageSize) throws DatabaseException {
+        Page<Booking> page = store.findPageByEvent(eventId, after, pageSize);
+        preload(page.items(), Booking::getCustomer);
+        return page;
+    }
+
+    /**
+     * Lädt eine Zuordnung aller Buchungen vorab, die die Anzeige ohnehin braucht
+     * Der erste Zugriff löst den Batch für die ganze Liste aus; Fehler kommen so als
+     * DatabaseException hier an statt später beim Anzeigen.
+     */
+    private static void preload(List<Booking> bookings, Function<Booking, ?> association) throws DatabaseException {
+        try {
+            if (!bookings.isEmpty()) {
+                association.apply(bookings.get(0));
+            }
+        } catch (UncheckedDatabaseException e) {
+            throw e.getCause();
+        }
     }
 
     /**
@@ -116,9 +467,7 @@ public class BookingService {
      * Demonstriert Stream API und Lambda
      */
     public List<Booking> findActiveBookings() throws DatabaseException {
-        return bookingDAO.findAll().stream()
-                .filter(b -> b.getStatus() != BookingStatus.CANCELLED)
-                .collect(Collectors.toList());
+        return store.findActive();
     }
 
     /**
@@ -153,22 +502,30 @@ public class BookingService {
 
     /**
      * Berechnet den Gesamtumsatz aller bestätigten Buchungen
-     * Demonstriert Stream API mit reduce
+     * Die Summe wird im Buchungsspeicher gebildet
      */
     public double calculateTotalRevenue() throws DatabaseException {
-        return bookingDAO.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
-                .mapToDouble(Booking::getPrice)
-                .sum();
+        return store.sumConfirmedRevenue();
     }
 
     /**
      * Findet die teuerste Buchung
-     * Demonstriert Optional und Stream API
+     * Lädt nur die eine Buchung mit dem höchsten Preis
      */
     public Booking findMostExpensiveBooking() throws DatabaseException {
-        return bookingDAO.findAll().stream()
-                .max(Comparator.comparing(Booking::getPrice))
-                .orElse(null);
+        return store.findMostExpensive().orElse(null);
+    }
+
+    /**
+     * Prüft die Buchungszähler pro Event und Kunde gegen die Buchungen
+     * und baut sie bei Abweichungen neu auf
+     * @return gefundene Abweichungen (vor dem Neuaufbau)
+     */
+    public List<BookingStatsDAO.Drift> verifyAndRepairCounters() throws DatabaseException {
+        List<BookingStatsDAO.Drift> drifts = bookingStatsDAO.verify();
+        if (!drifts.isEmpty()) {
+            bookingStatsDAO.rebuild();
+        }
+        return drifts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,316 @@
+package service;
+
+import model.BookingStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Spaltenorientierter Buchungs-Snapshot für Auswertungen ohne Datenbank
+ * Die Datei wird per Memory-Mapping gelesen; jede Spalte ist ein primitives Array,
+ * Kategorien sind über ein Wörterbuch kodiert. Abfragen laufen als einfache Scans
+ * über die benötigten Spalten.
+ * Zeitpunkte sind lokale Zeiten, gespeichert als Sekunden seit 1970-01-01T00:00.
+ */
+public final class BookingSnapshot implements Closeable {
+
+    /** Alle Zeilen */
+    public static final IntPredicate ALL = row -> true;
+
+    // ================= Dateiformat =================
+    // Header (Little Endian):
+    //   0 long  MAGIC           8 int  VERSION        12 int  Anzahl Spalten
+    //  16 long  Zeilen         24 long Erstellt (Epoch-Millis)
+    //  32 long  Offset Wörterbuch  40 int Einträge    44 int  reserviert
+    //  48 long[Spalten] Offsets der Spalten
+    // Spalten liegen auf 8 Byte ausgerichtet; das Wörterbuch folgt am Ende
+    // als (int Länge, UTF-8 Bytes) je Eintrag.
+
+    static final long MAGIC = 0x50414e534b4f4f42L; // "BOOKSNAP"
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Spalten in Dateireihenfolge mit Breite in Byte
+     */
+    enum Column {
+        ID(8), EVENT_ID(8), SEAT_ID(8), CUSTOMER_ID(8), STATUS(1),
+        BOOKING_DATE(8), EVENT_DATE(8), PRICE_CENTS(8), CATEGORY(4);
+
+        final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+    }
+
+    static final int HEADER_BYTES = align(48 + 8 * Column.values().length);
+
+    static int align(long position) {
+        return (int) ((position + 7) & ~7L);
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // ================= Lesen =================
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final FileChannel channel;
+    private final int rowCount;
+    private final LocalDateTime createdAt;
+    private final String[] dictionary;
+    private final LongBuffer ids;
+    private final LongBuffer eventIds;
+    private final LongBuffer seatIds;
+    private final LongBuffer customerIds;
+    private final ByteBuffer statuses;
+    private final LongBuffer bookingDates;
+    private final LongBuffer eventDates;
+    private final LongBuffer prices;
+    private final IntBuffer categories;
+
+    private BookingSnapshot(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ORDER);
+        if (header.getLong(0) != MAGIC) {
+            throw new IOException("Keine Snapshot-Datei");
+        }
+        if (header.getInt(8) != VERSION || header.getInt(12) != Column.values().length) {
+            throw new IOException("Nicht unterstützte Snapshot-Version " + header.getInt(8));
+        }
+        long rows = header.getLong(16);
+        this.rowCount = Math.toIntExact(rows);
+        this.createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(header.getLong(24)), ZoneId.systemDefault());
+        this.dictionary = readDictionary(header.getLong(32), header.getInt(40));
+
+        ByteBuffer[] columns = new ByteBuffer[Column.values().length];
+        for (Column column : Column.values()) {
+            long offset = header.getLong(48 + 8 * column.ordinal());
+            columns[column.ordinal()] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                    rows * column.width).order(ORDER);
+        }
+        this.ids = columns[Column.ID.ordinal()].asLongBuffer();
+        this.eventIds = columns[Column.EVENT_ID.ordinal()].asLongBuffer();
+        this.seatIds = columns[Column.SEAT_ID.ordinal()].asLongBuffer();
+        this.customerIds = columns[Column.CUSTOMER_ID.ordinal()].asLongBuffer();
+        this.statuses = columns[Column.STATUS.ordinal()];
+        this.bookingDates = columns[Column.BOOKING_DATE.ordinal()].asLongBuffer();
+        this.eventDates = columns[Column.EVENT_DATE.ordinal()].asLongBuffer();
+        this.prices = columns[Column.PRICE_CENTS.ordinal()].asLongBuffer();
+        this.categories = columns[Column.CATEGORY.ordinal()].asIntBuffer();
+    }
+
+    /**
+     * Öffnet eine Snapshot-Datei
+     * Die Spalten werden nur gemappt; gelesen wird erst bei Abfragen.
+     */
+    public static BookingSnapshot open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new BookingSnapshot(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private String[] readDictionary(long offset, int entries) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, channel.size() - offset).order(ORDER);
+        String[] values = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    /**
+     * Schließt die Datei; die gemappten Bereiche gibt der Garbage Collector frei
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public int size() {
+        return rowCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Alle vorkommenden Kategorien
+     */
+    public List<String> getCategories() {
+        return List.of(dictionary);
+    }
+
+    // Zugriff auf einzelne Zeilen
+
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    public long eventId(int row) {
+        return eventIds.get(row);
+    }
+
+    public long seatId(int row) {
+        return seatIds.get(row);
+    }
+
+    public long customerId(int row) {
+        return customerIds.get(row);
+    }
+
+    public BookingStatus status(int row) {
+        return STATUSES[statuses.get(row)];
+    }
+
+    public LocalDateTime bookingDate(int row) {
+        return LocalDateTime.ofEpochSecond(bookingDates.get(row), 0, ZoneOffset.UTC);
+    }
+
+    public LocalDateTime eventDate(int row) {
+        return LocalDateTime.ofEpochSecond(eventDates.get(row), 0, ZoneOffset.UTC);
+    }
+
+    public long priceCents(int row) {
+        return prices.get(row);
+    }
+
+    public String category(int row) {
+        return dictionary[categories.get(row)];
+    }
+
+    // ================= Filter =================
+
+    /**
+     * Buchungen für Events im Zeitraum [from, to)
+     */
+    public IntPredicate eventsBetween(LocalDateTime from, LocalDateTime to) {
+        long start = toEpochSecond(from);
+        long end = toEpochSecond(to);
+        return row -> {
+            long date = eventDates.get(row);
+            return date >= start && date < end;
+        };
+    }
+
+    /**
+     * Buchungen einer Kategorie
+     */
+    public IntPredicate inCategory(String category) {
+        int code = Arrays.asList(dictionary).indexOf(category);
+        return row -> categories.get(row) == code;
+    }
+
+    // ================= Auswertungen =================
+
+    /**
+     * Anzahl Buchungen pro Status
+     */
+    public Map<BookingStatus, Long> countByStatus(IntPredicate filter) {
+        long[] counts = new long[STATUSES.length];
+        for (int row = 0; row < rowCount; row++) {
+            if (filter.test(row)) {
+                counts[statuses.get(row)]++;
+            }
+        }
+        Map<BookingStatus, Long> result = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : STATUSES) {
+            if (counts[status.ordinal()] > 0) {
+                result.put(status, counts[status.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Umsatz der bestätigten Buchungen pro Kategorie, nach Kategorie sortiert
+     */
+    public Map<String, Double> confirmedRevenueByCategory(IntPredicate filter) {
+        byte confirmed = (byte) BookingStatus.CONFIRMED.ordinal();
+        long[] cents = new long[dictionary.length];
+        for (int row = 0; row < rowCount; row++) {
+            if (statuses.get(row) == confirmed && filter.test(row)) {
+                cents[categories.get(row)] += prices.get(row);
+            }
+        }
+        Map<String, Double> result = new TreeMap<>();
+        for (int code = 0; code < cents.length; code++) {
+            if (cents[code] != 0) {
+                result.put(dictionary[code], cents[code] / 100.0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Umsatz der bestätigten Buchungen pro Event
+     */
+    public Map<Long, Double> confirmedRevenueByEvent(IntPredicate filter) {
+        byte confirmed = (byte) BookingStatus.CONFIRMED.ordinal();
+        Map<Long, long[]> cents = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (statuses.get(row) == confirmed && filter.test(row)) {
+                cents.computeIfAbsent(eventIds.get(row), id -> new long[1])[0] += prices.get(row);
+            }
+        }
+        Map<Long, Double> result = new HashMap<>();
+        cents.forEach((eventId, sum) -> result.put(eventId, sum[0] / 100.0));
+        return result;
+    }
+
+    /**
+     * Aktive (reservierte oder bestätigte) Buchungen pro Event
+     */
+    public Map<Long, Long> activeBookingsByEvent(IntPredicate filter) {
+        byte reserved = (byte) BookingStatus.RESERVED.ordinal();
+        byte confirmed = (byte) BookingStatus.CONFIRMED.ordinal();
+        Map<Long, long[]> counts = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            byte status = statuses.get(row);
+            if ((status == reserved || status == confirmed) && filter.test(row)) {
+                counts.computeIfAbsent(eventIds.get(row), id -> new long[1])[0]++;
+            }
+        }
+        Map<Long, Long> result = new HashMap<>();
+        counts.forEach((eventId, count) -> result.put(eventId, count[0]));
+        return result;
+    }
+
+    /**
+     * Zeilennummern aller passenden Buchungen, z.B. für Detailauswertungen
+     */
+    public int[] rows(IntPredicate filter) {
+        return IntStream.range(0, rowCount).filter(filter).toArray();
+    }
+}
@@ -0,0 +1,144 @@
+package service;
+
+import dao.ExportDAO;
+import model.BookingStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Schreibt einen spaltenorientierten Buchungs-Snapshot (Format siehe BookingSnapshot)
+ * Die Zeilenzahl ist vorab bekannt; jede Spalte wird als eigener Bereich gemappt und
+ * direkt an ihrer Position beschrieben, ohne die Zeilen im Heap zu sammeln.
+ */
+public class BookingSnapshotWriter implements ExportDAO.BookingRowSink, Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] columns = new MappedByteBuffer[BookingSnapshot.Column.values().length];
+    private final long[] offsets = new long[columns.length];
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private long capacity = -1;
+    private long dictionaryOffset;
+    private int rows;
+
+    /**
+     * Konstruktor
+     * @param file Zieldatei; wird angelegt oder überschrieben
+     */
+    public BookingSnapshotWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public void begin(long rowCount) throws IOException {
+        // Ein gemappter Bereich ist auf 2 GB begrenzt
+        if (rowCount * 8 > Integer.MAX_VALUE) {
+            throw new IOException("Zu viele Buchungen für einen Snapshot: " + rowCount);
+        }
+        capacity = rowCount;
+
+        long position = BookingSnapshot.HEADER_BYTES;
+        for (BookingSnapshot.Column column : BookingSnapshot.Column.values()) {
+            long size = rowCount * column.width;
+            offsets[column.ordinal()] = position;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            buffer.order(BookingSnapshot.ORDER);
+            columns[column.ordinal()] = buffer;
+            position = BookingSnapshot.align(position + size);
+        }
+        dictionaryOffset = position;
+    }
+
+    @Override
+    public void row(long id, long eventId, long seatId, long customerId, BookingStatus status,
+                    LocalDateTime bookingDate, LocalDateTime eventDate, long priceCents, String category)
+            throws IOException {
+        if (rows >= capacity) {
+            throw new IOException("Mehr Buchungen als angekündigt (" + capacity + ")");
+        }
+        int row = rows++;
+        column(BookingSnapshot.Column.ID).putLong(row * 8, id);
+        column(BookingSnapshot.Column.EVENT_ID).putLong(row * 8, eventId);
+        column(BookingSnapshot.Column.SEAT_ID).putLong(row * 8, seatId);
+        column(BookingSnapshot.Column.CUSTOMER_ID).putLong(row * 8, customerId);
+        column(BookingSnapshot.Column.STATUS).put(row, (byte) status.ordinal());
+        column(BookingSnapshot.Column.BOOKING_DATE).putLong(row * 8, BookingSnapshot.toEpochSecond(bookingDate));
+        column(BookingSnapshot.Column.EVENT_DATE).putLong(row * 8, BookingSnapshot.toEpochSecond(eventDate));
+        column(BookingSnapshot.Column.PRICE_CENTS).putLong(row * 8, priceCents);
+        column(BookingSnapshot.Column.CATEGORY).putInt(row * 4,
+                dictionary.computeIfAbsent(category, c -> dictionary.size()));
+    }
+
+    private MappedByteBuffer column(BookingSnapshot.Column column) {
+        return columns[column.ordinal()];
+    }
+
+    /**
+     * Schreibt Wörterbuch und Header, bringt alles auf die Platte und schließt die Datei
+     * Der Header entsteht zuletzt; ein abgebrochener Snapshot ist daher nicht lesbar.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (capacity < 0) {
+                return;
+            }
+            if (rows != capacity) {
+                throw new IOException("Snapshot unvollständig: " + rows + " von " + capacity + " Buchungen");
+            }
+            for (MappedByteBuffer buffer : columns) {
+                buffer.force();
+            }
+            writeDictionary();
+            writeHeader();
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeDictionary() throws IOException {
+        long position = dictionaryOffset;
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer entry = ByteBuffer.allocate(4 + bytes.length).order(BookingSnapshot.ORDER);
+            entry.putInt(bytes.length).put(bytes).flip();
+            position += writeFully(entry, position);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BookingSnapshot.HEADER_BYTES).order(BookingSnapshot.ORDER);
+        header.putLong(BookingSnapshot.MAGIC)
+                .putInt(BookingSnapshot.VERSION)
+                .putInt(columns.length)
+                .putLong(rows)
+                .putLong(System.currentTimeMillis())
+                .putLong(dictionaryOffset)
+                .putInt(dictionary.size())
+                .putInt(0);
+        for (long offset : offsets) {
+            header.putLong(offset);
+        }
+        header.clear();
+        writeFully(header, 0);
+    }
+
+    private int writeFully(ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
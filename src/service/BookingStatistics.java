@@ -0,0 +1,321 @@
+package service;
+
+import dao.BookingDAO;
+import dao.ReportDAO;
+import exceptions.DatabaseException;
+import model.Booking;
+import model.BookingObserver;
+import model.BookingStatus;
+import model.Event;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Laufende Buchungskennzahlen im Speicher (global, pro Kategorie und pro Event)
+ * Singleton Pattern, damit alle Services dieselben Zähler fortschreiben.
+ * Die Zähler werden beim Start mit einer Abfrage befüllt und danach über
+ * den BookingEventBus bzw. den Ablauf von Reservierungen aktuell gehalten.
+ * Schreibzugriffe nutzen LongAdder und kommen ohne Sperren aus.
+ */
+public class BookingStatistics implements BookingObserver {
+
+    /** Kategorie-Schlüssel für Events ohne Kategorie */
+    public static final String NO_CATEGORY = "-";
+
+    /**
+     * Momentaufnahme einer Zählerebene
+     * @param reserved reservierte Buchungen
+     * @param confirmed bestätigte Buchungen
+     * @param cancelled stornierte Buchungen
+     * @param confirmedRevenue Umsatz der bestätigten Buchungen
+     */
+    public record Totals(long reserved, long confirmed, long cancelled, double confirmedRevenue) {
+
+        /** Nicht stornierte Buchungen */
+        public long active() {
+            return reserved + confirmed;
+        }
+
+        /** Alle Buchungen */
+        public long total() {
+            return reserved + confirmed + cancelled;
+        }
+    }
+
+    /**
+     * Zähler einer Ebene; der Umsatz wird exakt in Cent geführt
+     */
+    private static class Counters {
+        final LongAdder reserved = new LongAdder();
+        final LongAdder confirmed = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+
+        void add(BookingStatus status, long count, long cents) {
+            if (status == null) {
+                return;
+            }
+            switch (status) {
+                case RESERVED -> reserved.add(count);
+                case CONFIRMED -> {
+                    confirmed.add(count);
+                    revenueCents.add(cents);
+                }
+                case CANCELLED -> cancelled.add(count);
+                default -> {
+                    // AVAILABLE wird nicht gespeichert
+                }
+            }
+        }
+
+        void add(Totals totals, int sign) {
+            reserved.add(sign * totals.reserved());
+            confirmed.add(sign * totals.confirmed());
+            cancelled.add(sign * totals.cancelled());
+            revenueCents.add(sign * toCents(totals.confirmedRevenue()));
+        }
+
+        Totals totals() {
+            return new Totals(reserved.sum(), confirmed.sum(), cancelled.sum(), revenueCents.sum() / 100.0);
+        }
+    }
+
+    /**
+     * Zähler eines Events mit Name und Kategorie für Auswertungen
+     */
+    private static final class EventCounters extends Counters {
+        volatile String name;
+        volatile String category;
+
+        EventCounters(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+    }
+
+    /**
+     * Alle Zähler; wird beim Befüllen komplett ersetzt
+     */
+    private record State(Counters global, Map<String, Counters> byCategory, Map<Long, EventCounters> byEvent) {
+
+        static State empty() {
+            return new State(new Counters(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        Counters category(String category) {
+            return byCategory.computeIfAbsent(category, c -> new Counters());
+        }
+    }
+
+    private static BookingStatistics instance;
+
+    private volatile State state = State.empty();
+    private volatile boolean seeded;
+    // Letztes Ereignis des BookingEventBus, das im Stand von seed() enthalten ist; nur unter this
+    private long seededThrough = -1;
+    private ReportDAO reportDAO;
+
+    private BookingStatistics() {
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück
+     */
+    public static synchronized BookingStatistics getInstance() {
+        if (instance == null) {
+            instance = new BookingStatistics();
+        }
+        return instance;
+    }
+
+    /**
+     * Befüllt alle Zähler mit einer Aggregat-Abfrage neu
+     * Die Abfrage läuft unter der ruhenden Sperre des BookingEventBus: jeder gespeicherte
+     * Statuswechsel und jeder gemeldete Reservierungsablauf ist bis dahin veröffentlicht, neue
+     * warten. Die Abfrage enthält also genau die Ereignisse bis lastSequence(); onBatch()
+     * überspringt sie. Buchungsbefehle und die Zustellung warten so lange.
+     * Im Journal-Modus muss die MySQL-Projektion vorher aufgeholt haben (siehe MainController).
+     */
+    public void seed() throws DatabaseException {
+        Lock quiescent = BookingEventBus.getInstance().quiescentLock();
+        quiescent.lock();
+        try {
+            synchronized (this) {
+                long through = BookingEventBus.getInstance().lastSequence();
+                State loaded = State.empty();
+                for (ReportDAO.BookingTotals row : getReportDAO().loadBookingTotals()) {
+                    String category = categoryKey(row.category());
+                    EventCounters event = loaded.byEvent().computeIfAbsent(row.eventId(),
+                            id -> new EventCounters(row.eventName(), category));
+                    long cents = toCents(row.amount());
+                    for (Counters counters : List.of(loaded.global(), loaded.category(category), event)) {
+                        counters.add(row.status(), row.count(), cents);
+                    }
+                }
+                state = loaded;
+                seededThrough = through;
+                seeded = true;
+            }
+        } finally {
+            quiescent.unlock();
+        }
+    }
+
+    /**
+     * true, sobald seed() einmal erfolgreich war
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    // ================= Fortschreiben =================
+
+    /**
+     * Schreibt einen Block vom BookingEventBus fort (im Thread des Abonnements)
+     * Läuft unter derselben Sperre wie seed(), damit Befüllen und Fortschreiben nacheinander
+     * geschehen; bereits im befüllten Stand enthaltene Ereignisse werden übersprungen.
+     */
+    public synchronized void onBatch(List<BookingEventBus.StatusChange> batch) {
+        for (BookingEventBus.StatusChange change : batch) {
+            if (change.sequence() > seededThrough) {
+                onStatusChanged(change.booking(), change.oldStatus(), change.newStatus());
+            }
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Booking booking, BookingStatus oldStatus, BookingStatus newStatus) {
+        State current = state;
+        EventCounters counters = current.byEvent().get(booking.getEventId());
+        if (counters == null) {
+            // Event nur für unbekannte Events laden (bei gelesenen Buchungen ein LazyRef)
+            Event event = booking.getEvent();
+            counters = current.byEvent().computeIfAbsent(event.getId(),
+                    id -> new EventCounters(event.getName(), categoryKey(event.getCategory())));
+        }
+        long cents = toCents(booking.getPrice());
+
+        for (Counters level : List.of(current.global(), current.category(counters.category), counters)) {
+            level.add(oldStatus, -1, -cents);
+            level.add(newStatus, 1, cents);
+        }
+    }
+
+    /**
+     * Zählt abgelaufene Reservierungen als storniert
+     * Für ReservationHoldScheduler.addExpiryListener. Der Scheduler meldet unter der Commit-Sperre,
+     * ein Ablauf ist also entweder vollständig im Stand von seed() enthalten oder kommt danach.
+     */
+    public synchronized void onHoldsExpired(List<BookingDAO.Hold> expired) {
+        State current = state;
+        for (BookingDAO.Hold hold : expired) {
+            EventCounters counters = current.byEvent().get(hold.eventId());
+            if (counters == null) {
+                continue;
+            }
+            for (Counters level : List.of(current.global(), current.category(counters.category), counters)) {
+                level.add(BookingStatus.RESERVED, -1, 0);
+                level.add(BookingStatus.CANCELLED, 1, 0);
+            }
+        }
+    }
+
+    /**
+     * Übernimmt Name und Kategorie eines geänderten Events
+     * Bei neuer Kategorie werden die Zähler des Events umgebucht.
+     */
+    public synchronized void onEventChanged(Event event) {
+        State current = state;
+        EventCounters counters = current.byEvent().get(event.getId());
+        if (counters == null) {
+            return;
+        }
+        counters.name = event.getName();
+        String category = categoryKey(event.getCategory());
+        if (!category.equals(counters.category)) {
+            Totals totals = counters.totals();
+            current.category(counters.category).add(totals, -1);
+            current.category(category).add(totals, 1);
+            counters.category = category;
+        }
+    }
+
+    /**
+     * Entfernt ein gelöschtes Event samt seiner Buchungen aus allen Ebenen
+     */
+    public synchronized void onEventDeleted(Long eventId) {
+        State current = state;
+        EventCounters counters = current.byEvent().remove(eventId);
+        if (counters != null) {
+            Totals totals = counters.totals();
+            current.global().add(totals, -1);
+            current.category(counters.category).add(totals, -1);
+        }
+    }
+
+    // ================= Abfragen =================
+
+    /**
+     * Kennzahlen über alle Buchungen
+     */
+    public Totals global() {
+        return state.global().totals();
+    }
+
+    /**
+     * Kennzahlen eines Events (leer, wenn es keine Buchungen hat)
+     */
+    public Optional<Totals> forEvent(Long eventId) {
+        EventCounters counters = state.byEvent().get(eventId);
+        return counters != null ? Optional.of(counters.totals()) : Optional.empty();
+    }
+
+    /**
+     * Kennzahlen pro Kategorie, nach Kategorie sortiert
+     */
+    public Map<String, Totals> byCategory() {
+        Map<String, Totals> result = new TreeMap<>();
+        state.byCategory().forEach((category, counters) -> result.put(category, counters.totals()));
+        return result;
+    }
+
+    /**
+     * Events mit den meisten aktiven Buchungen
+     * @param limit Anzahl Events
+     */
+    public List<ReportDAO.EventBookings> topEvents(int limit) {
+        List<ReportDAO.EventBookings> events = new ArrayList<>();
+        state.byEvent().forEach((id, counters) -> {
+            long active = counters.totals().active();
+            if (active > 0) {
+                events.add(new ReportDAO.EventBookings(id, counters.name, active));
+            }
+        });
+        events.sort(Comparator.comparingLong(ReportDAO.EventBookings::bookings).reversed()
+                .thenComparingLong(ReportDAO.EventBookings::eventId));
+        return events.size() > limit ? events.subList(0, limit) : events;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null || category.isBlank() ? NO_CATEGORY : category;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private synchronized ReportDAO getReportDAO() {
+        if (reportDAO == null) {
+            reportDAO = new ReportDAO();
+        }
+        return reportDAO;
+    }
+}
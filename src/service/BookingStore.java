@@ -0,0 +1,125 @@
+package service;
+
+import dao.BookingDAO;
+import dao.Page;
+import exceptions.DatabaseException;
+import model.Booking;
+import util.DatabaseConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Speicher für Buchungen hinter dem BookingService
+ * DatabaseBookingStore arbeitet direkt auf MySQL, JournaledBookingStore hält den
+ * Bestand im Speicher und führt MySQL asynchron nach. Sitzkonflikte und unzulässige
+ * Statuswechsel erkennt der Speicher selbst.
+ */
+public interface BookingStore {
+
+    /**
+     * Wählt den Buchungsspeicher nach booking.engine in db.properties
+     * Im Journal-Modus wird das Journal beim Beenden geschlossen; ein Journal, das sich
+     * nicht öffnen lässt, bricht den Start ab, weil MySQL dann veraltet sein kann.
+     */
+    static BookingStore fromConfig() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        if (!"journal".equalsIgnoreCase(config.getProperty("booking.engine", "database"))) {
+            return new DatabaseBookingStore();
+        }
+        Path directory = Path.of(config.getProperty("booking.journal.dir", "data/journal"));
+        try {
+            JournaledBookingStore store = JournaledBookingStore.open(directory);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Buchungsjournal konnte nicht geschlossen werden: " + e.getMessage());
+                }
+            }, "booking-journal-shutdown"));
+            return store;
+        } catch (IOException | DatabaseException e) {
+            throw new IllegalStateException("Buchungsjournal in " + directory + " konnte nicht geöffnet werden: "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Speichert eine neue Buchung und setzt ihre ID
+     * @return false, wenn der Sitz für das Event bereits aktiv gebucht ist
+     */
+    boolean tryInsert(Booking booking) throws DatabaseException;
+
+    /**
+     * Speichert mehrere Buchungen eines Events: alle oder keine
+     * @return leere Liste bei Erfolg, sonst die IDs der bereits belegten Sitze
+     */
+    List<Long> tryInsertAll(List<Booking> bookings) throws DatabaseException;
+
+    /**
+     * Speichert den neuen Status einer Buchung
+     */
+    void update(Booking booking) throws DatabaseException;
+
+    /**
+     * Entfernt die Buchungen eines gelöschten Events
+     * Aufruf nach EventDAO.delete, das die Buchungen in MySQL per CASCADE löscht.
+     */
+    void forgetEvent(Long eventId) throws DatabaseException;
+
+    Optional<Booking> findById(Long id) throws DatabaseException;
+
+    /**
+     * Buchungen eines Kunden, neueste zuerst
+     */
+    List<Booking> findByCustomer(Long customerId) throws DatabaseException;
+
+    /**
+     * Buchungen eines Events, neueste zuerst
+     */
+    List<Booking> findByEvent(Long eventId) throws DatabaseException;
+
+    /**
+     * Eine Seite der Buchungen eines Events (booking_date DESC, id DESC)
+     * @param after letzte Buchung der vorherigen Seite, null für die erste Seite
+     */
+    Page<Booking> findPageByEvent(Long eventId, Booking after, int pageSize) throws DatabaseException;
+
+    /**
+     * Alle nicht stornierten Buchungen, neueste zuerst
+     */
+    List<Booking> findActive() throws DatabaseException;
+
+    /**
+     * Summe der Preise aller bestätigten Buchungen
+     */
+    double sumConfirmedRevenue() throws DatabaseException;
+
+    /**
+     * Buchung mit dem höchsten Preis
+     */
+    Optional<Booking> findMostExpensive() throws DatabaseException;
+
+    /**
+     * Belegung aller Sitzplätze des Saals eines Events (für den SeatAvailabilityIndex)
+     */
+    BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException;
+
+    /**
+     * Laufende Reservierungen (für den ReservationHoldScheduler)
+     */
+    List<BookingDAO.Hold> findActiveHolds() throws DatabaseException;
+
+    /**
+     * Storniert die Reservierungen, sofern sie noch RESERVED und abgelaufen sind
+     * @return tatsächlich stornierte Reservierungen
+     */
+    List<BookingDAO.Hold> expireHolds(List<Long> bookingIds) throws DatabaseException;
+
+    /**
+     * Storniert alle abgelaufenen Reservierungen
+     */
+    List<BookingDAO.Hold> expireAllDueHolds() throws DatabaseException;
+}
@@ -1,6 +1,8 @@
 package service;
 
+import dao.Criteria;
 import dao.CustomerDAO;
+import dao.Page;
 import exceptions.DatabaseException;
 import exceptions.ValidationException;
 import model.Customer;
@@ -79,6 +81,14 @@ public class CustomerService {
         return customerDAO.findAll();
     }
 
+    /**
+     * Lädt eine Seite von Kunden (sortiert nach Nachname, Vorname)
+     * @param after letzter Kunde der vorherigen Seite, null für die erste Seite
+     */
+    public Page<Customer> findCustomersPage(Customer after, int pageSize) throws DatabaseException {
+        return customerDAO.findPage(Criteria.of(Customer.class), after, pageSize);
+    }
+
     /**
      * Findet einen Kunden nach E-Mail
      */
@@ -100,37 +110,31 @@ public class CustomerService {
      * Sucht Kunden nach Namen (case-insensitive)
      */
     public List<Customer> searchCustomersByName(String searchTerm) throws DatabaseException {
-        String lowerSearch = searchTerm.toLowerCase();
-
-        return customerDAO.findAll().stream()
-                .filter(c -> c.getFirstName().toLowerCase().contains(lowerSearch) ||
-                        c.getLastName().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+        return customerDAO.searchByName(searchTerm);
     }
 
     /**
      * Findet Kunden mit aktiven Buchungen
      */
     public List<Customer> findCustomersWithActiveBookings() throws DatabaseException {
-        return customerDAO.findAll().stream()
-                .filter(c -> c.getActiveBookingsCount() > 0)
-                .collect(Collectors.toList());
+        return customerDAO.findBy(Criteria.of(Customer.class)
+                .gt(CustomerDAO.Field.ACTIVE_BOOKINGS, 0));
     }
 
     /**
      * Berechnet die Gesamtzahl der Kunden
      */
     public long getTotalCustomerCount() throws DatabaseException {
-        return customerDAO.findAll().size();
+        return customerDAO.count(Criteria.of(Customer.class));
     }
 
     /**
      * Findet Top-Kunden nach Anzahl der Buchungen
      */
     public List<Customer> findTopCustomers(int limit) throws DatabaseException {
-        return customerDAO.findAll().stream()
-                .sorted(Comparator.comparing(Customer::getActiveBookingsCount).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        return customerDAO.findBy(Criteria.of(Customer.class)
+                .orderBy(CustomerDAO.Field.ACTIVE_BOOKINGS, Criteria.Direction.DESC)
+                .orderBy(CustomerDAO.Field.ID)
+                .limit(limit));
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package service;
+
+import dao.BookingDAO;
+import dao.Criteria;
+import dao.Page;
+import exceptions.DatabaseException;
+import model.Booking;
+import model.BookingStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Buchungsspeicher direkt auf MySQL (Standard)
+ * Jede Operation ist eine Abfrage bzw. Transaktion über den BookingDAO.
+ */
+public class DatabaseBookingStore implements BookingStore {
+
+    private final BookingDAO bookingDAO;
+
+    public DatabaseBookingStore() {
+        this.bookingDAO = new BookingDAO();
+    }
+
+    @Override
+    public boolean tryInsert(Booking booking) throws DatabaseException {
+        return bookingDAO.tryInsert(booking);
+    }
+
+    @Override
+    public List<Long> tryInsertAll(List<Booking> bookings) throws DatabaseException {
+        return bookingDAO.tryInsertAll(bookings);
+    }
+
+    @Override
+    public void update(Booking booking) throws DatabaseException {
+        bookingDAO.update(booking);
+    }
+
+    /**
+     * Nichts zu tun: die Buchungen wurden mit dem Event per CASCADE gelöscht
+     */
+    @Override
+    public void forgetEvent(Long eventId) {
+    }
+
+    @Override
+    public Optional<Booking> findById(Long id) throws DatabaseException {
+        return bookingDAO.findById(id);
+    }
+
+    @Override
+    public List<Booking> findByCustomer(Long customerId) throws DatabaseException {
+        return bookingDAO.findByCustomer(customerId);
+    }
+
+    @Override
+    public List<Booking> findByEvent(Long eventId) throws DatabaseException {
+        return bookingDAO.findByEvent(eventId);
+    }
+
+    @Override
+    public Page<Booking> findPageByEvent(Long eventId, Booking after, int pageSize) throws DatabaseException {
+        return bookingDAO.findPage(Criteria.of(Booking.class).eq(BookingDAO.Field.EVENT_ID, eventId),
+                after, pageSize);
+    }
+
+    @Override
+    public List<Booking> findActive() throws DatabaseException {
+        return bookingDAO.findBy(Criteria.of(Booking.class)
+                .ne(BookingDAO.Field.STATUS, BookingStatus.CANCELLED));
+    }
+
+    /**
+     * Die Summe wird in der Datenbank gebildet
+     */
+    @Override
+    public double sumConfirmedRevenue() throws DatabaseException {
+        return bookingDAO.aggregate(Criteria.Aggregate.SUM, BookingDAO.Field.PRICE,
+                        Criteria.of(Booking.class).eq(BookingDAO.Field.STATUS, BookingStatus.CONFIRMED))
+                .orElse(0.0);
+    }
+
+    /**
+     * Lädt nur die eine Buchung mit dem höchsten Preis
+     */
+    @Override
+    public Optional<Booking> findMostExpensive() throws DatabaseException {
+        return bookingDAO.findBy(Criteria.of(Booking.class)
+                        .orderBy(BookingDAO.Field.PRICE, Criteria.Direction.DESC)
+                        .limit(1))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException {
+        return bookingDAO.loadSeatOccupancy(eventId);
+    }
+
+    @Override
+    public List<BookingDAO.Hold> findActiveHolds() throws DatabaseException {
+        return bookingDAO.findActiveHolds();
+    }
+
+    @Override
+    public List<BookingDAO.Hold> expireHolds(List<Long> bookingIds) throws DatabaseException {
+        return bookingDAO.expireHolds(bookingIds);
+    }
+
+    @Override
+    public List<BookingDAO.Hold> expireAllDueHolds() throws DatabaseException {
+        return bookingDAO.expireAllDueHolds();
+    }
+}
@@ -1,6 +1,8 @@
 package service;
 
+import dao.Criteria;
 import dao.EventDAO;
+import dao.Page;
 import exceptions.DatabaseException;
 import model.Event;
 
@@ -15,9 +17,11 @@ import java.util.stream.Collectors;
 public class EventService {
 
     private final EventDAO eventDAO;
+    private final BookingStore bookingStore;
 
-    public EventService() {
+    public EventService(BookingStore bookingStore) {
         this.eventDAO = new EventDAO();
+        this.bookingStore = bookingStore;
     }
 
     /**
@@ -37,13 +41,20 @@ public class EventService {
      */
     public void updateEvent(Event event) throws DatabaseException {
         eventDAO.update(event);
+        // Saal könnte sich geändert haben
+        SeatAvailabilityIndex.getInstance().invalidate(event.getId());
+        BookingStatistics.getInstance().onEventChanged(event);
     }
 
     /**
-     * Löscht ein Event
+     * Löscht ein Event samt seiner Buchungen
+     * MySQL löscht die Buchungen per CASCADE, der Buchungsspeicher vergisst sie danach.
      */
     public void deleteEvent(Long id) throws DatabaseException {
         eventDAO.delete(id);
+        bookingStore.forgetEvent(id);
+        SeatAvailabilityIndex.getInstance().invalidate(id);
+        BookingStatistics.getInstance().onEventDeleted(id);
     }
 
     /**
@@ -89,33 +100,37 @@ public class EventService {
 
     /**
      * Filtert zukünftige Events
-     * Demonstriert Stream API und Lambda
+     * Filter und Sortierung laufen in der Datenbank
      */
     public List<Event> findUpcomingEvents() throws DatabaseException {
-        LocalDateTime now = LocalDateTime.now();
-        return eventDAO.findAll().stream()
-                .filter(e -> e.getDateTime().isAfter(now))
-                .sorted(Comparator.comparing(Event::getDateTime))
-                .collect(Collectors.toList());
+        return eventDAO.findBy(Criteria.of(Event.class)
+                .gt(EventDAO.Field.DATE_TIME, LocalDateTime.now())
+                .orderBy(EventDAO.Field.DATE_TIME));
+    }
+
+    /**
+     * Lädt eine Seite zukünftiger Events (nächste zuerst)
+     * @param after letztes Event der vorherigen Seite, null für die erste Seite
+     */
+    public Page<Event> findUpcomingEventsPage(Event after, int pageSize) throws DatabaseException {
+        return eventDAO.findPage(Criteria.of(Event.class)
+                .gt(EventDAO.Field.DATE_TIME, LocalDateTime.now()), after, pageSize);
     }
 
     /**
      * Filtert Events mit verfügbaren Plätzen
      */
     public List<Event> findEventsWithAvailableSeats() throws DatabaseException {
-        return eventDAO.findAll().stream()
-                .filter(e -> e.getAvailableSeats() > 0)
-                .collect(Collectors.toList());
+        return eventDAO.findBy(Criteria.of(Event.class)
+                .gt(EventDAO.Field.AVAILABLE_SEATS, 0));
     }
 
     /**
-     * Sucht Events nach Namen (case-insensitive)
-     * Demonstriert Stream API
+     * Sucht Events nach Namen (case-insensitive laut Kollation)
      */
     public List<Event> searchEventsByName(String searchTerm) throws DatabaseException {
-        return eventDAO.findAll().stream()
-                .filter(e -> e.getName().toLowerCase().contains(searchTerm.toLowerCase()))
-                .collect(Collectors.toList());
+        return eventDAO.findBy(Criteria.of(Event.class)
+                .contains(EventDAO.Field.NAME, searchTerm));
     }
 
     /**
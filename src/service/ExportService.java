@@ -0,0 +1,112 @@
+package service;
+
+import dao.ExportDAO;
+import dao.QueryCancellation;
+import exceptions.DatabaseException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service-Klasse für Datenexporte (Buchungen, Kunden, Events)
+ * Die Zeilen fließen direkt vom Datenbank-Cursor in die Datei; der Speicherbedarf
+ * hängt nicht von der Anzahl der Zeilen ab.
+ */
+public class ExportService {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final ExportDAO exportDAO;
+
+    public ExportService() {
+        this.exportDAO = new ExportDAO();
+    }
+
+    /**
+     * Anzahl Zeilen eines Datenbestands (für die Fortschrittsanzeige)
+     */
+    public long countRows(ExportDAO.Dataset dataset) throws DatabaseException {
+        return exportDAO.count(dataset);
+    }
+
+    /**
+     * Vorgeschlagener Dateiname, z.B. "buchungen.csv.gz"
+     */
+    public String suggestFileName(ExportDAO.Dataset dataset, ExportWriter.Format format, boolean gzip) {
+        return dataset.getFileName() + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Exportiert einen Datenbestand in eine Datei
+     * Geschrieben wird in eine temporäre Datei im Zielverzeichnis, die erst nach
+     * vollständigem Export umbenannt wird; bei Fehler oder Abbruch bleibt das Ziel unverändert.
+     * @param target Zieldatei (wird ersetzt)
+     * @param gzip true, um die Datei mit gzip zu komprimieren
+     * @param progress erhält regelmäßig die Anzahl exportierter Zeilen
+     * @param cancellation Abbruch-Token oder null
+     * @return Anzahl exportierter Zeilen
+     */
+    public long export(ExportDAO.Dataset dataset, ExportWriter.Format format, boolean gzip, Path target,
+                       LongConsumer progress, QueryCancellation cancellation) throws DatabaseException, IOException {
+        return writeAtomically(target, temp -> {
+            try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 ExportWriter writer = new ExportWriter(gzip ? gzipChannel(file) : file, format)) {
+                return exportDAO.export(dataset, writer, progress, cancellation);
+            }
+        });
+    }
+
+    /**
+     * Schreibt alle Buchungen als spaltenorientierten Snapshot (siehe BookingSnapshot)
+     * Wie beim Export bleibt die Zieldatei bis zum vollständigen Schreiben unverändert.
+     * @return Anzahl Buchungen im Snapshot
+     */
+    public long writeBookingSnapshot(Path target) throws DatabaseException, IOException {
+        return writeAtomically(target, temp -> {
+            try (BookingSnapshotWriter writer = new BookingSnapshotWriter(temp)) {
+                return exportDAO.exportBookingSnapshot(writer);
+            }
+        });
+    }
+
+    /**
+     * Schreibvorgang in eine temporäre Datei
+     */
+    private interface FileWrite {
+        long writeTo(Path temp) throws DatabaseException, IOException;
+    }
+
+    private static long writeAtomically(Path target, FileWrite write) throws DatabaseException, IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, ".export-", ".tmp");
+        try {
+            long rows = write.writeTo(temp);
+            moveIntoPlace(temp, target);
+            return rows;
+        } catch (DatabaseException | IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static WritableByteChannel gzipChannel(FileChannel file) throws IOException {
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), GZIP_BUFFER_BYTES));
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
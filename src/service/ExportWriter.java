@@ -0,0 +1,230 @@
+package service;
+
+import dao.ExportDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Schreibt Exportzeilen als CSV oder JSON Lines (UTF-8) in einen Kanal
+ * Zeilen werden in einem Zeichenpuffer gesammelt und blockweise über einen
+ * wiederverwendeten ByteBuffer in den Kanal geschrieben.
+ */
+public class ExportWriter implements ExportDAO.RowSink, Closeable {
+
+    /**
+     * Ausgabeformat
+     */
+    public enum Format {
+        CSV("CSV", "csv"),
+        JSON_LINES("JSON Lines", "jsonl");
+
+        private final String displayName;
+        private final String extension;
+
+        Format(String displayName, String extension) {
+            this.displayName = displayName;
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final StringBuilder pending = new StringBuilder(BUFFER_CHARS + 4096);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_CHARS * 2);
+    private String[] jsonKeys;
+
+    /**
+     * Konstruktor
+     * @param channel Zielkanal; wird von close() geschlossen
+     * @param format Ausgabeformat
+     */
+    public ExportWriter(WritableByteChannel channel, Format format) {
+        this.channel = channel;
+        this.format = format;
+    }
+
+    @Override
+    public void begin(List<String> columns) throws IOException {
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    pending.append(',');
+                }
+                appendCsv(columns.get(i));
+            }
+            pending.append("\r\n");
+        } else {
+            // Schlüssel einmal escapen statt in jeder Zeile
+            jsonKeys = new String[columns.size()];
+            for (int i = 0; i < jsonKeys.length; i++) {
+                StringBuilder key = new StringBuilder();
+                appendJsonString(key, columns.get(i));
+                jsonKeys[i] = key.append(':').toString();
+            }
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        if (format == Format.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    pending.append(',');
+                }
+                if (values[i] != null) {
+                    appendCsv(toText(values[i]));
+                }
+            }
+            pending.append("\r\n");
+        } else {
+            pending.append('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    pending.append(',');
+                }
+                pending.append(jsonKeys[i]);
+                appendJsonValue(values[i]);
+            }
+            pending.append("}\n");
+        }
+        flushIfFull();
+    }
+
+    /**
+     * Schreibt alle gepufferten Zeilen und schließt den Kanal
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushIfFull() throws IOException {
+        if (pending.length() >= BUFFER_CHARS) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        // Der Puffer endet immer an einer Zeilengrenze, jeder Block ist daher vollständig
+        CharBuffer chars = CharBuffer.wrap(pending);
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+        } while (result.isOverflow());
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        encoder.reset();
+        pending.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    // ================= Formatierung =================
+
+    private void appendCsv(String text) {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            pending.append(text);
+            return;
+        }
+        pending.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                pending.append('"');
+            }
+            pending.append(c);
+        }
+        pending.append('"');
+    }
+
+    private void appendJsonValue(Object value) {
+        if (value == null) {
+            pending.append("null");
+        } else if (value instanceof BigDecimal decimal) {
+            pending.append(decimal.toPlainString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            pending.append(value);
+        } else {
+            appendJsonString(pending, toText(value));
+        }
+    }
+
+    private static void appendJsonString(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Textdarstellung eines Spaltenwerts; Datum und Zeit im ISO-Format
+     */
+    private static String toText(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -1,5 +1,6 @@
 package service;
 
+import dao.HallCatalog;
 import dao.HallDAO;
 import dao.SeatDAO;
 import exceptions.DatabaseException;
@@ -8,8 +9,10 @@ import model.Hall;
 import model.Seat;
 import util.Validator;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +23,7 @@ public class HallService {
 
     private final HallDAO hallDAO;
     private final SeatDAO seatDAO;
+    private final HallCatalog hallCatalog;
 
     /**
      * Konstruktor
@@ -27,6 +31,7 @@ public class HallService {
     public HallService() {
         this.hallDAO = new HallDAO();
         this.seatDAO = new SeatDAO();
+        this.hallCatalog = HallCatalog.getInstance();
     }
 
     /**
@@ -47,7 +52,9 @@ public class HallService {
 
         // Erstelle Saal
         Hall hall = new Hall(name, capacity);
-        return hallDAO.save(hall);
+        hallDAO.save(hall);
+        hallCatalog.refresh();
+        return hall;
     }
 
     /**
@@ -95,24 +102,17 @@ public class HallService {
             throw new IllegalArgumentException("Saal muss bereits in der Datenbank gespeichert sein");
         }
 
-        // Lösche existierende Sitzplätze (falls vorhanden)
-        List<Seat> existingSeats = seatDAO.findByHall(hall.getId());
-        for (Seat seat : existingSeats) {
-            seatDAO.delete(seat.getId());
-        }
-
-        // Erstelle neue Sitzplätze
+        // Ersetze existierende Sitzplätze in einer Transaktion
+        String[] rowLabels = new String[rows];
         for (int row = 1; row <= rows; row++) {
-            for (int number = 1; number <= seatsPerRow; number++) {
-                Seat seat = new Seat("Reihe " + row, number, hall);
-                Seat savedSeat = seatDAO.save(seat);
-                hall.addSeat(savedSeat);
-            }
+            rowLabels[row - 1] = "Reihe " + row;
         }
+        replaceSeats(hall, rowLabels, seatsPerRow);
 
         // Aktualisiere Kapazität
         hall.setCapacity(rows * seatsPerRow);
         hallDAO.update(hall);
+        hallCatalog.refresh();
     }
 
     /**
@@ -133,24 +133,40 @@ public class HallService {
             throw new IllegalArgumentException("Reihennamen dürfen nicht leer sein");
         }
 
-        // Lösche existierende Sitzplätze
-        List<Seat> existingSeats = seatDAO.findByHall(hall.getId());
-        for (Seat seat : existingSeats) {
-            seatDAO.delete(seat.getId());
+        // Ersetze Sitzplätze mit benutzerdefinierten Reihennamen
+        String[] rowLabels = new String[rowNames.length];
+        for (int i = 0; i < rowNames.length; i++) {
+            rowLabels[i] = "Reihe " + rowNames[i];
         }
+        replaceSeats(hall, rowLabels, seatsPerRow);
+
+        // Aktualisiere Kapazität
+        hall.setCapacity(rowNames.length * seatsPerRow);
+        hallDAO.update(hall);
+        hallCatalog.refresh();
+    }
 
-        // Erstelle Sitzplätze mit benutzerdefinierten Reihennamen
-        for (String rowName : rowNames) {
+    /**
+     * Schreibt das Sitzplatz-Layout eines Saals gebündelt in die Datenbank
+     * 
+     * @param hall        Der Saal
+     * @param rowLabels   Reihenbezeichnungen
+     * @param seatsPerRow Sitze pro Reihe
+     * @throws DatabaseException Bei Datenbankfehlern
+     */
+    private void replaceSeats(Hall hall, String[] rowLabels, int seatsPerRow) throws DatabaseException {
+        List<Seat> seats = new ArrayList<>(rowLabels.length * seatsPerRow);
+        for (String rowLabel : rowLabels) {
             for (int number = 1; number <= seatsPerRow; number++) {
-                Seat seat = new Seat("Reihe " + rowName, number, hall);
-                Seat savedSeat = seatDAO.save(seat);
-                hall.addSeat(savedSeat);
+                seats.add(new Seat(rowLabel, number, hall));
             }
         }
 
-        // Aktualisiere Kapazität
-        hall.setCapacity(rowNames.length * seatsPerRow);
-        hallDAO.update(hall);
+        seatDAO.replaceSeatsForHall(hall.getId(), seats);
+        SeatAvailabilityIndex.getInstance().invalidateAll();
+
+        hall.setSeats(new ArrayList<>(seats.size()));
+        seats.forEach(hall::addSeat);
     }
 
     /**
@@ -170,6 +186,7 @@ public class HallService {
         Validator.validateCapacity(hall.getCapacity());
 
         hallDAO.update(hall);
+        hallCatalog.refresh();
     }
 
     /**
@@ -185,6 +202,7 @@ public class HallService {
 
         // Sitzplätze werden durch CASCADE in der Datenbank gelöscht
         hallDAO.delete(id);
+        hallCatalog.refresh();
     }
 
     /**
@@ -199,12 +217,17 @@ public class HallService {
             throw new IllegalArgumentException("Saal-ID darf nicht null sein");
         }
 
-        Hall hall = hallDAO.findById(id)
+        Hall cached = hallCatalog.findHall(id)
                 .orElseThrow(() -> new IllegalArgumentException("Saal mit ID " + id + " nicht gefunden"));
 
-        // Lade Sitzplätze
-        List<Seat> seats = seatDAO.findByHall(hall.getId());
-        seats.forEach(hall::addSeat);
+        // Veränderbare Kopie, damit der Katalog unverändert bleibt
+        Hall hall = new Hall(cached.getName(), cached.getCapacity());
+        hall.setId(cached.getId());
+        for (Seat seat : hallCatalog.getSeats(id)) {
+            Seat copy = new Seat(seat.getRow(), seat.getNumber(), hall);
+            copy.setId(seat.getId());
+            hall.addSeat(copy);
+        }
 
         return hall;
     }
@@ -212,11 +235,11 @@ public class HallService {
     /**
      * Gibt alle Säle zurück
      * 
-     * @return Liste aller Säle
+     * @return Liste aller Säle (geteilte Katalog-Objekte, nicht verändern)
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public List<Hall> findAllHalls() throws DatabaseException {
-        return hallDAO.findAll();
+        return hallCatalog.getHalls();
     }
 
     /**
@@ -272,7 +295,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public List<Hall> findHallsWithMinCapacity(int minCapacity) throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .filter(h -> h.getCapacity() >= minCapacity)
                 .collect(Collectors.toList());
     }
@@ -287,7 +310,7 @@ public class HallService {
      */
     public List<Hall> findHallsByCapacityRange(int minCapacity, int maxCapacity)
             throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .filter(h -> h.getCapacity() >= minCapacity && h.getCapacity() <= maxCapacity)
                 .collect(Collectors.toList());
     }
@@ -306,7 +329,7 @@ public class HallService {
 
         String lowerSearch = searchTerm.toLowerCase();
 
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .filter(h -> h.getName().toLowerCase().contains(lowerSearch))
                 .collect(Collectors.toList());
     }
@@ -318,7 +341,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public int getTotalCapacity() throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .mapToInt(Hall::getCapacity)
                 .sum();
     }
@@ -330,7 +353,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public double getAverageCapacity() throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .mapToInt(Hall::getCapacity)
                 .average()
                 .orElse(0.0);
@@ -343,7 +366,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public Hall findLargestHall() throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .max(Comparator.comparing(Hall::getCapacity))
                 .orElse(null);
     }
@@ -355,7 +378,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public Hall findSmallestHall() throws DatabaseException {
-        return hallDAO.findAll().stream()
+        return hallCatalog.getHalls().stream()
                 .min(Comparator.comparing(Hall::getCapacity))
                 .orElse(null);
     }
@@ -364,14 +387,14 @@ public class HallService {
      * Gibt alle Sitzplätze eines Saals zurück
      * 
      * @param hallId Die Saal-ID
-     * @return Liste der Sitzplätze
+     * @return Liste der Sitzplätze (unveränderlich, aus dem Saal-Katalog)
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public List<Seat> getSeatsForHall(Long hallId) throws DatabaseException {
         if (hallId == null) {
             throw new IllegalArgumentException("Saal-ID darf nicht null sein");
         }
-        return seatDAO.findByHall(hallId);
+        return hallCatalog.getSeats(hallId);
     }
 
     /**
@@ -381,7 +404,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public long getHallCount() throws DatabaseException {
-        return hallDAO.findAll().size();
+        return hallCatalog.getHalls().size();
     }
 
     /**
@@ -394,7 +417,7 @@ public class HallService {
     public boolean hallExists(Long hallId) throws DatabaseException {
         if (hallId == null)
             return false;
-        return hallDAO.findById(hallId).isPresent();
+        return hallCatalog.findHall(hallId).isPresent();
     }
 
     /**
@@ -404,7 +427,7 @@ public class HallService {
      * @throws DatabaseException Bei Datenbankfehlern
      */
     public java.util.Map<String, List<Hall>> groupHallsByCapacityRange() throws DatabaseException {
-        List<Hall> halls = hallDAO.findAll();
+        List<Hall> halls = hallCatalog.getHalls();
 
         java.util.Map<String, List<Hall>> grouped = new java.util.HashMap<>();
         grouped.put("Klein (< 50)", halls.stream()
@@ -426,10 +449,11 @@ public class HallService {
      */
     public void initializeDefaultSeats() {
         try {
-            List<Hall> halls = findAllHalls();
+            // Eigene Objekte laden, da die Säle hier verändert werden
+            List<Hall> halls = hallDAO.findAll();
+            Map<Long, Integer> seatCounts = seatDAO.countSeatsPerHall();
             for (Hall hall : halls) {
-                List<Seat> seats = getSeatsForHall(hall.getId());
-                if (seats.isEmpty()) {
+                if (seatCounts.getOrDefault(hall.getId(), 0) == 0) {
                     System.out.println("Initialisiere Sitzplätze für Saal: " + hall.getName());
 
                     int seatsPerRow = 10;
@@ -0,0 +1,1052 @@
+package service;
+
+import dao.BookingDAO;
+import dao.Criteria;
+import dao.Page;
+import exceptions.DatabaseException;
+import exceptions.UncheckedDatabaseException;
+import model.Booking;
+import model.BookingStatus;
+import util.LongObjectMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Buchungsspeicher im Arbeitsspeicher mit Journal und Snapshots (booking.engine=journal)
+ * Der komplette Bestand liegt in Maps mit primitiven Schlüsseln; Lesen braucht keine
+ * Datenbank. Jeder Befehl (Anlegen, Statuswechsel) wird vor der Antwort in das
+ * BookingJournal geschrieben und gemeinsam mit gleichzeitigen Befehlen auf die Platte
+ * gebracht. Regelmäßige Snapshots kürzen das Journal und den Neustart.
+ * MySQL ist nur noch Projektion: ein eigener Thread schreibt geänderte Buchungen
+ * gebündelt und idempotent mit BookingDAO.upsertAll nach. Ein Snapshot wird erst
+ * gespeichert, wenn alles bis zu seiner Sequenz projiziert ist; nach einem Neustart
+ * werden die Buchungen aus dem Journal-Rest daher erneut projiziert.
+ * Der Speicher muss der einzige Schreiber der Buchungstabelle sein.
+ */
+public class JournaledBookingStore implements BookingStore, Closeable {
+
+    /** Größe eines Journal-Segments */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    /** Anzahl Journal-Datensätze, nach denen ein Snapshot geschrieben wird */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100_000;
+
+    private static final int PROJECTION_BATCH_SIZE = 1000;
+    private static final long PROJECTION_RETRY_MILLIS = 5000;
+    private static final long IDLE_POLL_MILLIS = 200;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    // ================= Datensätze im Journal =================
+    // CREATE: byte 1, int Anzahl, je Buchung long id, customerId, eventId, seatId,
+    //         byte Status, long Buchungsdatum, long Haltefrist (NO_DATE = keine), double Preis
+    // STATUS: byte 2, int Anzahl, je Buchung long id, byte Status
+    // Zeitpunkte als Sekunden seit 1970-01-01T00:00 (lokale Zeit)
+
+    private static final byte CREATE = 1;
+    private static final byte STATUS = 2;
+    private static final byte FORGET_EVENT = 3;
+    private static final int CREATE_BYTES = 4 * 8 + 1 + 3 * 8;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    // ================= Snapshot-Datei =================
+    // snapshot-<Sequenz>.bin: long MAGIC, int VERSION, long Sequenz, long nächste ID,
+    // int Anzahl, Buchungen wie CREATE, long CRC32 über alles davor
+
+    private static final long SNAPSHOT_MAGIC = 0x424f4f4b53544154L; // "BOOKSTAT"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparing(Entry::bookingDate).thenComparingLong(Entry::id).reversed();
+
+    /**
+     * Datenbankseite des Speichers
+     */
+    public interface Projection {
+        /**
+         * Liefert den kompletten Buchungsbestand für den ersten Start ohne Snapshot
+         */
+        void bootstrap(Consumer<Booking> sink) throws DatabaseException;
+
+        /**
+         * Schreibt den aktuellen Stand geänderter Buchungen; muss wiederholbar sein
+         */
+        void write(List<Booking> bookings) throws DatabaseException;
+
+        /**
+         * Sitzplätze des Saals eines Events; die Belegung setzt der Speicher selbst
+         */
+        BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException;
+
+        /**
+         * Neue Sammlung von Verweisen für eine Ergebnismenge
+         */
+        References references();
+    }
+
+    /**
+     * Setzt Kunde, Event und Sitzplatz einer gelesenen Buchung
+     */
+    @FunctionalInterface
+    public interface References {
+        void attach(Booking booking, long customerId, long eventId, long seatId);
+    }
+
+    /**
+     * Unveränderlicher Stand einer Buchung; ein Statuswechsel ersetzt den Eintrag
+     */
+    private record Entry(long id, long customerId, long eventId, long seatId, BookingStatus status,
+                         LocalDateTime bookingDate, LocalDateTime holdExpiresAt, double price) {
+
+        Entry withStatus(BookingStatus newStatus) {
+            return new Entry(id, customerId, eventId, seatId, newStatus, bookingDate, holdExpiresAt, price);
+        }
+
+        boolean isActive() {
+            return status != BookingStatus.CANCELLED;
+        }
+    }
+
+    /**
+     * Ein geänderter Eintrag für die Projektion
+     * Ohne Eintrag (entry == null) schreibt die Projektion nichts und schreibt nur die Sequenz fort.
+     */
+    private record Change(long sequence, Entry entry) {
+    }
+
+    /**
+     * Wachsende Liste von Buchungs-IDs
+     */
+    private static final class IdList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Path directory;
+    private final Projection projection;
+    private final int snapshotInterval;
+
+    // Bestand; nur unter this gelesen und geändert
+    private final LongObjectMap<Entry> bookings = new LongObjectMap<>(1024);
+    private final LongObjectMap<IdList> byEvent = new LongObjectMap<>();
+    private final LongObjectMap<IdList> byCustomer = new LongObjectMap<>();
+    private final LongObjectMap<LongObjectMap<Entry>> activeSeats = new LongObjectMap<>();
+    private long nextId = 1;
+
+    private BookingJournal journal;
+    private final Object snapshotLock = new Object();
+    private volatile long lastSnapshotSequence;
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor;
+
+    private final LinkedBlockingQueue<Change> projectionQueue = new LinkedBlockingQueue<>();
+    private final Object projectionMonitor = new Object();
+    private volatile long projectedSequence;
+    private final Thread projector;
+    private volatile boolean closed;
+
+    private JournaledBookingStore(Path directory, Projection projection, int snapshotInterval) {
+        this.directory = directory;
+        this.projection = projection;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "booking-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        this.projector = new Thread(this::runProjection, "booking-projection");
+        this.projector.setDaemon(true);
+    }
+
+    /**
+     * Öffnet den Speicher eines Verzeichnisses mit MySQL als Projektion
+     */
+    public static JournaledBookingStore open(Path directory) throws IOException, DatabaseException {
+        return open(directory, new DatabaseProjection(), DEFAULT_SEGMENT_BYTES, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Öffnet den Speicher eines Verzeichnisses
+     * Lädt den neuesten Snapshot (ohne Snapshot den Bestand der Projektion), spielt das
+     * Journal ab dessen Sequenz ein und startet die Projektion.
+     *
+     * @param segmentBytes Größe eines Journal-Segments
+     * @param snapshotInterval Journal-Datensätze zwischen zwei Snapshots
+     */
+    public static JournaledBookingStore open(Path directory, Projection projection, int segmentBytes,
+                                             int snapshotInterval) throws IOException, DatabaseException {
+        JournaledBookingStore store = new JournaledBookingStore(directory, projection, snapshotInterval);
+        store.recover(segmentBytes);
+        store.projector.start();
+        return store;
+    }
+
+    private void recover(int segmentBytes) throws IOException, DatabaseException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        Path snapshot = latestSnapshot();
+        long snapshotSequence = 0;
+        if (snapshot != null) {
+            snapshotSequence = readSnapshot(snapshot);
+        } else {
+            projection.bootstrap(this::bootstrapBooking);
+        }
+
+        Set<Long> replayed = new HashSet<>();
+        journal = BookingJournal.open(directory, segmentBytes, snapshotSequence,
+                (sequence, payload) -> replay(payload, replayed));
+        lastSnapshotSequence = snapshotSequence;
+
+        // Alles bis zum Snapshot ist projiziert; der Journal-Rest wird erneut übertragen
+        long last = journal.lastSequence();
+        projectedSequence = replayed.isEmpty() ? last : snapshotSequence;
+        for (Long id : replayed) {
+            projectionQueue.add(new Change(last, bookings.get(id)));
+        }
+
+        System.out.println("✓ Buchungsjournal geladen: " + bookings.size() + " Buchungen, "
+                + replayed.size() + " aus dem Journal, in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        if (snapshot == null) {
+            requestSnapshot();
+        }
+    }
+
+    private void bootstrapBooking(Booking booking) {
+        put(new Entry(booking.getId(), booking.getCustomerId(), booking.getEventId(), booking.getSeatId(),
+                booking.getStatus(), booking.getBookingDate(), booking.getHoldExpiresAt(), booking.getPrice()));
+        nextId = Math.max(nextId, booking.getId() + 1);
+    }
+
+    // ================= Schreiben =================
+
+    @Override
+    public boolean tryInsert(Booking booking) throws DatabaseException {
+        return tryInsertAll(List.of(booking)).isEmpty();
+    }
+
+    /**
+     * Prüft alle Sitze und legt die Buchungen mit einem Journal-Datensatz an
+     */
+    @Override
+    public List<Long> tryInsertAll(List<Booking> newBookings) throws DatabaseException {
+        if (newBookings.isEmpty()) {
+            return List.of();
+        }
+
+        long sequence;
+        synchronized (this) {
+            List<Long> conflicts = new ArrayList<>();
+            for (Booking booking : newBookings) {
+                LongObjectMap<Entry> seats = activeSeats.get(booking.getEventId());
+                if (seats != null && seats.containsKey(booking.getSeatId())) {
+                    conflicts.add(booking.getSeatId());
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                conflicts.sort(null);
+                return conflicts;
+            }
+
+            List<Entry> entries = new ArrayList<>(newBookings.size());
+            long id = nextId;
+            for (Booking booking : newBookings) {
+                entries.add(new Entry(id++, booking.getCustomerId(), booking.getEventId(), booking.getSeatId(),
+                        booking.getStatus(), toSeconds(booking.getBookingDate()), toSeconds(booking.getHoldExpiresAt()),
+                        booking.getPrice()));
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(5 + entries.size() * CREATE_BYTES).order(BookingJournal.ORDER);
+            payload.put(CREATE).putInt(entries.size());
+            entries.forEach(entry -> writeEntry(payload, entry));
+            sequence = append(payload.flip());
+
+            nextId = id;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                put(entry);
+                Booking booking = newBookings.get(i);
+                booking.setId(entry.id());
+                booking.setBookingDate(entry.bookingDate());
+                booking.setHoldExpiresAt(entry.holdExpiresAt());
+                projectionQueue.add(new Change(sequence, entry));
+            }
+        }
+        awaitDurable(sequence);
+        return List.of();
+    }
+
+    /**
+     * Übernimmt den Status der Buchung
+     * Der Wechsel wird gegen den gespeicherten Status geprüft, auch ein Wechsel auf denselben
+     * Status wird abgelehnt; der Preis ist nach dem Anlegen fest.
+     * @throws IllegalStateException bei unzulässigem Statuswechsel
+     */
+    @Override
+    public void update(Booking booking) throws DatabaseException {
+        long sequence;
+        synchronized (this) {
+            Entry entry = bookings.get(booking.getId());
+            if (entry == null) {
+                throw new DatabaseException("Buchung mit ID " + booking.getId() + " nicht gefunden");
+            }
+            BookingStatus newStatus = booking.getStatus();
+            if (!entry.status().canTransitionTo(newStatus)) {
+                throw new IllegalStateException("Statuswechsel nicht erlaubt: " + entry.status() + " -> " + newStatus);
+            }
+            sequence = changeStatus(List.of(entry), newStatus);
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Entfernt alle Buchungen eines gelöschten Events
+     * MySQL hat sie beim Löschen des Events bereits per CASCADE entfernt; noch nicht
+     * projizierte Änderungen dieser Buchungen werden verworfen.
+     */
+    @Override
+    public void forgetEvent(Long eventId) throws DatabaseException {
+        long sequence;
+        synchronized (this) {
+            if (byEvent.get(eventId) == null) {
+                return;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(5 + 8).order(BookingJournal.ORDER);
+            payload.put(FORGET_EVENT).putInt(1).putLong(eventId);
+            sequence = append(payload.flip());
+
+            removeEvent(eventId);
+            projectionQueue.removeIf(change -> change.entry() != null && change.entry().eventId() == eventId);
+            projectionQueue.add(new Change(sequence, null));
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Schreibt einen Statuswechsel für mehrere Einträge; Aufruf unter this
+     */
+    private long changeStatus(List<Entry> entries, BookingStatus newStatus) throws DatabaseException {
+        ByteBuffer payload = ByteBuffer.allocate(5 + entries.size() * 9).order(BookingJournal.ORDER);
+        payload.put(STATUS).putInt(entries.size());
+        for (Entry entry : entries) {
+            payload.putLong(entry.id()).put((byte) newStatus.ordinal());
+        }
+        long sequence = append(payload.flip());
+
+        for (Entry entry : entries) {
+            Entry changed = entry.withStatus(newStatus);
+            put(changed);
+            projectionQueue.add(new Change(sequence, changed));
+        }
+        return sequence;
+    }
+
+    private long append(ByteBuffer payload) throws DatabaseException {
+        try {
+            return journal.append(payload);
+        } catch (IOException e) {
+            throw new DatabaseException("Buchungsjournal konnte nicht geschrieben werden", e);
+        }
+    }
+
+    /**
+     * Wartet außerhalb der Sperre auf den Group Commit und stößt ggf. einen Snapshot an
+     */
+    private void awaitDurable(long sequence) throws DatabaseException {
+        try {
+            journal.awaitDurable(sequence);
+        } catch (IOException e) {
+            throw new DatabaseException("Buchungsjournal konnte nicht gespeichert werden", e);
+        }
+        if (sequence - lastSnapshotSequence >= snapshotInterval) {
+            requestSnapshot();
+        }
+    }
+
+    /**
+     * Übernimmt einen Eintrag in alle Maps; Aufruf unter this
+     */
+    private void put(Entry entry) {
+        Entry previous = bookings.put(entry.id(), entry);
+        if (previous == null) {
+            ids(byEvent, entry.eventId()).add(entry.id());
+            ids(byCustomer, entry.customerId()).add(entry.id());
+        } else if (previous.isActive()) {
+            LongObjectMap<Entry> seats = activeSeats.get(previous.eventId());
+            Entry holder = seats != null ? seats.get(previous.seatId()) : null;
+            if (holder != null && holder.id() == previous.id()) {
+                seats.remove(previous.seatId());
+            }
+        }
+        if (entry.isActive()) {
+            LongObjectMap<Entry> seats = activeSeats.get(entry.eventId());
+            if (seats == null) {
+                seats = new LongObjectMap<>();
+                activeSeats.put(entry.eventId(), seats);
+            }
+            seats.put(entry.seatId(), entry);
+        }
+    }
+
+    /**
+     * Entfernt die Einträge eines Events aus allen Maps; Aufruf unter this
+     * @return IDs der entfernten Buchungen
+     */
+    private List<Long> removeEvent(long eventId) {
+        IdList ids = byEvent.remove(eventId);
+        activeSeats.remove(eventId);
+        if (ids == null) {
+            return List.of();
+        }
+        List<Long> removed = new ArrayList<>(ids.size);
+        for (int i = 0; i < ids.size; i++) {
+            Entry entry = bookings.remove(ids.ids[i]);
+            IdList ofCustomer = byCustomer.get(entry.customerId());
+            ofCustomer.remove(entry.id());
+            if (ofCustomer.size == 0) {
+                byCustomer.remove(entry.customerId());
+            }
+            removed.add(entry.id());
+        }
+        return removed;
+    }
+
+    private static IdList ids(LongObjectMap<IdList> index, long key) {
+        IdList ids = index.get(key);
+        if (ids == null) {
+            ids = new IdList();
+            index.put(key, ids);
+        }
+        return ids;
+    }
+
+    // ================= Wiederherstellen =================
+
+    private synchronized void replay(ByteBuffer payload, Set<Long> replayed) {
+        byte type = payload.get();
+        int count = payload.getInt();
+        for (int i = 0; i < count; i++) {
+            if (type == CREATE) {
+                Entry entry = readEntry(payload);
+                put(entry);
+                nextId = Math.max(nextId, entry.id() + 1);
+                replayed.add(entry.id());
+            } else if (type == STATUS) {
+                long id = payload.getLong();
+                BookingStatus status = STATUSES[payload.get()];
+                Entry entry = bookings.get(id);
+                if (entry != null) {
+                    put(entry.withStatus(status));
+                    replayed.add(id);
+                }
+            } else if (type == FORGET_EVENT) {
+                removeEvent(payload.getLong()).forEach(replayed::remove);
+            } else {
+                throw new IllegalStateException("Unbekannter Journal-Datensatz: " + type);
+            }
+        }
+    }
+
+    private static void writeEntry(ByteBuffer out, Entry entry) {
+        out.putLong(entry.id())
+                .putLong(entry.customerId())
+                .putLong(entry.eventId())
+                .putLong(entry.seatId())
+                .put((byte) entry.status().ordinal())
+                .putLong(toEpochSecond(entry.bookingDate()))
+                .putLong(toEpochSecond(entry.holdExpiresAt()))
+                .putDouble(entry.price());
+    }
+
+    private static Entry readEntry(ByteBuffer in) {
+        return new Entry(in.getLong(), in.getLong(), in.getLong(), in.getLong(), STATUSES[in.get()],
+                fromEpochSecond(in.getLong()), fromEpochSecond(in.getLong()), in.getDouble());
+    }
+
+    private static LocalDateTime toSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NO_DATE;
+    }
+
+    private static LocalDateTime fromEpochSecond(long seconds) {
+        return seconds != NO_DATE ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    // ================= Snapshots =================
+
+    /**
+     * Schreibt im Hintergrund einen Snapshot, sofern nicht schon einer läuft
+     */
+    private void requestSnapshot() {
+        if (closed || !snapshotPending.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotExecutor.execute(() -> {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                System.err.println("Snapshot des Buchungsjournals fehlgeschlagen: " + e.getMessage());
+            } finally {
+                snapshotPending.set(false);
+            }
+        });
+    }
+
+    /**
+     * Schreibt einen Snapshot des aktuellen Stands und löscht die abgedeckten Journal-Segmente
+     * Der Stand wird unter der Sperre nur kopiert (die Einträge sind unveränderlich);
+     * geschrieben wird, sobald die Projektion diesen Stand erreicht hat.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long sequence;
+            long next;
+            List<Entry> entries;
+            synchronized (this) {
+                sequence = journal.lastSequence();
+                next = nextId;
+                entries = bookings.values();
+            }
+            Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+            if (sequence == lastSnapshotSequence && Files.exists(target)) {
+                return;
+            }
+            if (!awaitProjected(sequence, Long.MAX_VALUE)) {
+                throw new IOException("Snapshot abgebrochen, die Projektion hat Sequenz " + sequence + " nicht erreicht");
+            }
+
+            Path temp = Files.createTempFile(directory, ".snapshot-", ".tmp");
+            try {
+                writeSnapshot(temp, sequence, next, entries);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+
+            lastSnapshotSequence = sequence;
+            for (Path older : snapshotFiles()) {
+                if (snapshotSequence(older) < sequence) {
+                    Files.deleteIfExists(older);
+                }
+            }
+            journal.deleteSegmentsUpTo(sequence);
+        }
+    }
+
+    private static void writeSnapshot(Path file, long sequence, long next, List<Entry> entries) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(CREATE_BYTES).order(BookingJournal.ORDER);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), crc))) {
+            out.writeLong(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(sequence);
+            out.writeLong(next);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                buffer.clear();
+                writeEntry(buffer, entry);
+                out.write(buffer.array(), 0, CREATE_BYTES);
+            }
+            out.writeLong(crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Liest einen Snapshot in die leeren Maps
+     * @return Sequenz, bis zu der der Snapshot das Journal enthält
+     */
+    private synchronized long readSnapshot(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 64 * 1024), crc))) {
+            if (in.readLong() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Keine gültige Snapshot-Datei: " + file);
+            }
+            long sequence = in.readLong();
+            nextId = in.readLong();
+            int count = in.readInt();
+            byte[] bytes = new byte[CREATE_BYTES];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(BookingJournal.ORDER);
+            for (int i = 0; i < count; i++) {
+                in.readFully(bytes);
+                buffer.clear();
+                put(readEntry(buffer));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Prüfsumme des Snapshots stimmt nicht: " + file);
+            }
+            return sequence;
+        }
+    }
+
+    private Path latestSnapshot() throws IOException {
+        Path latest = null;
+        for (Path file : snapshotFiles()) {
+            if (latest == null || snapshotSequence(file) > snapshotSequence(latest)) {
+                latest = file;
+            }
+        }
+        return latest;
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static long snapshotSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    // ================= Projektion nach MySQL =================
+
+    private void runProjection() {
+        List<Change> batch = new ArrayList<>(PROJECTION_BATCH_SIZE);
+        while (!closed || !projectionQueue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Change first = projectionQueue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                projectionQueue.drainTo(batch, Math.max(0, PROJECTION_BATCH_SIZE - batch.size()));
+                long upTo = batch.get(batch.size() - 1).sequence();
+
+                // Nur projizieren, was im Journal dauerhaft ist
+                journal.awaitDurable(upTo);
+
+                Map<Long, Entry> latest = new LinkedHashMap<>();
+                for (Change change : batch) {
+                    if (change.entry() != null) {
+                        latest.put(change.entry().id(), change.entry());
+                    }
+                }
+                References references = projection.references();
+                List<Booking> changed = latest.values().stream()
+                        .map(entry -> toBooking(entry, references))
+                        .collect(Collectors.toList());
+                while (!changed.isEmpty() && !project(changed)) {
+                    if (closed) {
+                        System.err.println("Projektion beim Beenden abgebrochen; sie wird beim nächsten Start wiederholt");
+                        return;
+                    }
+                    Thread.sleep(PROJECTION_RETRY_MILLIS);
+                }
+
+                synchronized (projectionMonitor) {
+                    projectedSequence = Math.max(projectedSequence, upTo);
+                    projectionMonitor.notifyAll();
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Block behalten und später erneut versuchen
+                System.err.println("Fehler in der Buchungsprojektion: " + e.getMessage());
+                if (closed) {
+                    return;
+                }
+                try {
+                    Thread.sleep(PROJECTION_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Schreibt geänderte Buchungen in die Datenbank
+     * Verletzt ein Block eine Integritätsregel (z.B. Event inzwischen gelöscht), wird er
+     * einzeln geschrieben und nur die betroffene Buchung ausgelassen.
+     * @return false bei vorübergehenden Fehlern (erneut versuchen)
+     */
+    private boolean project(List<Booking> changed) {
+        try {
+            projection.write(changed);
+            return true;
+        } catch (DatabaseException e) {
+            if (!(e.getCause() instanceof SQLIntegrityConstraintViolationException)) {
+                System.err.println("Projektion nach MySQL fehlgeschlagen, neuer Versuch folgt: " + e.getMessage());
+                return false;
+            }
+            if (changed.size() == 1) {
+                System.err.println("Buchung " + changed.get(0).getId() + " nicht projiziert: "
+                        + e.getCause().getMessage());
+                return true;
+            }
+            boolean complete = true;
+            for (Booking booking : changed) {
+                complete &= project(List.of(booking));
+            }
+            return complete;
+        }
+    }
+
+    private boolean awaitProjected(long sequence, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + Math.min(timeoutMillis, Long.MAX_VALUE / 2);
+        synchronized (projectionMonitor) {
+            while (projectedSequence < sequence && !closed) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    projectionMonitor.wait(Math.min(remaining, 1000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return projectedSequence >= sequence;
+        }
+    }
+
+    /**
+     * Wartet, bis alle bisherigen Änderungen in MySQL angekommen sind
+     * (z.B. vor dem Prüfen der Buchungszähler beim Start)
+     * @return false bei Zeitüberschreitung
+     */
+    public boolean awaitProjection(long timeoutMillis) {
+        return awaitProjected(journal.lastSequence(), timeoutMillis);
+    }
+
+    /**
+     * Anzahl Journal-Datensätze, die noch nicht in MySQL angekommen sind
+     */
+    public long getProjectionLag() {
+        return Math.max(0, journal.lastSequence() - projectedSequence);
+    }
+
+    // ================= Lesen =================
+
+    @Override
+    public Optional<Booking> findById(Long id) {
+        Entry entry;
+        synchronized (this) {
+            entry = bookings.get(id);
+        }
+        return Optional.ofNullable(entry).map(e -> toBooking(e, projection.references()));
+    }
+
+    @Override
+    public List<Booking> findByCustomer(Long customerId) {
+        return toBookings(entriesOf(byCustomer, customerId));
+    }
+
+    @Override
+    public List<Booking> findByEvent(Long eventId) {
+        return toBookings(entriesOf(byEvent, eventId));
+    }
+
+    @Override
+    public Page<Booking> findPageByEvent(Long eventId, Booking after, int pageSize) {
+        List<Entry> entries = entriesOf(byEvent, eventId);
+        int from = 0;
+        if (after != null) {
+            Entry cursor = new Entry(after.getId(), 0, 0, 0, after.getStatus(), after.getBookingDate(), null, 0);
+            while (from < entries.size() && NEWEST_FIRST.compare(entries.get(from), cursor) <= 0) {
+                from++;
+            }
+        }
+        int to = Math.min(entries.size(), from + pageSize);
+        return new Page<>(toBookings(entries.subList(from, to)), to < entries.size());
+    }
+
+    @Override
+    public List<Booking> findActive() {
+        return toBookings(activeEntries());
+    }
+
+    @Override
+    public synchronized double sumConfirmedRevenue() {
+        long[] cents = new long[1];
+        bookings.forEachValue(entry -> {
+            if (entry.status() == BookingStatus.CONFIRMED) {
+                cents[0] += Math.round(entry.price() * 100);
+            }
+        });
+        return cents[0] / 100.0;
+    }
+
+    @Override
+    public Optional<Booking> findMostExpensive() {
+        Entry[] max = new Entry[1];
+        synchronized (this) {
+            bookings.forEachValue(entry -> {
+                if (max[0] == null || entry.price() > max[0].price()) {
+                    max[0] = entry;
+                }
+            });
+        }
+        return Optional.ofNullable(max[0]).map(e -> toBooking(e, projection.references()));
+    }
+
+    /**
+     * Sitzplätze aus der Datenbank, Belegung aus dem Speicher
+     */
+    @Override
+    public BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException {
+        BookingDAO.SeatOccupancy hall = projection.loadSeatOccupancy(eventId);
+        boolean[] booked = new boolean[hall.seatIds().length];
+        synchronized (this) {
+            LongObjectMap<Entry> seats = activeSeats.get(eventId);
+            for (int i = 0; i < booked.length; i++) {
+                booked[i] = seats != null && seats.containsKey(hall.seatIds()[i]);
+            }
+        }
+        return new BookingDAO.SeatOccupancy(hall.seatIds(), booked);
+    }
+
+    @Override
+    public synchronized List<BookingDAO.Hold> findActiveHolds() {
+        List<BookingDAO.Hold> holds = new ArrayList<>();
+        bookings.forEachValue(entry -> {
+            if (entry.status() == BookingStatus.RESERVED && entry.holdExpiresAt() != null) {
+                holds.add(toHold(entry));
+            }
+        });
+        return holds;
+    }
+
+    @Override
+    public List<BookingDAO.Hold> expireHolds(List<Long> bookingIds) throws DatabaseException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            for (Long id : bookingIds) {
+                Entry entry = bookings.get(id);
+                if (entry != null && isDue(entry, now)) {
+                    due.add(entry);
+                }
+            }
+            return expire(due);
+        }
+    }
+
+    @Override
+    public List<BookingDAO.Hold> expireAllDueHolds() throws DatabaseException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            bookings.forEachValue(entry -> {
+                if (isDue(entry, now)) {
+                    due.add(entry);
+                }
+            });
+            return expire(due);
+        }
+    }
+
+    private static boolean isDue(Entry entry, LocalDateTime now) {
+        return entry.status() == BookingStatus.RESERVED
+                && entry.holdExpiresAt() != null
+                && !entry.holdExpiresAt().isAfter(now);
+    }
+
+    /**
+     * Storniert fällige Reservierungen mit einem Datensatz; Aufruf unter this
+     * Gewartet wird hier unter der Sperre, das kommt nur einmal pro Scheduler-Tick vor.
+     */
+    private List<BookingDAO.Hold> expire(List<Entry> due) throws DatabaseException {
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        long sequence = changeStatus(due, BookingStatus.CANCELLED);
+        awaitDurable(sequence);
+        List<BookingDAO.Hold> expired = new ArrayList<>(due.size());
+        for (Entry entry : due) {
+            expired.add(toHold(entry));
+        }
+        return expired;
+    }
+
+    private static BookingDAO.Hold toHold(Entry entry) {
+        return new BookingDAO.Hold(entry.id(), entry.eventId(), entry.seatId(), entry.holdExpiresAt());
+    }
+
+    /**
+     * Einträge eines Kunden oder Events, neueste zuerst
+     */
+    private List<Entry> entriesOf(LongObjectMap<IdList> index, long key) {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (this) {
+            IdList ids = index.get(key);
+            if (ids != null) {
+                for (int i = 0; i < ids.size; i++) {
+                    entries.add(bookings.get(ids.ids[i]));
+                }
+            }
+        }
+        entries.sort(NEWEST_FIRST);
+        return entries;
+    }
+
+    /**
+     * Alle aktiven Einträge, neueste zuerst
+     */
+    private List<Entry> activeEntries() {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (this) {
+            bookings.forEachValue(entry -> {
+                if (entry.isActive()) {
+                    entries.add(entry);
+                }
+            });
+        }
+        entries.sort(NEWEST_FIRST);
+        return entries;
+    }
+
+    private List<Booking> toBookings(List<Entry> entries) {
+        References references = projection.references();
+        List<Booking> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(toBooking(entry, references));
+        }
+        return result;
+    }
+
+    private static Booking toBooking(Entry entry, References references) {
+        Booking booking = new Booking();
+        booking.setId(entry.id());
+        references.attach(booking, entry.customerId(), entry.eventId(), entry.seatId());
+        booking.setStatus(entry.status());
+        booking.setBookingDate(entry.bookingDate());
+        booking.setHoldExpiresAt(entry.holdExpiresAt());
+        booking.setPrice(entry.price());
+        return booking;
+    }
+
+    // ================= Beenden =================
+
+    /**
+     * Überträgt ausstehende Änderungen (höchstens CLOSE_TIMEOUT_MILLIS lang) und schließt das Journal
+     * Was nicht mehr projiziert wird, holt der nächste Start aus dem Journal nach.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (projectionMonitor) {
+            projectionMonitor.notifyAll();
+        }
+        try {
+            projector.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotExecutor.shutdown();
+        synchronized (snapshotLock) {
+            journal.close();
+        }
+    }
+
+    /**
+     * MySQL als Projektion über BookingDAO
+     */
+    private static final class DatabaseProjection implements Projection {
+        private final BookingDAO bookingDAO = new BookingDAO();
+
+        @Override
+        public void bootstrap(Consumer<Booking> sink) throws DatabaseException {
+            try (Stream<Booking> all = bookingDAO.streamBy(Criteria.of(Booking.class))) {
+                all.forEach(sink);
+            } catch (UncheckedDatabaseException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void write(List<Booking> bookings) throws DatabaseException {
+            bookingDAO.upsertAll(bookings);
+        }
+
+        @Override
+        public BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) throws DatabaseException {
+            return bookingDAO.loadSeatOccupancy(eventId);
+        }
+
+        @Override
+        public References references() {
+            return bookingDAO.newAssociations()::attach;
+        }
+    }
+}
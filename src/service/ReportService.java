@@ -0,0 +1,85 @@
+package service;
+
+import dao.QueryCancellation;
+import dao.ReportDAO;
+import exceptions.DatabaseException;
+
+import java.util.List;
+
+/**
+ * Service-Klasse für Berichte und Kennzahlen
+ */
+public class ReportService {
+
+    private final ReportDAO reportDAO;
+    private final BookingStatistics statistics;
+
+    public ReportService() {
+        this(new ReportDAO());
+    }
+
+    private ReportService(ReportDAO reportDAO) {
+        this.reportDAO = reportDAO;
+        this.statistics = BookingStatistics.getInstance();
+    }
+
+    /**
+     * Gibt einen Service zurück, dessen Abfragen über das Token abgebrochen werden können
+     */
+    public ReportService withCancellation(QueryCancellation cancellation) {
+        return new ReportService(reportDAO.withCancellation(cancellation));
+    }
+
+    /**
+     * Lädt die Kennzahlen für das Statistik-Panel
+     * Buchungszahlen und Umsatz kommen aus BookingStatistics, sobald diese befüllt ist;
+     * aus der Datenbank werden dann nur noch Kunden und Events gezählt.
+     */
+    public ReportDAO.Overview getOverview() throws DatabaseException {
+        if (!statistics.isSeeded()) {
+            return reportDAO.loadOverview();
+        }
+        BookingStatistics.Totals bookings = statistics.global();
+        ReportDAO.EntityCounts counts = reportDAO.loadEntityCounts();
+        return new ReportDAO.Overview(bookings.confirmedRevenue(), bookings.total(), bookings.active(),
+                counts.customers(), counts.events(), counts.upcomingEvents());
+    }
+
+    /**
+     * Umsatz bestätigter Buchungen pro Event
+     */
+    public List<ReportDAO.EventRevenue> getRevenueByEvent() throws DatabaseException {
+        return reportDAO.loadRevenueByEvent();
+    }
+
+    /**
+     * Events mit den meisten aktiven Buchungen
+     */
+    public List<ReportDAO.EventBookings> getTopEvents(int limit) throws DatabaseException {
+        if (statistics.isSeeded()) {
+            return statistics.topEvents(limit);
+        }
+        return reportDAO.loadTopEvents(limit);
+    }
+
+    /**
+     * Anzahl aktiver Buchungen pro Status
+     */
+    public List<ReportDAO.StatusCount> getStatusDistribution() throws DatabaseException {
+        return reportDAO.loadStatusDistribution();
+    }
+
+    /**
+     * Kunden mit den meisten aktiven Buchungen
+     */
+    public List<ReportDAO.CustomerBookings> getTopCustomers(int limit) throws DatabaseException {
+        return reportDAO.loadTopCustomers(limit);
+    }
+
+    /**
+     * Auslastung aller zukünftigen Events
+     */
+    public List<ReportDAO.EventOccupancy> getUpcomingOccupancy() throws DatabaseException {
+        return reportDAO.loadUpcomingOccupancy();
+    }
+}
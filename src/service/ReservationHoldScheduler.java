@@ -0,0 +1,211 @@
+package service;
+
+import dao.BookingDAO;
+import exceptions.DatabaseException;
+import model.Booking;
+import model.Event;
+import util.TimingWheel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Lässt Reservierungen (RESERVED) nach Ablauf ihrer Haltedauer verfallen
+ * Singleton Pattern, damit alle Services dasselbe Timing Wheel nutzen.
+ * Abgelaufene Reservierungen werden pro Tick gesammelt und mit
+ * mengenbasierten UPDATEs storniert, die Sitze danach wieder freigegeben.
+ */
+public class ReservationHoldScheduler {
+
+    /** Standard-Haltedauer, wenn das Event keine eigene festlegt */
+    public static final int DEFAULT_HOLD_TTL_MINUTES = 15;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 4096;
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private static ReservationHoldScheduler instance;
+
+    private final TimingWheel<BookingDAO.Hold> wheel;
+    private final List<Consumer<List<BookingDAO.Hold>>> expiryListeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;
+    private BookingStore store;
+
+    private ReservationHoldScheduler() {
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück
+     */
+    public static synchronized ReservationHoldScheduler getInstance() {
+        if (instance == null) {
+            instance = new ReservationHoldScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Startet den Scheduler
+     * Bereits abgelaufene Reservierungen werden sofort storniert,
+     * laufende in das Timing Wheel übernommen.
+     */
+    public synchronized void start() throws DatabaseException {
+        if (ticker != null) {
+            return;
+        }
+
+        Lock commit = BookingEventBus.getInstance().commitLock();
+        commit.lock();
+        try {
+            release(getStore().expireAllDueHolds());
+        } finally {
+            commit.unlock();
+        }
+        for (BookingDAO.Hold hold : getStore().findActiveHolds()) {
+            wheel.schedule(hold.bookingId(), toEpochMillis(hold.expiresAt()), hold);
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reservation-hold-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stoppt den Scheduler
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Berechnet den Ablaufzeitpunkt einer neuen Reservierung für ein Event
+     */
+    public LocalDateTime holdDeadline(Event event) {
+        Integer ttl = event.getHoldTtlMinutes();
+        int minutes = ttl != null && ttl > 0 ? ttl : DEFAULT_HOLD_TTL_MINUTES;
+        return LocalDateTime.now().plusMinutes(minutes);
+    }
+
+    /**
+     * Überwacht eine gespeicherte Reservierung
+     */
+    public void track(Booking booking) {
+        if (booking.getId() == null || booking.getHoldExpiresAt() == null) {
+            return;
+        }
+        BookingDAO.Hold hold = new BookingDAO.Hold(
+                booking.getId(),
+                booking.getEventId(),
+                booking.getSeatId(),
+                booking.getHoldExpiresAt());
+        wheel.schedule(hold.bookingId(), toEpochMillis(hold.expiresAt()), hold);
+    }
+
+    /**
+     * Beendet die Überwachung (nach Bestätigung oder Stornierung)
+     */
+    public void untrack(Long bookingId) {
+        if (bookingId != null) {
+            wheel.cancel(bookingId);
+        }
+    }
+
+    /**
+     * Registriert einen Listener für verfallene Reservierungen
+     * Der Listener wird im Scheduler-Thread aufgerufen.
+     */
+    public void addExpiryListener(Consumer<List<BookingDAO.Hold>> listener) {
+        expiryListeners.add(listener);
+    }
+
+    /**
+     * Anzahl überwachter Reservierungen
+     */
+    public int getTrackedCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Ein Tick: fällige Reservierungen gesammelt stornieren
+     */
+    private void tick() {
+        List<BookingDAO.Hold> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(due.size());
+        for (BookingDAO.Hold hold : due) {
+            ids.add(hold.bookingId());
+        }
+
+        Lock commit = BookingEventBus.getInstance().commitLock();
+        commit.lock();
+        try {
+            release(getStore().expireHolds(ids));
+        } catch (DatabaseException e) {
+            System.err.println("Fehler beim Stornieren abgelaufener Reservierungen: " + e.getMessage());
+            // Später erneut versuchen
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+            for (BookingDAO.Hold hold : due) {
+                wheel.schedule(hold.bookingId(), retryAt, hold);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Fehler im Reservierungs-Scheduler: " + e.getMessage());
+        } finally {
+            commit.unlock();
+        }
+    }
+
+    /**
+     * Gibt die Sitze stornierter Reservierungen frei und benachrichtigt Listener
+     * Aufruf unter der Commit-Sperre des BookingEventBus, damit BookingStatistics.seed()
+     * keine gespeicherte, aber noch nicht gemeldete Stornierung mitzählt.
+     */
+    private void release(List<BookingDAO.Hold> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        SeatAvailabilityIndex index = SeatAvailabilityIndex.getInstance();
+        for (BookingDAO.Hold hold : expired) {
+            index.markFree(hold.eventId(), hold.seatId());
+        }
+        System.out.println("⏱ " + expired.size() + " abgelaufene Reservierung(en) storniert");
+        for (Consumer<List<BookingDAO.Hold>> listener : expiryListeners) {
+            listener.accept(expired);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Legt fest, in welchem Speicher Reservierungen storniert werden
+     */
+    public synchronized void setBookingStore(BookingStore store) {
+        this.store = store;
+    }
+
+    private synchronized BookingStore getStore() {
+        if (store == null) {
+            store = new DatabaseBookingStore();
+        }
+        return store;
+    }
+}
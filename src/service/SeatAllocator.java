@@ -0,0 +1,164 @@
+package service;
+
+import model.Seat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sucht den besten zusammenhängenden Block freier Sitzplätze in einer Reihe.
+ * Der Saal wird einmal in Reihen mit nach Nummer sortierten Sitzen zerlegt;
+ * eine Suche läuft danach linear über alle Sitze ohne Datenbankzugriff.
+ */
+public class SeatAllocator {
+
+    /**
+     * Gewichtung für die Bewertung eines Blocks (kleiner ist besser)
+     * @param preferredRow Index der Wunschreihe (0 = vorderste Reihe)
+     * @param rowWeight Strafpunkte pro Reihe Abstand zur Wunschreihe
+     * @param priceTierWeight Strafpunkte pro Preisstufe und Sitz
+     * @param centerWeight Strafpunkte pro Sitz Abstand zur Reihenmitte
+     */
+    public record Preference(int preferredRow, int rowWeight, int priceTierWeight, int centerWeight) {
+
+        /**
+         * Standard: etwa im ersten Drittel des Saals, mittig, günstige Plätze bevorzugt
+         */
+        public static Preference defaults(int rowCount) {
+            return new Preference(rowCount / 3, 10, 5, 1);
+        }
+    }
+
+    private final Seat[][] rows;
+
+    /**
+     * Konstruktor
+     * @param hallSeats alle Sitzplätze eines Saals
+     */
+    public SeatAllocator(List<Seat> hallSeats) {
+        Map<String, List<Seat>> byRow = new LinkedHashMap<>();
+        for (Seat seat : hallSeats) {
+            byRow.computeIfAbsent(seat.getRow(), r -> new ArrayList<>()).add(seat);
+        }
+
+        List<String> rowLabels = new ArrayList<>(byRow.keySet());
+        rowLabels.sort(SeatAllocator::compareRowLabels);
+
+        this.rows = new Seat[rowLabels.size()][];
+        for (int i = 0; i < rowLabels.size(); i++) {
+            Seat[] rowSeats = byRow.get(rowLabels.get(i)).toArray(new Seat[0]);
+            Arrays.sort(rowSeats, Comparator.comparingInt(Seat::getNumber));
+            rows[i] = rowSeats;
+        }
+    }
+
+    /**
+     * Anzahl Reihen des Saals
+     */
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    /**
+     * Findet den besten zusammenhängenden Block freier Sitze
+     * @param availability Belegung des Events
+     * @param partySize Anzahl benötigter Sitze
+     * @param priceTier Preisstufe eines Sitzes (0 = Standard)
+     * @param preference Gewichtung
+     * @return Sitze des besten Blocks oder leer, wenn keine Reihe genug freie Plätze nebeneinander hat
+     */
+    public Optional<List<Seat>> findBestBlock(SeatBitmap availability, int partySize,
+                                              ToIntFunction<Seat> priceTier, Preference preference) {
+        if (partySize <= 0) {
+            throw new IllegalArgumentException("Anzahl Sitze muss größer als 0 sein");
+        }
+
+        int bestRow = -1;
+        int bestStart = -1;
+        long bestScore = Long.MAX_VALUE;
+
+        for (int r = 0; r < rows.length; r++) {
+            Seat[] row = rows[r];
+            if (row.length < partySize) {
+                continue;
+            }
+            long rowPenalty = (long) Math.abs(r - preference.preferredRow()) * preference.rowWeight();
+            if (rowPenalty >= bestScore) {
+                continue;
+            }
+
+            int runLength = 0;
+            long tierSum = 0;
+            for (int i = 0; i < row.length; i++) {
+                boolean free = availability.isFree(row[i].getId());
+                boolean adjacent = i > 0 && row[i].getNumber() == row[i - 1].getNumber() + 1;
+                if (!free) {
+                    runLength = 0;
+                    tierSum = 0;
+                    continue;
+                }
+                if (runLength > 0 && !adjacent) {
+                    runLength = 0;
+                    tierSum = 0;
+                }
+                runLength++;
+                tierSum += priceTier.applyAsInt(row[i]);
+                if (runLength > partySize) {
+                    tierSum -= priceTier.applyAsInt(row[i - partySize]);
+                }
+
+                if (runLength >= partySize) {
+                    int start = i - partySize + 1;
+                    // Doppelter Abstand vermeidet Brüche bei gerader Blockgröße
+                    int offCenter = Math.abs((start + i) - (row.length - 1));
+                    long score = rowPenalty
+                            + tierSum * preference.priceTierWeight()
+                            + (long) offCenter * preference.centerWeight();
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestRow = r;
+                        bestStart = start;
+                    }
+                }
+            }
+        }
+
+        if (bestRow < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(List.of(Arrays.copyOfRange(rows[bestRow], bestStart, bestStart + partySize)));
+    }
+
+    /**
+     * Vergleicht Reihenbezeichnungen, Zahlen numerisch ("Reihe 2" vor "Reihe 10")
+     */
+    static int compareRowLabels(String a, String b) {
+        int splitA = numericSuffixStart(a);
+        int splitB = numericSuffixStart(b);
+        if (splitA < a.length() && splitB < b.length()) {
+            int prefix = a.substring(0, splitA).compareTo(b.substring(0, splitB));
+            if (prefix != 0) {
+                return prefix;
+            }
+            int lengthDiff = (a.length() - splitA) - (b.length() - splitB);
+            if (lengthDiff != 0) {
+                return lengthDiff;
+            }
+        }
+        return a.compareTo(b);
+    }
+
+    private static int numericSuffixStart(String label) {
+        int i = label.length();
+        while (i > 0 && Character.isDigit(label.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+}
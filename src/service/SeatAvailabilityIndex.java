@@ -0,0 +1,201 @@
+package service;
+
+import dao.BookingDAO;
+import exceptions.DatabaseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-Memory-Index der Sitzplatzbelegung pro Event
+ * Singleton Pattern, damit alle Services denselben Stand sehen.
+ * Pro Event wird beim ersten Zugriff eine SeatBitmap mit einer einzigen
+ * Abfrage aufgebaut und danach bei Reservierung und Stornierung aktualisiert.
+ * Nach REFRESH_MILLIS wird der Stand neu gelesen, damit Buchungen anderer
+ * Prozesse (z.B. GUI und HTTP-API nebeneinander) sichtbar werden.
+ */
+public class SeatAvailabilityIndex {
+
+    /** Maximales Alter eines geladenen Stands, danach wird neu gelesen */
+    static final long REFRESH_MILLIS = 30_000;
+
+    private static SeatAvailabilityIndex instance;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private BookingStore store;
+
+    private SeatAvailabilityIndex() {
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück
+     */
+    public static synchronized SeatAvailabilityIndex getInstance() {
+        if (instance == null) {
+            instance = new SeatAvailabilityIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Gibt die Belegung eines Events zurück und lädt sie bei Bedarf
+     * Pro Event lädt nur ein Thread. Änderungen, die während des Ladens gemeldet
+     * werden, sammelt der Slot und spielt sie danach auf den neuen Stand ein.
+     * @param eventId Event-ID
+     * @return Belegungs-Bitmap des Events
+     * @throws DatabaseException Bei Datenbankfehlern
+     */
+    public SeatBitmap forEvent(Long eventId) throws DatabaseException {
+        Slot slot = slots.computeIfAbsent(eventId, id -> new Slot());
+        SeatBitmap bitmap = slot.fresh();
+        if (bitmap != null) {
+            return bitmap;
+        }
+
+        synchronized (slot.loadLock) {
+            bitmap = slot.fresh();
+            if (bitmap != null) {
+                return bitmap;
+            }
+            slot.beginLoad();
+            BookingDAO.SeatOccupancy occupancy;
+            try {
+                occupancy = getStore().loadSeatOccupancy(eventId);
+            } catch (DatabaseException | RuntimeException e) {
+                slot.abortLoad();
+                throw e;
+            }
+            SeatBitmap loaded = new SeatBitmap(occupancy.seatIds());
+            for (int i = 0; i < occupancy.seatIds().length; i++) {
+                if (occupancy.booked()[i]) {
+                    loaded.tryMark(occupancy.seatIds()[i]);
+                }
+            }
+            return slot.install(loaded);
+        }
+    }
+
+    /**
+     * Prüft, ob ein Sitz für ein Event frei ist
+     */
+    public boolean isFree(Long eventId, Long seatId) throws DatabaseException {
+        return forEvent(eventId).isFree(seatId);
+    }
+
+    /**
+     * Anzahl freier Sitzplätze eines Events
+     */
+    public int freeSeatCount(Long eventId) throws DatabaseException {
+        return forEvent(eventId).freeCount();
+    }
+
+    /**
+     * Markiert einen Sitz als belegt (nach Reservierung)
+     * Ist das Event noch nicht geladen, wird nichts getan – der nächste
+     * Aufbau liest den Stand ohnehin aus der Datenbank.
+     */
+    public void markBooked(Long eventId, Long seatId) {
+        Slot slot = slots.get(eventId);
+        if (slot != null) {
+            slot.mark(seatId, true);
+        }
+    }
+
+    /**
+     * Gibt einen Sitz wieder frei (nach Stornierung)
+     */
+    public void markFree(Long eventId, Long seatId) {
+        Slot slot = slots.get(eventId);
+        if (slot != null) {
+            slot.mark(seatId, false);
+        }
+    }
+
+    /**
+     * Verwirft den Stand eines Events (z.B. nach Saalwechsel)
+     */
+    public void invalidate(Long eventId) {
+        slots.remove(eventId);
+    }
+
+    /**
+     * Verwirft alle Stände (z.B. nach Neugenerierung von Sitzplätzen)
+     */
+    public void invalidateAll() {
+        slots.clear();
+    }
+
+    /**
+     * Legt fest, woher die Belegung beim Aufbau gelesen wird, und verwirft alle Stände
+     */
+    public synchronized void setBookingStore(BookingStore store) {
+        this.store = store;
+        slots.clear();
+    }
+
+    private synchronized BookingStore getStore() {
+        if (store == null) {
+            store = new DatabaseBookingStore();
+        }
+        return store;
+    }
+
+    /**
+     * Stand eines Events: geladene Bitmap plus die während eines Ladevorgangs gemeldeten Änderungen
+     * Der Monitor des Slots schützt bitmap und pending, loadLock serialisiert das Laden.
+     */
+    private static final class Slot {
+        final Object loadLock = new Object();
+        private SeatBitmap bitmap;
+        private long loadedAt;
+        private boolean loading;
+        private final List<long[]> pending = new ArrayList<>();
+
+        synchronized SeatBitmap fresh() {
+            return bitmap != null && System.currentTimeMillis() - loadedAt < REFRESH_MILLIS ? bitmap : null;
+        }
+
+        synchronized void beginLoad() {
+            loading = true;
+            pending.clear();
+        }
+
+        synchronized void abortLoad() {
+            loading = false;
+            pending.clear();
+        }
+
+        /**
+         * Übernimmt den geladenen Stand; Änderungen seit Beginn der Abfrage werden nachgespielt
+         */
+        synchronized SeatBitmap install(SeatBitmap loaded) {
+            for (long[] change : pending) {
+                apply(loaded, change[0], change[1] != 0);
+            }
+            pending.clear();
+            loading = false;
+            bitmap = loaded;
+            loadedAt = System.currentTimeMillis();
+            return loaded;
+        }
+
+        synchronized void mark(long seatId, boolean booked) {
+            if (loading) {
+                pending.add(new long[] { seatId, booked ? 1 : 0 });
+            }
+            if (bitmap != null) {
+                apply(bitmap, seatId, booked);
+            }
+        }
+
+        private static void apply(SeatBitmap target, long seatId, boolean booked) {
+            if (booked) {
+                target.tryMark(seatId);
+            } else {
+                target.clear(seatId);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Kompakte Belegungsübersicht der Sitzplätze eines Saals für ein Event.
+ * Ein Bit pro Sitzplatz, indiziert über die Position des Sitzes im Saal
+ * (Sitz-IDs aufsteigend sortiert). Alle Operationen sind lock-frei und
+ * erzeugen keine Objekte.
+ */
+public class SeatBitmap {
+
+    private final long[] seatIds;
+    private final boolean contiguous;
+    private final AtomicLongArray words;
+    private final AtomicInteger bookedCount = new AtomicInteger();
+
+    /**
+     * Konstruktor
+     * @param seatIds IDs aller Sitzplätze des Saals
+     */
+    public SeatBitmap(long[] seatIds) {
+        this.seatIds = seatIds.clone();
+        Arrays.sort(this.seatIds);
+        // Bei lückenlos generierten IDs ist die Position direkt berechenbar
+        this.contiguous = this.seatIds.length == 0
+                || this.seatIds[this.seatIds.length - 1] - this.seatIds[0] == this.seatIds.length - 1;
+        this.words = new AtomicLongArray((this.seatIds.length + 63) >>> 6);
+    }
+
+    /**
+     * Gibt die Position eines Sitzes im Saal zurück
+     * @param seatId Sitz-ID
+     * @return Position oder -1, wenn der Sitz nicht zum Saal gehört
+     */
+    public int positionOf(long seatId) {
+        if (seatIds.length == 0) {
+            return -1;
+        }
+        if (contiguous) {
+            long offset = seatId - seatIds[0];
+            return offset >= 0 && offset < seatIds.length ? (int) offset : -1;
+        }
+        int pos = Arrays.binarySearch(seatIds, seatId);
+        return pos >= 0 ? pos : -1;
+    }
+
+    /**
+     * Gibt die Sitz-ID an einer Position zurück
+     */
+    public long seatIdAt(int position) {
+        return seatIds[position];
+    }
+
+    /**
+     * Prüft, ob der Sitz an einer Position frei ist
+     */
+    public boolean isFreeAt(int position) {
+        return (words.get(position >>> 6) & (1L << position)) == 0;
+    }
+
+    /**
+     * Prüft, ob ein Sitz frei ist
+     * @return false auch dann, wenn der Sitz nicht zum Saal gehört
+     */
+    public boolean isFree(long seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 && isFreeAt(position);
+    }
+
+    /**
+     * Markiert einen Sitz atomar als belegt
+     * @return true wenn der Sitz vorher frei war
+     */
+    public boolean tryMark(long seatId) {
+        int position = positionOf(seatId);
+        if (position < 0) {
+            return false;
+        }
+        int index = position >>> 6;
+        long mask = 1L << position;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                bookedCount.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gibt einen Sitz wieder frei
+     * @return true wenn der Sitz vorher belegt war
+     */
+    public boolean clear(long seatId) {
+        int position = positionOf(seatId);
+        if (position < 0) {
+            return false;
+        }
+        int index = position >>> 6;
+        long mask = 1L << position;
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                bookedCount.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Anzahl Sitzplätze im Saal
+     */
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * Anzahl belegter Sitzplätze
+     */
+    public int bookedCount() {
+        return bookedCount.get();
+    }
+
+    /**
+     * Anzahl freier Sitzplätze
+     */
+    public int freeCount() {
+        return seatIds.length - bookedCount.get();
+    }
+}
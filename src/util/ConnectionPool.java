@@ -0,0 +1,425 @@
+package util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Einfacher Connection-Pool für JDBC-Verbindungen
+ * Hält physische Verbindungen offen und gibt sie bei close() an den Pool zurück,
+ * statt sie zu schließen. Unterstützt Validierung, maximale Lebensdauer,
+ * Leak-Erkennung und Statistiken (aktiv, idle, Wartezeit).
+ */
+public class ConnectionPool implements DataSource {
+
+    /**
+     * Momentaufnahme der Pool-Statistiken
+     */
+    public record Stats(int active, int idle, int total, int waiting,
+                        long borrowCount, long totalWaitMillis, long maxWaitMillis, long leakCount) {
+
+        /**
+         * Durchschnittliche Wartezeit pro Ausleihe in Millisekunden
+         */
+        public double averageWaitMillis() {
+            return borrowCount == 0 ? 0.0 : (double) totalWaitMillis / borrowCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool{aktiv=%d, idle=%d, gesamt=%d, wartend=%d, ausleihen=%d, Ø-Wartezeit=%.2f ms, max=%d ms, leaks=%d}",
+                    active, idle, total, waiting, borrowCount, averageWaitMillis(), maxWaitMillis, leakCount);
+        }
+    }
+
+    /**
+     * Physische Verbindung mit Verwaltungsdaten
+     */
+    private static final class PooledEntry {
+        final Connection physical;
+        final long createdAt;
+        volatile long lastUsedAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowTrace;
+        volatile boolean leakReported;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long VALIDATE_IF_IDLE_MILLIS = 500;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long timeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long leakDetectionMillis;
+
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, PooledEntry> borrowed = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Konstruktor
+     * @param url JDBC-URL
+     * @param username Benutzername
+     * @param password Passwort
+     * @param minSize Mindestanzahl offener Verbindungen
+     * @param maxSize Maximale Anzahl Verbindungen
+     * @param timeoutMillis Maximale Wartezeit beim Ausleihen
+     * @param maxLifetimeMillis Maximale Lebensdauer einer Verbindung (0 = unbegrenzt)
+     * @param leakDetectionMillis Schwelle für Leak-Warnungen (0 = deaktiviert)
+     */
+    public ConnectionPool(String url, String username, String password,
+                          int minSize, int maxSize, long timeoutMillis,
+                          long maxLifetimeMillis, long leakDetectionMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("db.pool.maxSize muss größer als 0 sein");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minSize = Math.max(0, Math.min(minSize, maxSize));
+        this.timeoutMillis = timeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.leakDetectionMillis = leakDetectionMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeeping, 5, 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Öffnet die konfigurierte Mindestanzahl an Verbindungen
+     * @throws SQLException wenn keine Verbindung aufgebaut werden kann
+     */
+    public void fillToMinimum() throws SQLException {
+        while (totalConnections.get() < minSize && !closed) {
+            idle.offerLast(createEntry());
+        }
+    }
+
+    /**
+     * Leiht eine Verbindung aus dem Pool aus.
+     * Die zurückgegebene Verbindung wird beim close() wieder in den Pool gelegt.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection-Pool ist geschlossen");
+        }
+
+        long start = System.nanoTime();
+        waitingThreads.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timeout: keine freie Datenbankverbindung nach " + timeoutMillis + " ms (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf Datenbankverbindung unterbrochen", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+
+        try {
+            PooledEntry entry = takeValidEntry();
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            recordBorrow(waited);
+
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.leakReported = false;
+            entry.borrowTrace = leakDetectionMillis > 0 ? new Throwable("Verbindung ausgeliehen von") : null;
+
+            Connection proxy = createProxy(entry);
+            borrowed.put(proxy, entry);
+            return proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Der Pool verwendet die Zugangsdaten aus db.properties");
+    }
+
+    /**
+     * Liefert eine gültige Verbindung aus dem Idle-Bestand oder erzeugt eine neue
+     */
+    private PooledEntry takeValidEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isExpired(entry)) {
+                discard(entry);
+                continue;
+            }
+            // Nur länger unbenutzte Verbindungen prüfen, um Roundtrips zu sparen
+            if (System.currentTimeMillis() - entry.lastUsedAt > VALIDATE_IF_IDLE_MILLIS
+                    && !isAlive(entry)) {
+                discard(entry);
+                continue;
+            }
+            return entry;
+        }
+        return createEntry();
+    }
+
+    private PooledEntry createEntry() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        totalConnections.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    private boolean isAlive(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledEntry entry) {
+        return maxLifetimeMillis > 0 && System.currentTimeMillis() - entry.createdAt > maxLifetimeMillis;
+    }
+
+    private void discard(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Verbindung ist ohnehin unbrauchbar
+        }
+    }
+
+    private void recordBorrow(long waitedMillis) {
+        borrowCount.incrementAndGet();
+        totalWaitMillis.addAndGet(waitedMillis);
+        maxWaitMillis.accumulateAndGet(waitedMillis, Math::max);
+    }
+
+    /**
+     * Gibt eine ausgeliehene Verbindung zurück an den Pool
+     */
+    private void release(Connection proxy) {
+        PooledEntry entry = borrowed.remove(proxy);
+        if (entry == null) {
+            return;
+        }
+        try {
+            if (closed || isExpired(entry) || entry.physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+            // Offene Transaktionen verwerfen und Standardzustand herstellen
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (entry.physical.isReadOnly()) {
+                entry.physical.setReadOnly(false);
+            }
+            entry.lastUsedAt = System.currentTimeMillis();
+            entry.borrowTrace = null;
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Periodische Wartung: abgelaufene Verbindungen schließen, Leaks melden,
+     * Mindestanzahl wiederherstellen
+     */
+    private void housekeeping() {
+        try {
+            for (PooledEntry entry : idle) {
+                if (isExpired(entry) && idle.remove(entry)) {
+                    discard(entry);
+                }
+            }
+
+            if (leakDetectionMillis > 0) {
+                long now = System.currentTimeMillis();
+                for (PooledEntry entry : borrowed.values()) {
+                    if (!entry.leakReported && now - entry.borrowedAt > leakDetectionMillis) {
+                        entry.leakReported = true;
+                        leakCount.incrementAndGet();
+                        System.err.println("⚠ Möglicher Connection-Leak: Verbindung seit "
+                                + (now - entry.borrowedAt) + " ms nicht zurückgegeben");
+                        if (entry.borrowTrace != null) {
+                            entry.borrowTrace.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (SQLException e) {
+            // Datenbank nicht erreichbar, nächster Versuch beim nächsten Durchlauf
+        } catch (RuntimeException e) {
+            System.err.println("Fehler in der Pool-Wartung: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Erzeugt einen Proxy, der close() abfängt und die Verbindung zurückgibt
+     */
+    private Connection createProxy(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean logicallyClosed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close" -> {
+                        if (!logicallyClosed) {
+                            logicallyClosed = true;
+                            release((Connection) proxy);
+                        }
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return logicallyClosed || entry.physical.isClosed();
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "toString" -> {
+                        return "PooledConnection[" + entry.physical + "]";
+                    }
+                    default -> {
+                        if (logicallyClosed) {
+                            throw new SQLException("Verbindung wurde bereits an den Pool zurückgegeben");
+                        }
+                        try {
+                            return method.invoke(entry.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Liefert die aktuellen Pool-Statistiken
+     */
+    public Stats getStats() {
+        return new Stats(
+                borrowed.size(),
+                idle.size(),
+                totalConnections.get(),
+                waitingThreads.get(),
+                borrowCount.get(),
+                totalWaitMillis.get(),
+                maxWaitMillis.get(),
+                leakCount.get());
+    }
+
+    /**
+     * Schließt alle Verbindungen und beendet die Wartung
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // ================= DataSource-Pflichtmethoden =================
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Kein Wrapper für " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -4,20 +4,23 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import javax.sql.DataSource;
 
 /**
  * Verwaltung der Datenbankverbindung
  * Singleton Pattern für zentrale Konfiguration
  * Unterstützt Konfiguration via db.properties Datei
+ * Verbindungen werden über einen ConnectionPool (db.pool.*) bereitgestellt
  */
 public class DatabaseConfig {
     private static DatabaseConfig instance;
     private final String url;
     private final String username;
     private final String password;
+    private final Properties props;
+    private final ConnectionPool pool;
 
     /**
      * Privater Konstruktor für Singleton
@@ -25,6 +28,7 @@ public class DatabaseConfig {
      */
     private DatabaseConfig() {
         Properties props = loadProperties();
+        this.props = props;
         
         this.url = props.getProperty("db.url", "jdbc:mysql://localhost:3307/event_booking_db?serverTimezone=UTC&useSSL=false");
         this.username = props.getProperty("db.username", "root");
@@ -39,11 +43,38 @@ public class DatabaseConfig {
             System.err.println("  Bitte fügen Sie mysql-connector-j zur Klassenpfad hinzu.");
             throw new RuntimeException("MySQL JDBC Treiber nicht gefunden", e);
         }
-        
+
+        // Initialisiere Connection-Pool
+        this.pool = new ConnectionPool(
+                url, username, password,
+                getIntProperty(props, "db.pool.minSize", 5),
+                getIntProperty(props, "db.pool.maxSize", 20),
+                getIntProperty(props, "db.pool.timeout", 30000),
+                getIntProperty(props, "db.pool.maxLifetime", 1800000),
+                getIntProperty(props, "db.pool.leakDetectionThreshold", 60000));
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
+
         // Teste Datenbankverbindung beim Start
         testConnection();
     }
 
+    /**
+     * Liest einen Integer-Wert aus den Properties
+     * Bei fehlendem oder ungültigem Wert wird der Default verwendet
+     */
+    private static int getIntProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠ Ungültiger Wert für " + key + ": " + value + ", verwende " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Lädt Properties aus db.properties Datei
      * Falls nicht gefunden, werden Default-Werte verwendet
@@ -84,14 +115,14 @@ public class DatabaseConfig {
     }
 
     /**
-     * Erstellt eine neue Datenbankverbindung
+     * Leiht eine Datenbankverbindung aus dem Pool aus
+     * Ein close() auf der Verbindung gibt sie an den Pool zurück
      * @return Connection-Objekt
      * @throws SQLException wenn Verbindung fehlschlägt
      */
     public Connection getConnection() throws SQLException {
         try {
-            Connection conn = DriverManager.getConnection(url, username, password);
-            return conn;
+            return pool.getConnection();
         } catch (SQLException e) {
             System.err.println("✗ Datenbankverbindung fehlgeschlagen!");
             System.err.println("  URL: " + url);
@@ -110,6 +141,8 @@ public class DatabaseConfig {
                 System.out.println("✓ Datenbankverbindung erfolgreich getestet");
                 System.out.println("  Database: " + conn.getCatalog());
             }
+            pool.fillToMinimum();
+            System.out.println("✓ Connection-Pool bereit (min=" + pool.getMinSize() + ", max=" + pool.getMaxSize() + ")");
         } catch (SQLException e) {
             System.err.println("✗ WARNUNG: Datenbankverbindung konnte nicht hergestellt werden!");
             System.err.println("  Stellen Sie sicher, dass:");
@@ -134,6 +167,29 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Gibt den Pool als DataSource zurück
+     */
+    public DataSource getDataSource() {
+        return pool;
+    }
+
+    /**
+     * Gibt die aktuellen Pool-Statistiken zurück
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+
+    /**
+     * Liest einen weiteren Eintrag aus db.properties (z.B. booking.engine)
+     * @return Wert ohne umgebende Leerzeichen oder defaultValue
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
     // Getter für Testzwecke
     public String getUrl() {
         return url;
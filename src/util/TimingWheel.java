@@ -0,0 +1,132 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed Timing Wheel für sehr viele Timer mit grober Auflösung.
+ * Einfügen und Abbrechen sind O(1), ein Tick bearbeitet nur einen Bucket.
+ * Timer, die weiter als eine Umdrehung in der Zukunft liegen, bleiben
+ * im Bucket liegen, bis ihr Tick erreicht ist.
+ *
+ * @param <T> Typ der Nutzdaten eines Timers
+ */
+public class TimingWheel<T> {
+
+    private static final class Entry<T> {
+        final long key;
+        final long deadlineTick;
+        final T payload;
+
+        Entry(long key, long deadlineTick, T payload) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Set<Entry<T>>[] buckets;
+    private final Map<Long, Entry<T>> entriesByKey = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Konstruktor
+     * @param tickMillis Auflösung eines Ticks in Millisekunden
+     * @param wheelSize Anzahl Buckets (wird auf Zweierpotenz aufgerundet)
+     * @param startMillis Startzeitpunkt (Tick 0)
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis und wheelSize müssen größer als 0 sein");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = size - 1;
+        @SuppressWarnings("unchecked")
+        Set<Entry<T>>[] buckets = (Set<Entry<T>>[]) new Set<?>[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new HashSet<>();
+        }
+        this.buckets = buckets;
+    }
+
+    /**
+     * Plant einen Timer. Ein bestehender Timer mit demselben Schlüssel wird ersetzt.
+     * @param key eindeutiger Schlüssel (z.B. Buchungs-ID)
+     * @param deadlineMillis Ablaufzeitpunkt
+     * @param payload Nutzdaten
+     */
+    public synchronized void schedule(long key, long deadlineMillis, T payload) {
+        cancel(key);
+        long deadlineTick = Math.max(currentTick + 1, ceilDiv(deadlineMillis - startMillis, tickMillis));
+        Entry<T> entry = new Entry<>(key, deadlineTick, payload);
+        buckets[(int) (deadlineTick & mask)].add(entry);
+        entriesByKey.put(key, entry);
+    }
+
+    /**
+     * Bricht einen Timer ab
+     * @return true wenn ein Timer entfernt wurde
+     */
+    public synchronized boolean cancel(long key) {
+        Entry<T> entry = entriesByKey.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        buckets[(int) (entry.deadlineTick & mask)].remove(entry);
+        return true;
+    }
+
+    /**
+     * Rückt das Rad bis zum angegebenen Zeitpunkt vor
+     * @param nowMillis aktueller Zeitpunkt
+     * @return Nutzdaten aller abgelaufenen Timer
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        if (targetTick <= currentTick) {
+            return expired;
+        }
+
+        // Bei großem Rückstand reicht eine Umdrehung, alle Buckets werden gegen targetTick geprüft
+        long steps = Math.min(targetTick - currentTick, buckets.length);
+        for (long i = 1; i <= steps; i++) {
+            Set<Entry<T>> bucket = buckets[(int) ((currentTick + i) & mask)];
+            Iterator<Entry<T>> it = bucket.iterator();
+            while (it.hasNext()) {
+                Entry<T> entry = it.next();
+                if (entry.deadlineTick <= targetTick) {
+                    it.remove();
+                    entriesByKey.remove(entry.key);
+                    expired.add(entry.payload);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * Anzahl geplanter Timer
+     */
+    public synchronized int size() {
+        return entriesByKey.size();
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
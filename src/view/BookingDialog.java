@@ -8,6 +8,7 @@ import model.Seat;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * Dialog zur Erstellung einer neuen Buchung.
@@ -18,16 +19,27 @@ public class BookingDialog extends JDialog {
     private final Event event;
     private final List<Customer> customers;
     private final List<Seat> seats;
+    private final IntFunction<List<Seat>> bestSeatFinder;
 
     private JComboBox<Customer> customerComboBox;
     private JComboBox<Seat> seatComboBox;
+    private JSpinner partySizeSpinner;
+    private JLabel suggestionLabel;
+    private List<Seat> suggestedSeats = List.of();
     private boolean confirmed = false;
 
-    public BookingDialog(Frame owner, Event event, List<Customer> customers, List<Seat> seats) {
+    /**
+     * Konstruktor
+     * @param seats freie Sitzplätze des Events
+     * @param bestSeatFinder liefert für eine Personenzahl den besten Block (leere Liste = keiner)
+     */
+    public BookingDialog(Frame owner, Event event, List<Customer> customers, List<Seat> seats,
+                         IntFunction<List<Seat>> bestSeatFinder) {
         super(owner, "Neue Buchung erstellen", true);
         this.event = event;
         this.customers = customers;
         this.seats = seats;
+        this.bestSeatFinder = bestSeatFinder;
 
         initializeComponents();
         pack();
@@ -75,6 +87,31 @@ public class BookingDialog extends JDialog {
         seatComboBox = new JComboBox<>(seats.toArray(new Seat[0]));
         formPanel.add(seatComboBox, gbc);
 
+        // Anzahl Personen und Bestplatzsuche
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.weightx = 0.0;
+        formPanel.add(new JLabel("Personen:"), gbc);
+
+        JPanel partyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        partySizeSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10, 1));
+        JButton bestSeatsButton = ModernTheme.createSecondaryButton("Beste Plätze");
+        bestSeatsButton.addActionListener(e -> suggestBestSeats());
+        partySizeSpinner.addChangeListener(e -> clearSuggestion());
+        seatComboBox.addActionListener(e -> clearSuggestion());
+        partyPanel.add(partySizeSpinner);
+        partyPanel.add(bestSeatsButton);
+
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        gbc.weightx = 1.0;
+        formPanel.add(partyPanel, gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 3;
+        suggestionLabel = new JLabel(" ");
+        formPanel.add(suggestionLabel, gbc);
+
         add(formPanel, BorderLayout.CENTER);
 
         // Modern styled buttons
@@ -83,6 +120,12 @@ public class BookingDialog extends JDialog {
         JButton cancelButton = ModernTheme.createSecondaryButton("Abbrechen");
 
         okButton.addActionListener(e -> {
+            if (getPartySize() > 1 && suggestedSeats.isEmpty()) {
+                JOptionPane.showMessageDialog(this,
+                        "Bitte zuerst \"Beste Plätze\" für " + getPartySize() + " Personen suchen.",
+                        "Hinweis", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
             confirmed = true;
             dispose();
         });
@@ -94,6 +137,37 @@ public class BookingDialog extends JDialog {
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    /**
+     * Sucht den besten Block für die gewählte Personenzahl
+     */
+    private void suggestBestSeats() {
+        List<Seat> block = bestSeatFinder.apply(getPartySize());
+        if (block.isEmpty()) {
+            clearSuggestion();
+            suggestionLabel.setText("Keine " + getPartySize() + " nebeneinanderliegenden Plätze frei");
+            return;
+        }
+        // Auswahl setzen, bevor die Vorschlagsliste gespeichert wird
+        seatComboBox.setSelectedItem(block.get(0));
+        suggestedSeats = block;
+        Seat first = block.get(0);
+        Seat last = block.get(block.size() - 1);
+        suggestionLabel.setText(block.size() == 1
+                ? first.getFullLabel()
+                : "Reihe " + first.getRow() + " Platz " + first.getNumber() + "–" + last.getNumber());
+    }
+
+    private void clearSuggestion() {
+        suggestedSeats = List.of();
+        if (suggestionLabel != null) {
+            suggestionLabel.setText(" ");
+        }
+    }
+
+    private int getPartySize() {
+        return (Integer) partySizeSpinner.getValue();
+    }
+
     public boolean isConfirmed() {
         return confirmed;
     }
@@ -105,4 +179,16 @@ public class BookingDialog extends JDialog {
     public Seat getSelectedSeat() {
         return (Seat) seatComboBox.getSelectedItem();
     }
+
+    /**
+     * Gibt alle zu buchenden Sitze zurück
+     * Bei mehreren Personen der vorgeschlagene Block, sonst der gewählte Sitz
+     */
+    public List<Seat> getSelectedSeats() {
+        if (!suggestedSeats.isEmpty()) {
+            return suggestedSeats;
+        }
+        Seat seat = getSelectedSeat();
+        return seat != null ? List.of(seat) : List.of();
+    }
 }
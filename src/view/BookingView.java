@@ -143,6 +143,7 @@ public class BookingView extends JFrame {
                         ModernTheme.PADDING_MEDIUM, ModernTheme.PADDING_MEDIUM)));
 
         JScrollPane scrollPane = new JScrollPane(bookingTable);
+        bookingPager = new ScrollPager(scrollPane);
         panel.add(scrollPane, BorderLayout.CENTER);
 
         // Inputs entfernt, da jetzt über Dialog
@@ -165,6 +166,7 @@ public class BookingView extends JFrame {
 
     private java.util.List<Event> currentEvents;
     private java.util.List<Booking> currentBookings;
+    private ScrollPager bookingPager;
 
     // ================= Methoden zum Anzeigen von Daten =================
 
@@ -196,11 +198,19 @@ public class BookingView extends JFrame {
     }
 
     public void displayBookings(List<Booking> bookings) {
-        this.currentBookings = bookings;
+        this.currentBookings = new java.util.ArrayList<>();
         bookingTableModel.setRowCount(0);
+        appendBookings(bookings);
+    }
+
+    /**
+     * Hängt eine weitere Seite Buchungen an die Tabelle an
+     */
+    public void appendBookings(List<Booking> bookings) {
         if (bookings == null)
             return;
 
+        currentBookings.addAll(bookings);
         for (Booking booking : bookings) {
             Object[] row = {
                     booking.getId(),
@@ -243,8 +253,9 @@ public class BookingView extends JFrame {
     /**
      * Öffnet den Dialog für eine neue Buchung
      */
-    public BookingDialog openBookingDialog(Event event, List<Customer> customers, List<Seat> seats) {
-        BookingDialog dialog = new BookingDialog(this, event, customers, seats);
+    public BookingDialog openBookingDialog(Event event, List<Customer> customers, List<Seat> seats,
+                                           java.util.function.IntFunction<List<Seat>> bestSeatFinder) {
+        BookingDialog dialog = new BookingDialog(this, event, customers, seats, bestSeatFinder);
         dialog.setVisible(true);
         return dialog;
     }
@@ -270,6 +281,20 @@ public class BookingView extends JFrame {
         cancelBookingButton.addActionListener(listener);
     }
 
+    /**
+     * Aktion zum Nachladen weiterer Buchungen beim Scrollen
+     */
+    public void addLoadMoreBookingsListener(Runnable listener) {
+        bookingPager.setLoadMoreListener(listener);
+    }
+
+    /**
+     * Meldet, ob weitere Buchungen nachgeladen werden können
+     */
+    public void setMoreBookingsAvailable(boolean hasMore) {
+        bookingPager.pageLoaded(hasMore);
+    }
+
     public void addRefreshListener(ActionListener listener) {
         refreshButton.addActionListener(listener);
     }
@@ -30,6 +30,7 @@ public class CustomerManagementView extends JPanel {
     private JTextField searchField;
     private JLabel statusLabel;
     private JLabel totalCustomersLabel;
+    private ScrollPager pager;
 
     /**
      * Konstruktor - Initialisiert die gesamte Ansicht
@@ -152,6 +153,7 @@ public class CustomerManagementView extends JPanel {
         JScrollPane scrollPane = new JScrollPane(customerTable);
         scrollPane.setBorder(BorderFactory.createTitledBorder("Kunden-Liste"));
         scrollPane.getViewport().setBackground(Color.WHITE);
+        pager = new ScrollPager(scrollPane);
         add(scrollPane, BorderLayout.CENTER);
 
         // Modern button panel with status
@@ -200,6 +202,16 @@ public class CustomerManagementView extends JPanel {
             return;
         }
 
+        appendCustomers(customers);
+        totalCustomersLabel.setText("Gesamt: " + customers.size() + " Kunden");
+    }
+
+    /**
+     * Hängt eine weitere Seite Kunden an die Tabelle an
+     * 
+     * @param customers Liste der anzuzeigenden Kunden
+     */
+    public void appendCustomers(List<Customer> customers) {
         for (Customer customer : customers) {
             Object[] row = {
                     customer.getId(),
@@ -212,8 +224,14 @@ public class CustomerManagementView extends JPanel {
             tableModel.addRow(row);
         }
 
-        statusLabel.setText(customers.size() + " Kunde(n) angezeigt");
-        totalCustomersLabel.setText("Gesamt: " + customers.size() + " Kunden");
+        statusLabel.setText(tableModel.getRowCount() + " Kunde(n) angezeigt");
+    }
+
+    /**
+     * Setzt die Gesamtzahl der Kunden (unabhängig von den geladenen Seiten)
+     */
+    public void setTotalCount(long total) {
+        totalCustomersLabel.setText("Gesamt: " + total + " Kunden");
     }
 
     /**
@@ -285,6 +303,20 @@ public class CustomerManagementView extends JPanel {
 
     // ========== Event-Listener ==========
 
+    /**
+     * Setzt die Aktion zum Nachladen weiterer Zeilen beim Scrollen
+     */
+    public void addLoadMoreListener(Runnable listener) {
+        pager.setLoadMoreListener(listener);
+    }
+
+    /**
+     * Meldet, ob weitere Kunden nachgeladen werden können
+     */
+    public void setMoreAvailable(boolean hasMore) {
+        pager.pageLoaded(hasMore);
+    }
+
     /**
      * Fügt Listener für "Hinzufügen"-Button hinzu
      */
@@ -21,6 +21,7 @@ public class EventDialog extends JDialog {
     private JTextField timeField;
     private JComboBox<String> categoryComboBox;
     private JTextField priceField;
+    private JTextField holdTtlField;
     private JComboBox<Hall> hallComboBox;
 
     private Event event;
@@ -69,6 +70,9 @@ public class EventDialog extends JDialog {
 
         categoryComboBox = new JComboBox<>(CATEGORIES);
         priceField = new JTextField("0.00", 10);
+        holdTtlField = new JTextField(5);
+        holdTtlField.setToolTipText("Leer lassen für Standard ("
+                + service.ReservationHoldScheduler.DEFAULT_HOLD_TTL_MINUTES + " Minuten)");
 
         hallComboBox = new JComboBox<>();
         for (Hall hall : availableHalls) {
@@ -148,6 +152,13 @@ public class EventDialog extends JDialog {
         gbc.gridx = 1;
         formPanel.add(hallComboBox, gbc);
 
+        // Haltedauer
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        formPanel.add(new JLabel("Reservierung (Min.):"), gbc);
+        gbc.gridx = 1;
+        formPanel.add(holdTtlField, gbc);
+
         add(formPanel, BorderLayout.CENTER);
 
         // Modern styled buttons
@@ -178,6 +189,7 @@ public class EventDialog extends JDialog {
 
         categoryComboBox.setSelectedItem(event.getCategory());
         priceField.setText(String.format("%.2f", event.getBasePrice()));
+        holdTtlField.setText(event.getHoldTtlMinutes() != null ? event.getHoldTtlMinutes().toString() : "");
 
         // Wähle den richtigen Saal
         for (int i = 0; i < hallComboBox.getItemCount(); i++) {
@@ -223,6 +235,19 @@ public class EventDialog extends JDialog {
             double price = Double.parseDouble(priceField.getText().replace(",", "."));
             event.setBasePrice(price);
 
+            // Haltedauer parsen (leer = Standard)
+            String holdTtl = holdTtlField.getText().trim();
+            if (holdTtl.isEmpty()) {
+                event.setHoldTtlMinutes(null);
+            } else {
+                int minutes = Integer.parseInt(holdTtl);
+                if (minutes <= 0) {
+                    showError("Reservierungsdauer muss größer als 0 sein");
+                    return;
+                }
+                event.setHoldTtlMinutes(minutes);
+            }
+
             confirmed = true;
             dispose();
 
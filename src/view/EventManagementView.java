@@ -26,6 +26,7 @@ public class EventManagementView extends JPanel {
     private JTextField searchField;
     private JComboBox<String> categoryFilter;
     private JLabel statusLabel;
+    private ScrollPager pager;
 
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
@@ -137,6 +138,7 @@ public class EventManagementView extends JPanel {
         JScrollPane scrollPane = new JScrollPane(eventTable);
         scrollPane.setBorder(BorderFactory.createTitledBorder("Event-Liste"));
         scrollPane.getViewport().setBackground(Color.WHITE);
+        pager = new ScrollPager(scrollPane);
         add(scrollPane, BorderLayout.CENTER);
 
         // Modern button panel with status label
@@ -175,6 +177,15 @@ public class EventManagementView extends JPanel {
             return;
         }
 
+        appendEvents(events);
+    }
+
+    /**
+     * Hängt eine weitere Seite Events an die Tabelle an
+     * 
+     * @param events Liste der anzuzeigenden Events
+     */
+    public void appendEvents(List<Event> events) {
         for (Event event : events) {
             Object[] row = {
                     event.getId(),
@@ -188,7 +199,7 @@ public class EventManagementView extends JPanel {
             tableModel.addRow(row);
         }
 
-        statusLabel.setText(events.size() + " Event(s) gefunden");
+        statusLabel.setText(tableModel.getRowCount() + " Event(s) gefunden");
     }
 
     /**
@@ -239,6 +250,20 @@ public class EventManagementView extends JPanel {
 
     // ========== Event-Listener ==========
 
+    /**
+     * Setzt die Aktion zum Nachladen weiterer Zeilen beim Scrollen
+     */
+    public void addLoadMoreListener(Runnable listener) {
+        pager.setLoadMoreListener(listener);
+    }
+
+    /**
+     * Meldet, ob weitere Events nachgeladen werden können
+     */
+    public void setMoreAvailable(boolean hasMore) {
+        pager.pageLoaded(hasMore);
+    }
+
     /**
      * Fügt Listener für "Hinzufügen"-Button hinzu
      */
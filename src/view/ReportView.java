@@ -21,6 +21,11 @@ public class ReportView extends JPanel {
     private JTextArea reportArea;
     private JButton generateReportButton;
     private JButton exportButton;
+    private JButton exportDataButton;
+    private JButton createSnapshotButton;
+    private JButton snapshotReportButton;
+    private JButton cancelReportButton;
+    private JProgressBar reportProgressBar;
     private JComboBox<String> reportTypeComboBox;
 
     /**
@@ -51,6 +56,16 @@ public class ReportView extends JPanel {
         // Modern styled buttons
         generateReportButton = ModernTheme.createPrimaryButton("Bericht erstellen");
         exportButton = ModernTheme.createSecondaryButton("Exportieren");
+        exportDataButton = ModernTheme.createSecondaryButton("Daten exportieren");
+        createSnapshotButton = ModernTheme.createSecondaryButton("Snapshot erstellen");
+        snapshotReportButton = ModernTheme.createSecondaryButton("Snapshot auswerten");
+        cancelReportButton = ModernTheme.createSecondaryButton("Abbrechen");
+        cancelReportButton.setEnabled(false);
+
+        // Fortschritt des ausgewählten Berichts
+        reportProgressBar = new JProgressBar(0, 100);
+        reportProgressBar.setStringPainted(true);
+        reportProgressBar.setVisible(false);
 
         // Modern styled report type combo box
         reportTypeComboBox = new JComboBox<>(new String[] {
@@ -112,7 +127,12 @@ public class ReportView extends JPanel {
         controlPanel.add(ModernTheme.createLabel("Bericht-Typ:"));
         controlPanel.add(reportTypeComboBox);
         controlPanel.add(generateReportButton);
+        controlPanel.add(cancelReportButton);
         controlPanel.add(exportButton);
+        controlPanel.add(exportDataButton);
+        controlPanel.add(createSnapshotButton);
+        controlPanel.add(snapshotReportButton);
+        controlPanel.add(reportProgressBar);
 
         mainPanel.add(controlPanel, BorderLayout.NORTH);
 
@@ -159,15 +179,49 @@ public class ReportView extends JPanel {
         reportArea.setText("");
     }
 
+    /**
+     * Zeigt an, ob der ausgewählte Bericht gerade erstellt wird
+     */
+    public void setReportRunning(boolean running) {
+        cancelReportButton.setEnabled(running);
+        reportProgressBar.setVisible(running);
+        if (running) {
+            reportProgressBar.setValue(0);
+        }
+    }
+
+    /**
+     * Setzt den Fortschritt des ausgewählten Berichts in Prozent
+     */
+    public void setReportProgress(int percent) {
+        reportProgressBar.setValue(percent);
+    }
+
     // Event-Listener
     public void addGenerateReportListener(ActionListener listener) {
         generateReportButton.addActionListener(listener);
     }
 
+    public void addCancelReportListener(ActionListener listener) {
+        cancelReportButton.addActionListener(listener);
+    }
+
     public void addExportListener(ActionListener listener) {
         exportButton.addActionListener(listener);
     }
 
+    public void addExportDataListener(ActionListener listener) {
+        exportDataButton.addActionListener(listener);
+    }
+
+    public void addCreateSnapshotListener(ActionListener listener) {
+        createSnapshotButton.addActionListener(listener);
+    }
+
+    public void addSnapshotReportListener(ActionListener listener) {
+        snapshotReportButton.addActionListener(listener);
+    }
+
     public void addReportTypeListener(ActionListener listener) {
         reportTypeComboBox.addActionListener(listener);
     }
@@ -0,0 +1,62 @@
+package view;
+
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+
+/**
+ * Lädt die nächste Seite einer Tabelle nach, sobald ans Ende gescrollt wird.
+ * Pro Seite wird höchstens ein Nachladen ausgelöst; der Controller meldet mit
+ * pageLoaded(), ob danach weitere Seiten vorhanden sind.
+ */
+public class ScrollPager {
+
+    /** Abstand zum Ende in Pixeln, ab dem nachgeladen wird */
+    private static final int THRESHOLD = 48;
+
+    private final JScrollBar scrollBar;
+    private Runnable loadMore;
+    private boolean hasMore;
+    private boolean loading;
+
+    /**
+     * Konstruktor
+     * @param scrollPane ScrollPane der Tabelle
+     */
+    public ScrollPager(JScrollPane scrollPane) {
+        this.scrollBar = scrollPane.getVerticalScrollBar();
+        scrollBar.addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                checkEnd();
+            }
+        });
+    }
+
+    /**
+     * Setzt die Aktion, die die nächste Seite lädt
+     */
+    public void setLoadMoreListener(Runnable loadMore) {
+        this.loadMore = loadMore;
+    }
+
+    /**
+     * Meldet eine geladene Seite
+     * @param hasMore true, wenn weitere Seiten vorhanden sind
+     */
+    public void pageLoaded(boolean hasMore) {
+        this.hasMore = hasMore;
+        this.loading = false;
+        // Füllt die erste Seite den Bereich nicht, gibt es kein Scroll-Ereignis
+        SwingUtilities.invokeLater(this::checkEnd);
+    }
+
+    private void checkEnd() {
+        if (!hasMore || loading || loadMore == null) {
+            return;
+        }
+        if (scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum() - THRESHOLD) {
+            loading = true;
+            loadMore.run();
+        }
+    }
+}
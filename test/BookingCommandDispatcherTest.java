@@ -0,0 +1,178 @@
+
+
+import model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.BookingCommandDispatcher;
+import service.BookingEventBus;
+import service.BookingService;
+import service.BookingStore;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für BookingCommandDispatcher und die Shard-Ausführung im BookingService
+ * Testet Reihenfolge pro Event, die Shard-Zuordnung über die gespeicherte Buchung und die
+ * Commit-Sperre zwischen Speichern und Veröffentlichen (ohne Datenbank)
+ */
+class BookingCommandDispatcherTest {
+
+    private BookingCommandDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Befehle eines Events laufen in Einreihungsreihenfolge auf genau einem Thread")
+    void testCommandsOfOneEventRunInOrder() throws Exception {
+        dispatcher = new BookingCommandDispatcher(4);
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int command = i;
+            futures.add(dispatcher.submit(42L, () -> {
+                threads.add(Thread.currentThread().getName());
+                if (command % 50 == 0) {
+                    Thread.sleep(2); // spätere Befehle dürfen nicht überholen
+                }
+                executed.add(command);
+                return command;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, executed);
+        assertEquals(Set.of("booking-shard-" + dispatcher.shardFor(42L)), threads);
+    }
+
+    @Test
+    @DisplayName("Befehl auf dem eigenen Shard wird sofort ausgeführt statt zu blockieren")
+    void testNestedSubmitRunsInline() throws Exception {
+        dispatcher = new BookingCommandDispatcher(2);
+
+        CompletableFuture<Integer> outer = dispatcher.submit(7L,
+                () -> dispatcher.submit(7L, () -> 42).get(1, TimeUnit.SECONDS));
+
+        assertEquals(42, outer.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Bestätigung läuft auf dem Shard des Events der gespeicherten Buchung")
+    void testConfirmUsesEventOfStoredBooking() throws Exception {
+        Hall hall = new Hall("Testsaal", 10);
+        hall.setId(1L);
+        Event event = new Event("Testkonzert", "Beschreibung",
+                LocalDateTime.now().plusDays(7), "Musik", 50.0, hall);
+        event.setId(9L);
+        Customer customer = new Customer("Max", "Mustermann", "max@test.de", "0123456789");
+        customer.setId(3L);
+        Seat seat = new Seat("Reihe 1", 1, hall);
+        seat.setId(5L);
+
+        List<String> updateThreads = Collections.synchronizedList(new ArrayList<>());
+        BookingStore store = (BookingStore) Proxy.newProxyInstance(BookingStore.class.getClassLoader(),
+                new Class<?>[] { BookingStore.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> {
+                        Booking booking = new Booking(customer, event, seat, 50.0);
+                        booking.setId((Long) args[0]);
+                        booking.reserve();
+                        yield Optional.of(booking);
+                    }
+                    case "update" -> {
+                        updateThreads.add(Thread.currentThread().getName());
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        BookingService service = new BookingService(store);
+        service.enableShardedExecution(4);
+        try {
+            service.confirmBooking(100L);
+        } finally {
+            service.disableShardedExecution();
+        }
+
+        dispatcher = new BookingCommandDispatcher(4);
+        assertEquals(List.of("booking-shard-" + dispatcher.shardFor(event.getId())), updateThreads);
+    }
+
+    @Test
+    @DisplayName("Ruhende Sperre wartet, bis ein gespeicherter Statuswechsel veröffentlicht ist")
+    void testQuiescentLockWaitsForPublish() throws Exception {
+        Hall hall = new Hall("Testsaal", 10);
+        hall.setId(1L);
+        Event event = new Event("Testkonzert", "Beschreibung",
+                LocalDateTime.now().plusDays(7), "Musik", 50.0, hall);
+        event.setId(9L);
+        Customer customer = new Customer("Max", "Mustermann", "max@test.de", "0123456789");
+        customer.setId(3L);
+        Seat seat = new Seat("Reihe 1", 1, hall);
+        seat.setId(5L);
+
+        CountDownLatch inUpdate = new CountDownLatch(1);
+        CountDownLatch finishUpdate = new CountDownLatch(1);
+        BookingStore store = (BookingStore) Proxy.newProxyInstance(BookingStore.class.getClassLoader(),
+                new Class<?>[] { BookingStore.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> {
+                        Booking booking = new Booking(customer, event, seat, 50.0);
+                        booking.setId((Long) args[0]);
+                        booking.reserve();
+                        yield Optional.of(booking);
+                    }
+                    case "update" -> {
+                        inUpdate.countDown();
+                        finishUpdate.await(5, TimeUnit.SECONDS);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        BookingEventBus bus = BookingEventBus.getInstance();
+        long before = bus.lastSequence();
+        CompletableFuture<Void> confirm = CompletableFuture.runAsync(() -> {
+            try {
+                new BookingService(store).confirmBooking(100L);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inUpdate.await(5, TimeUnit.SECONDS));
+
+        Lock quiescent = bus.quiescentLock();
+        assertFalse(quiescent.tryLock(), "Befehl zwischen Speichern und Veröffentlichen hält die Sperre");
+
+        finishUpdate.countDown();
+        assertTrue(quiescent.tryLock(5, TimeUnit.SECONDS));
+        try {
+            assertTrue(bus.lastSequence() > before, "Statuswechsel ist veröffentlicht");
+        } finally {
+            quiescent.unlock();
+        }
+        confirm.get(5, TimeUnit.SECONDS);
+    }
+}
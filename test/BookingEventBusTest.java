@@ -0,0 +1,108 @@
+
+
+import model.Booking;
+import model.BookingStatus;
+import org.junit.jupiter.api.*;
+import service.BookingEventBus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für BookingEventBus
+ * Testet blockweise Zustellung und beide Backpressure-Varianten (Singleton, daher wird jedes Abonnement geschlossen)
+ */
+class BookingEventBusTest {
+
+    private final BookingEventBus bus = BookingEventBus.getInstance();
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            bus.publish(booking, BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Zeitüberschreitung");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Ereignisse kommen vollständig, in Reihenfolge und in Blöcken an")
+    void testBatchedDelivery() throws InterruptedException {
+        List<Long> received = new CopyOnWriteArrayList<>();
+        try (BookingEventBus.Subscription subscription = bus.subscribe("test-batch",
+                BookingEventBus.Backpressure.DROP_OLDEST, 64,
+                batch -> batch.forEach(change -> received.add(change.booking().getId())))) {
+
+            publish(1000);
+            awaitCondition(() -> received.size() == 1000);
+
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, received.get(i));
+            }
+            BookingEventBus.SubscriberStats stats = subscription.stats();
+            assertEquals(1000, stats.delivered());
+            assertTrue(stats.batches() >= 1000 / 64);
+            assertEquals(0, stats.lag());
+        }
+    }
+
+    @Test
+    @DisplayName("Ein hängender DROP_OLDEST-Abonnent bremst das Veröffentlichen nicht")
+    void testSlowSubscriberIsOverrun() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BookingEventBus.Subscription subscription = bus.subscribe("test-slow",
+                BookingEventBus.Backpressure.DROP_OLDEST, 16, batch -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })) {
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> publish(30_000));
+            assertTrue(subscription.stats().lag() > 0);
+
+            release.countDown();
+            awaitCondition(() -> subscription.stats().lag() == 0);
+
+            BookingEventBus.SubscriberStats stats = subscription.stats();
+            assertTrue(stats.dropped() > 0);
+            assertEquals(30_000, stats.delivered() + stats.dropped());
+        }
+    }
+
+    @Test
+    @DisplayName("BLOCK-Abonnenten verlieren keine Ereignisse")
+    void testBlockingSubscriberIsLossless() throws InterruptedException {
+        List<Long> received = new CopyOnWriteArrayList<>();
+        try (BookingEventBus.Subscription subscription = bus.subscribe("test-block",
+                BookingEventBus.Backpressure.BLOCK, 512, batch -> {
+                    batch.forEach(change -> received.add(change.booking().getId()));
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })) {
+
+            publish(20_000);
+            awaitCondition(() -> received.size() == 20_000);
+
+            assertEquals(0, subscription.stats().dropped());
+            assertEquals(19_999L, received.get(19_999));
+        }
+    }
+}
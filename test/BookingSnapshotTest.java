@@ -0,0 +1,104 @@
+
+
+import model.BookingStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import service.BookingSnapshot;
+import service.BookingSnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für BookingSnapshot und BookingSnapshotWriter
+ * Schreibt kleine Snapshots in ein temporäres Verzeichnis und liest sie wieder ein
+ */
+class BookingSnapshotTest {
+
+    private static final LocalDateTime SPRING = LocalDateTime.of(2025, 4, 12, 20, 0);
+    private static final LocalDateTime SUMMER = LocalDateTime.of(2025, 7, 5, 19, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("buchungen.snap");
+        try (BookingSnapshotWriter writer = new BookingSnapshotWriter(file)) {
+            writer.begin(5);
+            writer.row(1, 10, 100, 1000, BookingStatus.CONFIRMED, SPRING.minusDays(3), SPRING, 4990, "Musik");
+            writer.row(2, 10, 101, 1001, BookingStatus.RESERVED, SPRING.minusDays(2), SPRING, 4990, "Musik");
+            writer.row(3, 20, 200, 1000, BookingStatus.CONFIRMED, SUMMER.minusDays(1), SUMMER, 2500, "Theater");
+            writer.row(4, 20, 201, 1002, BookingStatus.CANCELLED, SUMMER.minusDays(1), SUMMER, 2500, "Theater");
+            writer.row(5, 30, 300, 1003, BookingStatus.CONFIRMED, SUMMER.minusDays(5), SUMMER, 1000, "Musik");
+        }
+    }
+
+    @Test
+    @DisplayName("Zeilenwerte werden unverändert zurückgelesen")
+    void testRoundTrip() throws IOException {
+        try (BookingSnapshot snapshot = BookingSnapshot.open(file)) {
+            assertEquals(5, snapshot.size());
+            assertEquals(3, snapshot.id(2));
+            assertEquals(20, snapshot.eventId(2));
+            assertEquals(200, snapshot.seatId(2));
+            assertEquals(1000, snapshot.customerId(2));
+            assertEquals(BookingStatus.CONFIRMED, snapshot.status(2));
+            assertEquals(SUMMER.minusDays(1), snapshot.bookingDate(2));
+            assertEquals(SUMMER, snapshot.eventDate(2));
+            assertEquals(2500, snapshot.priceCents(2));
+            assertEquals("Theater", snapshot.category(2));
+            assertEquals(2, snapshot.getCategories().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Auswertungen nach Status, Kategorie und Event")
+    void testAggregates() throws IOException {
+        try (BookingSnapshot snapshot = BookingSnapshot.open(file)) {
+            Map<BookingStatus, Long> byStatus = snapshot.countByStatus(BookingSnapshot.ALL);
+            assertEquals(3L, byStatus.get(BookingStatus.CONFIRMED));
+            assertEquals(1L, byStatus.get(BookingStatus.RESERVED));
+            assertEquals(1L, byStatus.get(BookingStatus.CANCELLED));
+
+            Map<String, Double> revenue = snapshot.confirmedRevenueByCategory(BookingSnapshot.ALL);
+            assertEquals(59.90, revenue.get("Musik"), 0.001);
+            assertEquals(25.00, revenue.get("Theater"), 0.001);
+
+            assertEquals(2L, snapshot.activeBookingsByEvent(BookingSnapshot.ALL).get(10L));
+            assertEquals(1L, snapshot.activeBookingsByEvent(BookingSnapshot.ALL).get(20L));
+        }
+    }
+
+    @Test
+    @DisplayName("Filter nach Zeitraum und Kategorie")
+    void testFilters() throws IOException {
+        try (BookingSnapshot snapshot = BookingSnapshot.open(file)) {
+            var summer = snapshot.eventsBetween(LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 9, 1, 0, 0));
+            assertArrayEquals(new int[]{2, 3, 4}, snapshot.rows(summer));
+
+            Map<Long, Double> revenue = snapshot.confirmedRevenueByEvent(summer.and(snapshot.inCategory("Musik")));
+            assertEquals(Map.of(30L, 10.0), revenue);
+        }
+    }
+
+    @Test
+    @DisplayName("Unvollständige Snapshots werden abgelehnt")
+    void testIncompleteSnapshot() throws IOException {
+        Path broken = tempDir.resolve("kaputt.snap");
+        BookingSnapshotWriter writer = new BookingSnapshotWriter(broken);
+        writer.begin(2);
+        writer.row(1, 10, 100, 1000, BookingStatus.CONFIRMED, SPRING, SPRING, 100, "Musik");
+
+        assertThrows(IOException.class, writer::close);
+        assertThrows(IOException.class, () -> BookingSnapshot.open(broken));
+        assertTrue(Files.exists(broken));
+    }
+}
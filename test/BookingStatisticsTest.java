@@ -0,0 +1,158 @@
+
+
+import dao.BookingDAO;
+import model.*;
+import org.junit.jupiter.api.*;
+import service.BookingEventBus;
+import service.BookingStatistics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für BookingStatistics
+ * Testet das Fortschreiben der Zähler ohne Datenbank (Singleton, daher eigene Event-IDs pro Test)
+ */
+class BookingStatisticsTest {
+
+    private BookingStatistics statistics;
+    private Hall hall;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = BookingStatistics.getInstance();
+        hall = new Hall("Testsaal", 100);
+        hall.setId(1L);
+        customer = new Customer("Max", "Mustermann", "max@test.de", "0123456789");
+        customer.setId(1L);
+    }
+
+    private Event event(long id, String category) {
+        Event event = new Event("Event " + id, "Beschreibung",
+                LocalDateTime.now().plusDays(7), category, 40.0, hall);
+        event.setId(id);
+        return event;
+    }
+
+    private Booking booking(Event event, double price) {
+        Seat seat = new Seat("Reihe 1", 1, hall);
+        seat.setId(1L);
+        return new Booking(customer, event, seat, price);
+    }
+
+    @Test
+    @DisplayName("Reservieren, Bestätigen und Stornieren werden pro Event gezählt")
+    void testTransitionsPerEvent() {
+        Event event = event(9001L, "Musik");
+        Booking first = booking(event, 40.0);
+        Booking second = booking(event, 25.5);
+
+        statistics.onStatusChanged(first, BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+        statistics.onStatusChanged(second, BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+        statistics.onStatusChanged(first, BookingStatus.RESERVED, BookingStatus.CONFIRMED);
+        statistics.onStatusChanged(second, BookingStatus.RESERVED, BookingStatus.CONFIRMED);
+        statistics.onStatusChanged(second, BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+
+        BookingStatistics.Totals totals = statistics.forEvent(9001L).orElseThrow();
+        assertEquals(0, totals.reserved());
+        assertEquals(1, totals.confirmed());
+        assertEquals(1, totals.cancelled());
+        assertEquals(40.0, totals.confirmedRevenue(), 0.001);
+        assertEquals(1, totals.active());
+        assertEquals(2, totals.total());
+    }
+
+    @Test
+    @DisplayName("Globale Zähler enthalten alle Events")
+    void testGlobalTotals() {
+        BookingStatistics.Totals before = statistics.global();
+
+        statistics.onStatusChanged(booking(event(9002L, "Theater"), 10.0),
+                BookingStatus.AVAILABLE, BookingStatus.CONFIRMED);
+        statistics.onStatusChanged(booking(event(9003L, "Theater"), 5.0),
+                BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+
+        BookingStatistics.Totals after = statistics.global();
+        assertEquals(before.confirmed() + 1, after.confirmed());
+        assertEquals(before.reserved() + 1, after.reserved());
+        assertEquals(before.confirmedRevenue() + 10.0, after.confirmedRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Abgelaufene Reservierungen werden storniert gezählt")
+    void testHoldsExpired() {
+        Event event = event(9004L, "Kino");
+        statistics.onStatusChanged(booking(event, 12.0), BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+
+        statistics.onHoldsExpired(List.of(new BookingDAO.Hold(1L, 9004L, 1L, LocalDateTime.now())));
+
+        BookingStatistics.Totals totals = statistics.forEvent(9004L).orElseThrow();
+        assertEquals(0, totals.reserved());
+        assertEquals(1, totals.cancelled());
+    }
+
+    @Test
+    @DisplayName("Kategoriewechsel bucht die Zähler des Events um")
+    void testCategoryChange() {
+        Event event = event(9005L, "Kategorie-A-Test");
+        statistics.onStatusChanged(booking(event, 30.0), BookingStatus.AVAILABLE, BookingStatus.CONFIRMED);
+
+        event.setCategory("Kategorie-B-Test");
+        statistics.onEventChanged(event);
+
+        assertEquals(0, statistics.byCategory().get("Kategorie-A-Test").confirmed());
+        assertEquals(1, statistics.byCategory().get("Kategorie-B-Test").confirmed());
+        assertEquals(30.0, statistics.byCategory().get("Kategorie-B-Test").confirmedRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Gelöschte Events werden aus allen Ebenen entfernt")
+    void testEventDeleted() {
+        Event event = event(9006L, "Lesung");
+        statistics.onStatusChanged(booking(event, 8.0), BookingStatus.AVAILABLE, BookingStatus.CONFIRMED);
+        BookingStatistics.Totals before = statistics.global();
+
+        statistics.onEventDeleted(9006L);
+
+        assertTrue(statistics.forEvent(9006L).isEmpty());
+        assertEquals(before.confirmed() - 1, statistics.global().confirmed());
+        assertEquals(before.confirmedRevenue() - 8.0, statistics.global().confirmedRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Top-Events sind nach aktiven Buchungen sortiert")
+    void testTopEvents() {
+        Event busy = event(9007L, "Sport");
+        Event quiet = event(9008L, "Sport");
+        for (int i = 0; i < 1000; i++) {
+            statistics.onStatusChanged(booking(busy, 1.0), BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+        }
+        for (int i = 0; i < 999; i++) {
+            statistics.onStatusChanged(booking(quiet, 1.0), BookingStatus.AVAILABLE, BookingStatus.RESERVED);
+        }
+
+        var top = statistics.topEvents(2);
+        assertEquals(2, top.size());
+        assertEquals(9007L, top.get(0).eventId());
+        assertEquals(9008L, top.get(1).eventId());
+    }
+
+    @Test
+    @DisplayName("Blöcke vom Event-Bus werden wie einzelne Statuswechsel fortgeschrieben")
+    void testBatchFromEventBus() {
+        Event event = event(9009L, "Kabarett");
+        Booking booking = booking(event, 12.0);
+
+        statistics.onBatch(List.of(
+                new BookingEventBus.StatusChange(0, booking, BookingStatus.AVAILABLE, BookingStatus.RESERVED, 0),
+                new BookingEventBus.StatusChange(1, booking, BookingStatus.RESERVED, BookingStatus.CONFIRMED, 0)));
+
+        BookingStatistics.Totals totals = statistics.forEvent(9009L).orElseThrow();
+        assertEquals(0, totals.reserved());
+        assertEquals(1, totals.confirmed());
+        assertEquals(12.0, totals.confirmedRevenue(), 0.001);
+    }
+}
@@ -0,0 +1,72 @@
+
+
+import org.junit.jupiter.api.*;
+import service.ExportWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für ExportWriter
+ * Testet CSV- und JSON-Lines-Ausgabe ohne Datenbank
+ */
+class ExportWriterTest {
+
+    private String write(ExportWriter.Format format, List<String> columns, Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = new ExportWriter(Channels.newChannel(out), format)) {
+            writer.begin(columns);
+            for (Object[] row : rows) {
+                writer.row(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("CSV maskiert Trennzeichen, Anführungszeichen und Zeilenumbrüche")
+    void testCsvQuoting() throws IOException {
+        String csv = write(ExportWriter.Format.CSV, List.of("id", "name", "note"),
+                new Object[]{1L, "Müller, Hans", "sagt \"Hallo\"\nzweite Zeile"},
+                new Object[]{2L, "Schmidt", null});
+
+        assertEquals("id,name,note\r\n"
+                + "1,\"Müller, Hans\",\"sagt \"\"Hallo\"\"\nzweite Zeile\"\r\n"
+                + "2,Schmidt,\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("JSON Lines schreibt Zahlen ohne und Texte mit Anführungszeichen")
+    void testJsonLines() throws IOException {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 19, 30));
+        String json = write(ExportWriter.Format.JSON_LINES, List.of("id", "price", "name", "date", "hold"),
+                new Object[]{7L, new BigDecimal("49.90"), "Tab\tund \"Zitat\"", date, null});
+
+        assertEquals("{\"id\":7,\"price\":49.90,\"name\":\"Tab\\tund \\\"Zitat\\\"\","
+                + "\"date\":\"2025-03-01T19:30\",\"hold\":null}\n", json);
+    }
+
+    @Test
+    @DisplayName("Große Exporte werden vollständig über mehrere Puffer geschrieben")
+    void testLargeExport() throws IOException {
+        int rowCount = 20_000;
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{(long) i, "Kunde " + i + " äöü"};
+        }
+
+        String csv = write(ExportWriter.Format.CSV, List.of("id", "name"), rows);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(rowCount + 1, lines.length);
+        assertEquals("19999,Kunde 19999 äöü", lines[rowCount]);
+    }
+}
@@ -0,0 +1,240 @@
+
+
+import dao.BookingDAO;
+import model.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import service.BookingJournal;
+import service.JournaledBookingStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für JournaledBookingStore und BookingJournal
+ * Testet Neustart aus Journal und Snapshot sowie abgerissene Datensätze (ohne Datenbank)
+ */
+class JournaledBookingStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Customer customer;
+    private Event event;
+    private Hall hall;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer("Max", "Mustermann", "max@test.de", "0123456789");
+        customer.setId(7L);
+        hall = new Hall("Testsaal", 100);
+        hall.setId(1L);
+        event = new Event("Testkonzert", "Beschreibung",
+                LocalDateTime.now().plusDays(7), "Musik", 50.0, hall);
+        event.setId(3L);
+    }
+
+    @Test
+    @DisplayName("Buchungen und Statuswechsel überstehen einen Neustart aus dem Journal")
+    void testReplayAfterRestart() throws Exception {
+        MemoryProjection projection = new MemoryProjection();
+        long confirmedId;
+        long cancelledId;
+        try (JournaledBookingStore store = open(projection, 1 << 20)) {
+            Booking first = reserved(1);
+            Booking second = reserved(2);
+            assertTrue(store.tryInsert(first));
+            assertTrue(store.tryInsert(second));
+            assertFalse(store.tryInsert(reserved(1)), "Sitz 1 ist bereits aktiv gebucht");
+
+            first.confirm();
+            store.update(first);
+            second.cancel();
+            store.update(second);
+            assertThrows(IllegalStateException.class, () -> store.update(second),
+                    "Zweites Stornieren derselben Buchung wird abgelehnt");
+            confirmedId = first.getId();
+            cancelledId = second.getId();
+
+            assertTrue(store.awaitProjection(5000));
+            assertEquals(BookingStatus.CONFIRMED, projection.written.get(confirmedId));
+            assertEquals(BookingStatus.CANCELLED, projection.written.get(cancelledId));
+        }
+
+        try (JournaledBookingStore store = open(new MemoryProjection(), 1 << 20)) {
+            assertEquals(BookingStatus.CONFIRMED, store.findById(confirmedId).orElseThrow().getStatus());
+            assertEquals(BookingStatus.CANCELLED, store.findById(cancelledId).orElseThrow().getStatus());
+            assertEquals(2, store.findByEvent(event.getId()).size());
+
+            BookingDAO.SeatOccupancy occupancy = store.loadSeatOccupancy(event.getId());
+            assertArrayEquals(new boolean[] { true, false, false }, occupancy.booked());
+
+            Booking rebooked = reserved(2);
+            assertTrue(store.tryInsert(rebooked), "Stornierter Sitz ist wieder frei");
+            assertTrue(rebooked.getId() > cancelledId);
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot löscht abgedeckte Journal-Segmente, der Neustart liest ihn ein")
+    void testSnapshotTruncatesJournal() throws Exception {
+        int count = 200;
+        try (JournaledBookingStore store = open(new MemoryProjection(), 4096)) {
+            for (int seat = 1; seat <= count; seat++) {
+                assertTrue(store.tryInsert(reserved(seat)));
+            }
+
+            store.snapshot();
+            assertEquals(1, countFiles("journal-"));
+            assertEquals(1, countFiles("snapshot-"));
+        }
+
+        MemoryProjection projection = new MemoryProjection();
+        try (JournaledBookingStore store = open(projection, 4096)) {
+            assertEquals(count, store.findActive().size());
+            assertEquals(0, store.getProjectionLag());
+            assertFalse(store.tryInsert(reserved(count)));
+        }
+    }
+
+    @Test
+    @DisplayName("Buchungen eines gelöschten Events werden vergessen, auch nach einem Neustart")
+    void testForgetEvent() throws Exception {
+        Event other = new Event("Theater", "Beschreibung",
+                LocalDateTime.now().plusDays(9), "Theater", 30.0, hall);
+        other.setId(4L);
+        long keptId;
+        try (JournaledBookingStore store = open(new MemoryProjection(), 4096)) {
+            Booking forgotten = reserved(1);
+            assertTrue(store.tryInsert(forgotten));
+            forgotten.confirm();
+            store.update(forgotten);
+            assertTrue(store.tryInsert(reserved(2)));
+            Booking kept = reserved(1);
+            kept.setEventRef(LazyRef.of(other.getId(), other));
+            assertTrue(store.tryInsert(kept));
+            keptId = kept.getId();
+
+            store.forgetEvent(event.getId());
+
+            assertTrue(store.findByEvent(event.getId()).isEmpty());
+            assertEquals(List.of(keptId), store.findByCustomer(customer.getId()).stream().map(Booking::getId).toList());
+            assertEquals(0.0, store.sumConfirmedRevenue());
+            assertTrue(store.findActiveHolds().stream().allMatch(hold -> hold.bookingId() == keptId));
+            assertTrue(store.awaitProjection(5000));
+        }
+
+        try (JournaledBookingStore store = open(new MemoryProjection(), 4096)) {
+            assertEquals(List.of(keptId), store.findActive().stream().map(Booking::getId).toList());
+            assertTrue(store.tryInsert(reserved(1)), "Sitz des vergessenen Events ist wieder frei");
+        }
+    }
+
+    @Test
+    @DisplayName("Abgerissener Datensatz am Journal-Ende wird verworfen und überschrieben")
+    void testTornRecordIsDiscarded() throws Exception {
+        try (BookingJournal journal = BookingJournal.open(directory, 4096, 0, (sequence, payload) -> fail())) {
+            long last = 0;
+            for (long value = 1; value <= 3; value++) {
+                last = journal.append(payload(value));
+            }
+            journal.awaitDurable(last);
+        }
+
+        // Nutzdaten des dritten Datensatzes (je 16 Byte Kopf + 8 Byte) beschädigen
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files
+                     .filter(file -> file.getFileName().toString().startsWith("journal-"))
+                     .findFirst().orElseThrow(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), 2 * 24 + 16);
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory, 4096, 0,
+                (sequence, payload) -> replayed.add(payload.getLong(0)))) {
+            assertEquals(List.of(1L, 2L), replayed);
+            assertEquals(3, journal.append(payload(4)));
+        }
+    }
+
+    @Test
+    @DisplayName("Ein zweites Öffnen desselben Journals wird abgelehnt, bis das erste geschlossen ist")
+    void testDirectoryIsLocked() throws Exception {
+        try (JournaledBookingStore store = open(new MemoryProjection(), 4096)) {
+            assertTrue(store.tryInsert(reserved(1)));
+            IOException e = assertThrows(IOException.class, () -> open(new MemoryProjection(), 4096));
+            assertTrue(e.getMessage().contains("bereits"));
+        }
+
+        try (JournaledBookingStore store = open(new MemoryProjection(), 4096)) {
+            assertEquals(1, store.findActive().size());
+        }
+    }
+
+    private static ByteBuffer payload(long value) {
+        return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value);
+    }
+
+    private JournaledBookingStore open(MemoryProjection projection, int segmentBytes) throws Exception {
+        return JournaledBookingStore.open(directory, projection, segmentBytes, Integer.MAX_VALUE);
+    }
+
+    private Booking reserved(long seatId) {
+        Seat seat = new Seat("Reihe 5", (int) seatId, hall);
+        seat.setId(seatId);
+        Booking booking = new Booking(customer, event, seat, 50.0);
+        booking.reserve();
+        booking.setHoldExpiresAt(LocalDateTime.now().plusMinutes(15));
+        return booking;
+    }
+
+    private long countFiles(String prefix) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    /**
+     * Projektion im Speicher: merkt sich den zuletzt geschriebenen Status je Buchung
+     */
+    private static final class MemoryProjection implements JournaledBookingStore.Projection {
+        final Map<Long, BookingStatus> written = new ConcurrentHashMap<>();
+
+        @Override
+        public void bootstrap(Consumer<Booking> sink) {
+        }
+
+        @Override
+        public void write(List<Booking> bookings) {
+            bookings.forEach(booking -> written.put(booking.getId(), booking.getStatus()));
+        }
+
+        @Override
+        public BookingDAO.SeatOccupancy loadSeatOccupancy(Long eventId) {
+            return new BookingDAO.SeatOccupancy(new long[] { 1, 2, 3 }, new boolean[3]);
+        }
+
+        @Override
+        public JournaledBookingStore.References references() {
+            return (booking, customerId, eventId, seatId) -> {
+                booking.setCustomerRef(LazyRef.of(customerId, null));
+                booking.setEventRef(LazyRef.of(eventId, null));
+                booking.setSeatRef(LazyRef.of(seatId, null));
+            };
+        }
+    }
+}
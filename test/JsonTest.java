@@ -0,0 +1,83 @@
+
+
+import api.Json;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für Json
+ * Testet Schreiben, Lesen und Fehlermeldungen bei ungültigem JSON
+ */
+class JsonTest {
+
+    @Test
+    @DisplayName("Maps, Listen und Sonderzeichen werden korrekt geschrieben")
+    void testWrite() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "Konzert \"Live\"\n");
+        value.put("price", 49.5);
+        value.put("seats", List.of(1L, 2L));
+        value.put("date", LocalDateTime.of(2026, 5, 1, 20, 0));
+        value.put("free", true);
+        value.put("hall", null);
+
+        assertEquals("{\"name\":\"Konzert \\\"Live\\\"\\n\",\"price\":49.5,\"seats\":[1,2],"
+                + "\"date\":\"2026-05-01T20:00\",\"free\":true,\"hall\":null}", Json.write(value));
+    }
+
+    @Test
+    @DisplayName("Geschriebenes JSON wird wieder gleich eingelesen")
+    void testRoundTrip() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("customerId", 7L);
+        value.put("seatIds", List.of(3L, 4L));
+        value.put("note", "Grüße\t\\ aus Köln");
+        value.put("nested", Map.of("ok", false));
+
+        Map<String, Object> parsed = Json.parseObject(Json.write(value));
+
+        assertEquals(new BigDecimal(7), parsed.get("customerId"));
+        assertEquals(Arrays.asList(new BigDecimal(3), new BigDecimal(4)), parsed.get("seatIds"));
+        assertEquals("Grüße\t\\ aus Köln", parsed.get("note"));
+        assertEquals(Map.of("ok", false), parsed.get("nested"));
+    }
+
+    @Test
+    @DisplayName("Leerraum, Unicode-Escapes und Exponenten werden gelesen")
+    void testParseSyntax() {
+        Object parsed = Json.parse(" [ {} , [] , \"\\u00e4\" , -1.5e2 , null ] ");
+
+        assertEquals(Arrays.asList(Map.of(), List.of(), "ä", new BigDecimal("-1.5e2"), null), parsed);
+    }
+
+    @Test
+    @DisplayName("Ungültiges JSON wird mit IllegalArgumentException abgelehnt")
+    void testInvalidJson() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[tru]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("\"\\x\""));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1]"));
+    }
+
+    @Test
+    @DisplayName("Zu tiefe Verschachtelung wird abgelehnt statt den Stack zu sprengen")
+    void testNestingLimit() {
+        String allowed = "[".repeat(Json.MAX_DEPTH) + "]".repeat(Json.MAX_DEPTH);
+        assertInstanceOf(List.class, Json.parse(allowed));
+
+        String tooDeep = "[".repeat(Json.MAX_DEPTH + 1) + "]".repeat(Json.MAX_DEPTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> Json.parse(tooDeep));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(65536)));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":".repeat(65536)));
+    }
+}
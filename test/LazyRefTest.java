@@ -0,0 +1,72 @@
+
+
+import model.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für LazyRef und die Zuordnungen von Booking
+ * Ein Test-Resolver zählt die Ladevorgänge und löst wie der Batch-Loader alle offenen Verweise auf
+ */
+class LazyRefTest {
+
+    private final List<LazyRef<Customer>> refs = new ArrayList<>();
+    private int loads;
+
+    private final LazyRef.Resolver<Customer> resolver = requested -> {
+        loads++;
+        for (LazyRef<Customer> ref : refs) {
+            if (!ref.isResolved()) {
+                Customer customer = new Customer("Kunde", String.valueOf(ref.getId()), "k" + ref.getId() + "@test.de", "0123");
+                customer.setId(ref.getId());
+                ref.complete(customer);
+            }
+        }
+    };
+
+    private Booking booking(long customerId) {
+        LazyRef<Customer> ref = LazyRef.unresolved(customerId, resolver);
+        refs.add(ref);
+        Booking booking = new Booking();
+        booking.setCustomerRef(ref);
+        return booking;
+    }
+
+    @Test
+    @DisplayName("ID-Getter lösen nichts auf")
+    void testIdWithoutLoading() {
+        Booking booking = booking(42L);
+
+        assertEquals(42L, booking.getCustomerId());
+        assertEquals(0, loads);
+    }
+
+    @Test
+    @DisplayName("Der erste Zugriff lädt alle offenen Verweise auf einmal")
+    void testBatchResolution() {
+        List<Booking> bookings = List.of(booking(1L), booking(2L), booking(3L));
+
+        assertEquals("3", bookings.get(2).getCustomer().getLastName());
+        assertEquals("1", bookings.get(0).getCustomer().getLastName());
+        assertEquals("2", bookings.get(1).getCustomer().getLastName());
+        assertEquals(1, loads);
+    }
+
+    @Test
+    @DisplayName("Direkt gesetzte Objekte liefern ihre aktuelle ID")
+    void testEagerReference() {
+        Customer customer = new Customer("Max", "Mustermann", "max@test.de", "0123456789");
+        Booking booking = new Booking(customer, null, null, 10.0);
+
+        assertNull(booking.getCustomerId());
+        customer.setId(7L);
+        assertEquals(7L, booking.getCustomerId());
+        assertSame(customer, booking.getCustomer());
+        assertNull(booking.getEvent());
+        assertNull(booking.getSeatId());
+    }
+}
@@ -0,0 +1,96 @@
+
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für LongObjectMap
+ * Testet Einfügen, Überschreiben, Vergrößern und Entfernen mit Lückenschluss
+ */
+class LongObjectMapTest {
+
+    @Test
+    @DisplayName("Werte werden gesetzt, überschrieben und entfernt")
+    void testPutGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertNull(map.put(7, "a"));
+        assertEquals("a", map.put(7, "b"));
+        assertEquals("b", map.get(7));
+        assertTrue(map.containsKey(7));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(7));
+        assertNull(map.remove(7));
+        assertNull(map.get(7));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Negative Schlüssel und 0 sind gültige Schlüssel")
+    void testSpecialKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(0, "null");
+        map.put(-1, "minus");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals("null", map.get(0));
+        assertEquals("minus", map.get(-1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    @DisplayName("Nach dem Entfernen bleiben alle Einträge einer Sondierkette auffindbar")
+    void testRemoveKeepsProbeChains() {
+        // Kleine Tabelle, damit sich viele Sondierketten überlappen und umlaufen
+        LongObjectMap<Long> map = new LongObjectMap<>(4);
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; key <= 200; key++) {
+            map.put(key * 31, key);
+            keys.add(key * 31);
+        }
+
+        // Jeden zweiten Eintrag entfernen, der Rest muss über die verschobenen Positionen erreichbar sein
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertNotNull(map.remove(keys.get(i)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            Long expected = i % 2 == 0 ? null : keys.get(i) / 31;
+            assertEquals(expected, map.get(keys.get(i)), "Schlüssel " + keys.get(i));
+        }
+        assertEquals(100, map.size());
+        assertEquals(100, map.values().size());
+    }
+
+    @Test
+    @DisplayName("Zufällige Operationen verhalten sich wie eine HashMap")
+    void testRandomOperationsMatchHashMap() {
+        Random random = new Random(42);
+        LongObjectMap<Integer> map = new LongObjectMap<>(8);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int step = 0; step < 50_000; step++) {
+            // Kleiner Schlüsselbereich erzwingt Kollisionen und häufiges Entfernen
+            long key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step), "put " + key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.get(key), map.get(key), "get " + key);
+        }
+    }
+}
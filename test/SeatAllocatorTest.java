@@ -0,0 +1,83 @@
+
+import model.Seat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.SeatAllocator;
+import service.SeatBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für SeatAllocator
+ * Testet Blocksuche, Lücken und Reihenpräferenz
+ */
+class SeatAllocatorTest {
+
+    private static final SeatAllocator.Preference FRONT = new SeatAllocator.Preference(0, 10, 5, 1);
+
+    /** Erzeugt rows x perRow Sitze mit IDs ab 1 */
+    private static List<Seat> hall(String[] rows, int perRow) {
+        List<Seat> seats = new ArrayList<>();
+        long id = 1;
+        for (String row : rows) {
+            for (int n = 1; n <= perRow; n++) {
+                Seat seat = new Seat(row, n, null);
+                seat.setId(id++);
+                seats.add(seat);
+            }
+        }
+        return seats;
+    }
+
+    private static SeatBitmap bitmap(List<Seat> seats) {
+        return new SeatBitmap(seats.stream().mapToLong(Seat::getId).toArray());
+    }
+
+    @Test
+    @DisplayName("Block liegt mittig in der Wunschreihe")
+    void testCenteredBlock() {
+        List<Seat> seats = hall(new String[] { "A", "B" }, 10);
+        Optional<List<Seat>> block = new SeatAllocator(seats).findBestBlock(bitmap(seats), 4, s -> 0, FRONT);
+
+        assertTrue(block.isPresent());
+        assertEquals("A", block.get().get(0).getRow());
+        assertEquals(4, block.get().get(0).getNumber());
+        assertEquals(7, block.get().get(3).getNumber());
+    }
+
+    @Test
+    @DisplayName("Belegte Sitze unterbrechen einen Block")
+    void testOccupiedSeatSplitsRun() {
+        List<Seat> seats = hall(new String[] { "A", "B" }, 5);
+        SeatBitmap availability = bitmap(seats);
+        availability.tryMark(3); // A3
+
+        Optional<List<Seat>> block = new SeatAllocator(seats).findBestBlock(availability, 3, s -> 0, FRONT);
+
+        assertTrue(block.isPresent());
+        assertEquals("B", block.get().get(0).getRow());
+    }
+
+    @Test
+    @DisplayName("Kein Block, wenn keine Reihe genug freie Plätze hat")
+    void testNoBlockFound() {
+        List<Seat> seats = hall(new String[] { "A" }, 4);
+        SeatBitmap availability = bitmap(seats);
+        availability.tryMark(2);
+
+        assertTrue(new SeatAllocator(seats).findBestBlock(availability, 3, s -> 0, FRONT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reihen werden numerisch sortiert")
+    void testNumericRowOrder() {
+        List<Seat> seats = hall(new String[] { "10", "2" }, 3);
+        Optional<List<Seat>> block = new SeatAllocator(seats).findBestBlock(bitmap(seats), 3, s -> 0, FRONT);
+
+        assertEquals("2", block.orElseThrow().get(0).getRow());
+    }
+}
@@ -0,0 +1,88 @@
+
+
+import dao.BookingDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.BookingStore;
+import service.SeatAvailabilityIndex;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für SeatAvailabilityIndex
+ * Testet Änderungen, die während des Ladens einer Bitmap gemeldet werden (ohne Datenbank)
+ */
+class SeatAvailabilityIndexTest {
+
+    private static final Long EVENT_ID = 5L;
+
+    private final SeatAvailabilityIndex index = SeatAvailabilityIndex.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        index.setBookingStore(null);
+    }
+
+    @Test
+    @DisplayName("Buchung nach dem Lesen, aber vor dem Einsetzen der Bitmap geht nicht verloren")
+    void testBookingDuringLoadIsReplayed() throws Exception {
+        index.setBookingStore(storeLoading(() -> {
+            // Die Abfrage hat den Stand bereits gelesen, dann wird Sitz 2 gebucht
+            index.markBooked(EVENT_ID, 2L);
+            return new BookingDAO.SeatOccupancy(new long[] { 1, 2, 3 }, new boolean[3]);
+        }));
+
+        assertFalse(index.isFree(EVENT_ID, 2L));
+        assertEquals(2, index.freeSeatCount(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Stornierung während des Ladens gibt den Sitz in der neuen Bitmap frei")
+    void testCancellationDuringLoadIsReplayed() throws Exception {
+        index.setBookingStore(storeLoading(() -> {
+            index.markFree(EVENT_ID, 1L);
+            return new BookingDAO.SeatOccupancy(new long[] { 1, 2, 3 }, new boolean[] { true, false, false });
+        }));
+
+        assertTrue(index.isFree(EVENT_ID, 1L));
+        assertEquals(3, index.freeSeatCount(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Geladene Bitmap wird wiederverwendet und nach invalidate neu gelesen")
+    void testLoadedOnceUntilInvalidated() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        index.setBookingStore(storeLoading(() -> {
+            loads.incrementAndGet();
+            return new BookingDAO.SeatOccupancy(new long[] { 1, 2 }, new boolean[2]);
+        }));
+
+        index.markBooked(EVENT_ID, 1L); // nicht geladen: wird ignoriert
+        assertTrue(index.isFree(EVENT_ID, 1L));
+        index.markBooked(EVENT_ID, 2L);
+        assertFalse(index.isFree(EVENT_ID, 2L));
+        assertEquals(1, loads.get());
+
+        index.invalidate(EVENT_ID);
+        assertTrue(index.isFree(EVENT_ID, 2L));
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Buchungsspeicher, der nur loadSeatOccupancy beantwortet
+     */
+    private static BookingStore storeLoading(Supplier<BookingDAO.SeatOccupancy> occupancy) {
+        return (BookingStore) Proxy.newProxyInstance(BookingStore.class.getClassLoader(),
+                new Class<?>[] { BookingStore.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("loadSeatOccupancy")) {
+                        return occupancy.get();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,73 @@
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.SeatBitmap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für SeatBitmap
+ * Testet Belegung, Freigabe und Positionsberechnung
+ */
+class SeatBitmapTest {
+
+    @Test
+    @DisplayName("Neue Bitmap hat alle Plätze frei")
+    void testAllSeatsFreeInitially() {
+        SeatBitmap bitmap = new SeatBitmap(new long[] { 10, 11, 12, 13 });
+
+        assertEquals(4, bitmap.size());
+        assertEquals(4, bitmap.freeCount());
+        assertTrue(bitmap.isFree(12));
+    }
+
+    @Test
+    @DisplayName("Sitz kann nur einmal belegt werden")
+    void testMarkOnlyOnce() {
+        SeatBitmap bitmap = new SeatBitmap(new long[] { 10, 11, 12 });
+
+        assertTrue(bitmap.tryMark(11));
+        assertFalse(bitmap.tryMark(11));
+        assertFalse(bitmap.isFree(11));
+        assertEquals(1, bitmap.bookedCount());
+    }
+
+    @Test
+    @DisplayName("Freigabe macht Sitz wieder verfügbar")
+    void testClearReleasesSeat() {
+        SeatBitmap bitmap = new SeatBitmap(new long[] { 10, 11, 12 });
+        bitmap.tryMark(10);
+
+        assertTrue(bitmap.clear(10));
+        assertFalse(bitmap.clear(10));
+        assertTrue(bitmap.isFree(10));
+        assertEquals(3, bitmap.freeCount());
+    }
+
+    @Test
+    @DisplayName("Fremde Sitze sind nie frei")
+    void testUnknownSeat() {
+        SeatBitmap bitmap = new SeatBitmap(new long[] { 10, 11 });
+
+        assertEquals(-1, bitmap.positionOf(99));
+        assertFalse(bitmap.isFree(99));
+        assertFalse(bitmap.tryMark(99));
+    }
+
+    @Test
+    @DisplayName("Lückenhafte IDs über mehrere Wörter")
+    void testSparseIdsAcrossWords() {
+        long[] ids = new long[130];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1000 + i * 3L;
+        }
+        SeatBitmap bitmap = new SeatBitmap(ids);
+
+        assertEquals(129, bitmap.positionOf(1000 + 129 * 3L));
+        assertTrue(bitmap.tryMark(1000 + 129 * 3L));
+        assertTrue(bitmap.tryMark(1000));
+        assertFalse(bitmap.isFreeAt(129));
+        assertTrue(bitmap.isFreeAt(64));
+        assertEquals(128, bitmap.freeCount());
+    }
+}
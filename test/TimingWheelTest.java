@@ -0,0 +1,72 @@
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.TimingWheel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für TimingWheel
+ * Testet Ablauf, Abbruch und mehrere Umdrehungen
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Timer läuft erst nach seiner Deadline ab")
+    void testExpiresAfterDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule(1, 350, "A");
+
+        assertTrue(wheel.advance(300).isEmpty());
+        assertEquals(List.of("A"), wheel.advance(400));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Abgebrochener Timer läuft nicht ab")
+    void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule(1, 200, "A");
+
+        assertTrue(wheel.cancel(1));
+        assertFalse(wheel.cancel(1));
+        assertTrue(wheel.advance(1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Timer jenseits einer Umdrehung bleibt bis zum Ablauf liegen")
+    void testMultipleRevolutions() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 4, 0);
+        wheel.schedule(1, 1000, "spät");
+        wheel.schedule(2, 200, "früh");
+
+        assertEquals(List.of("früh"), wheel.advance(500));
+        assertTrue(wheel.advance(900).isEmpty());
+        assertEquals(List.of("spät"), wheel.advance(1000));
+    }
+
+    @Test
+    @DisplayName("Großer Rückstand liefert alle fälligen Timer")
+    void testLargeLag() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, i * 10L, i);
+        }
+
+        assertEquals(20, wheel.advance(10_000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Erneutes Planen ersetzt den alten Timer")
+    void testReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule(1, 200, "alt");
+        wheel.schedule(1, 600, "neu");
+
+        assertTrue(wheel.advance(300).isEmpty());
+        assertEquals(List.of("neu"), wheel.advance(600));
+    }
+}
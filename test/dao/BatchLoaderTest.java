@@ -0,0 +1,138 @@
+package dao;
+
+import exceptions.DatabaseException;
+import exceptions.UncheckedDatabaseException;
+import model.LazyRef;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 Tests für BatchLoader
+ * Eine Test-Abfrage zählt die Aufrufe und merkt sich die IDs jedes Abschnitts (ohne Datenbank)
+ */
+class BatchLoaderTest {
+
+    private final List<List<Long>> calls = new ArrayList<>();
+    private final Set<Long> missing = new HashSet<>();
+    private DatabaseException failure;
+
+    private final BatchLoader.BulkQuery<String> query = ids -> {
+        calls.add(List.copyOf(ids));
+        if (failure != null) {
+            throw failure;
+        }
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : ids) {
+            if (!missing.contains(id)) {
+                result.put(id, "Entität " + id);
+            }
+        }
+        return result;
+    };
+
+    @Test
+    @DisplayName("Erster Zugriff lädt alle offenen Verweise in Abschnitten von BATCH_SIZE IDs")
+    void testLoadsPendingRefsInChunks() {
+        BatchLoader<String> loader = new BatchLoader<>(query);
+        int count = 2 * BatchLoader.BATCH_SIZE + 1;
+        List<LazyRef<String>> refs = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            refs.add(loader.ref(id));
+        }
+
+        assertEquals("Entität 42", refs.get(41).get());
+
+        assertEquals(3, calls.size());
+        assertEquals(BatchLoader.BATCH_SIZE, calls.get(0).size());
+        assertEquals(BatchLoader.BATCH_SIZE, calls.get(1).size());
+        assertEquals(1, calls.get(2).size());
+        assertEquals(42L, calls.get(0).get(0), "Angefragte ID steht im ersten Abschnitt vorn");
+
+        Set<Long> loadedIds = new HashSet<>();
+        for (List<Long> chunk : calls) {
+            for (Long id : chunk) {
+                assertTrue(loadedIds.add(id), "ID " + id + " doppelt geladen");
+            }
+        }
+        assertEquals(count, loadedIds.size());
+
+        for (LazyRef<String> ref : refs) {
+            assertTrue(ref.isResolved());
+            assertEquals("Entität " + ref.getId(), ref.get());
+        }
+        assertEquals(3, calls.size(), "Weitere Zugriffe laden nichts nach");
+    }
+
+    @Test
+    @DisplayName("Verweise auf dieselbe ID sind dasselbe Objekt, fehlende IDs ergeben null")
+    void testSharedRefsAndMissingIds() {
+        BatchLoader<String> loader = new BatchLoader<>(query);
+        missing.add(2L);
+
+        LazyRef<String> first = loader.ref(1L);
+        assertSame(first, loader.ref(1L));
+        LazyRef<String> absent = loader.ref(2L);
+
+        assertEquals("Entität 1", first.get());
+        assertTrue(absent.isResolved());
+        assertNull(absent.get());
+        assertEquals(List.of(List.of(1L, 2L)), calls);
+
+        // Später angelegter Verweis wird beim nächsten Zugriff allein geladen
+        LazyRef<String> later = loader.ref(3L);
+        assertEquals("Entität 3", later.get());
+        assertEquals(List.of(3L), calls.get(1));
+    }
+
+    @Test
+    @DisplayName("trimTo vergisst Verweise erst oberhalb der Grenze; alte Verweise bleiben ladbar")
+    void testTrimTo() {
+        BatchLoader<String> loader = new BatchLoader<>(query);
+        LazyRef<String> one = loader.ref(1L);
+        LazyRef<String> two = loader.ref(2L);
+
+        loader.trimTo(2);
+        assertSame(one, loader.ref(1L), "Bis zur Grenze bleiben die Verweise erhalten");
+
+        loader.trimTo(1);
+        LazyRef<String> fresh = loader.ref(1L);
+        assertNotSame(one, fresh);
+
+        // Der vergessene Verweis lädt nur sich selbst und den neuen Verweis des Loaders
+        assertEquals("Entität 2", two.get());
+        assertEquals(1, calls.size());
+        assertEquals(Set.of(2L, 1L), new HashSet<>(calls.get(0)));
+        assertEquals(2L, calls.get(0).get(0));
+        assertTrue(fresh.isResolved());
+        assertFalse(one.isResolved());
+
+        assertEquals("Entität 1", one.get());
+        assertEquals(List.of(1L), calls.get(1));
+    }
+
+    @Test
+    @DisplayName("DatabaseException wird als UncheckedDatabaseException weitergegeben")
+    void testDatabaseExceptionIsWrapped() {
+        BatchLoader<String> loader = new BatchLoader<>(query);
+        LazyRef<String> ref = loader.ref(1L);
+        failure = new DatabaseException("Verbindung verloren");
+
+        UncheckedDatabaseException thrown = assertThrows(UncheckedDatabaseException.class, ref::get);
+        assertSame(failure, thrown.getCause());
+        assertFalse(ref.isResolved());
+
+        // Nach dem Fehler kann der Verweis erneut geladen werden
+        failure = null;
+        assertEquals("Entität 1", ref.get());
+        assertEquals(2, calls.size());
+    }
+}